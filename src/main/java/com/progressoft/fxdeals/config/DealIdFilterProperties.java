@@ -0,0 +1,37 @@
+package com.progressoft.fxdeals.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Sizing of the in-memory filter of persisted deal IDs, bound from
+ * {@code fxdeals.deal-id-filter.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "fxdeals.deal-id-filter")
+public class DealIdFilterProperties {
+
+    /**
+     * Whether to build the filter at startup. When disabled every batch
+     * checks the database for existing IDs.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of deals the filter is sized for. Beyond it the false-positive
+     * rate climbs, which costs extra existence queries but never wrong
+     * results. About 1.2 MB per million deals at a 1% rate.
+     */
+    private long expectedDeals = 10_000_000;
+
+    /**
+     * Target probability that an ID which is not in the table still needs
+     * the existence query.
+     */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * Rows fetched per round trip while loading the IDs at startup.
+     */
+    private int fetchSize = 10_000;
+}
@@ -0,0 +1,92 @@
+package com.progressoft.fxdeals.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ImportConfig {
+
+    /**
+     * Bounded pool that parses and validates CSV chunks, shared by all imports.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool importParsePool(ImportProperties importProperties) {
+        int parallelism = importProperties.getParallelism() > 0
+                ? importProperties.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("import-parse-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Threads that write validated batches behind the parser, {@code writers}
+     * per running import, up to {@code fxdeals.import.max-writer-threads}.
+     * Writers are never queued, since an import with only some of its writers
+     * running could wait forever; beyond the limit they are rejected. Idle
+     * threads are released after a minute.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor importWritePool(ImportProperties importProperties) {
+        return new ThreadPoolExecutor(
+                0, Math.max(importProperties.getWriters(), importProperties.getMaxWriterThreads()),
+                60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                new CustomizableThreadFactory("import-write-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Slots for batch writes shared by all imports, so that concurrent
+     * imports never ask the connection pool for more connections than
+     * {@code fxdeals.import.max-active-writes}.
+     */
+    @Bean
+    public Semaphore importWritePermits(ImportProperties importProperties) {
+        return new Semaphore(Math.max(1, importProperties.getMaxActiveWrites()), true);
+    }
+
+    /**
+     * Fixed pool that runs asynchronous import jobs. The queue is bounded and
+     * full-queue submissions are rejected rather than run on the caller.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor importJobExecutor(JobProperties jobProperties) {
+        return new ThreadPoolExecutor(
+                jobProperties.getWorkers(),
+                jobProperties.getWorkers(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, jobProperties.getQueueCapacity())),
+                new CustomizableThreadFactory("import-job-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Writes Server-Sent Events for the progress publisher, so that a slow
+     * client never blocks the shared scheduler thread. Each subscriber has at
+     * most one event in flight; sends beyond the queue are skipped.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor importEventExecutor(JobProperties jobProperties) {
+        int senders = Math.max(1, jobProperties.getEventSenders());
+        return new ThreadPoolExecutor(
+                senders,
+                senders,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(senders * 16),
+                new CustomizableThreadFactory("import-events-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
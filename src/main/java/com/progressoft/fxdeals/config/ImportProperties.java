@@ -0,0 +1,122 @@
+package com.progressoft.fxdeals.config;
+
+import com.progressoft.fxdeals.csv.CsvParser;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Tuning knobs for the CSV import pipeline, bound from {@code fxdeals.import.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "fxdeals.import")
+public class ImportProperties {
+
+    /**
+     * Number of rows sent to the database in one JDBC batch. Each batch is
+     * committed in its own transaction.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Number of threads writing one import's rows, each on its own database
+     * connection. Rows are split between them by deal ID.
+     */
+    private int writers = 4;
+
+    /**
+     * Batches that may be written at the same time across all running
+     * imports, each holding one connection. Writers of concurrent imports wait
+     * for a slot instead of for the connection pool, so keep it below
+     * {@code spring.datasource.hikari.maximum-pool-size} with room for the
+     * query API.
+     */
+    private int maxActiveWrites = 12;
+
+    /**
+     * Writer threads available to all running imports together. Each import
+     * takes {@code writers} of them, and an import that finds too few left is
+     * rejected as if the import queue were full.
+     */
+    private int maxWriterThreads = 32;
+
+    /**
+     * Number of full batches per writer that may wait for the database while
+     * parsing continues. When a writer's queue is full, parsing pauses until
+     * it has room.
+     */
+    private int writeQueueCapacity = 4;
+
+    /**
+     * Number of rows staged and merged per COPY load when importing in
+     * {@code COPY} mode.
+     */
+    private int copyChunkSize = 50_000;
+
+    /**
+     * CSV parser used to read uploaded files. {@code SPLIT} restores the
+     * original line-splitting parser, which does not support quoted fields.
+     */
+    private CsvParser parser = CsvParser.BYTE;
+
+    /**
+     * Approximate size of the blocks the input is cut into for parallel
+     * parsing and validation. Blocks always end on a record boundary.
+     */
+    private DataSize chunkSize = DataSize.ofMegabytes(1);
+
+    /**
+     * Number of threads parsing and validating chunks. Zero means one per
+     * available processor.
+     */
+    private int parallelism = 0;
+
+    /**
+     * Directory that server-side imports may read from. Paths outside it are
+     * rejected.
+     */
+    private Path serverDir = Path.of("data");
+
+    /**
+     * Maximum number of distinct deal IDs remembered per import to catch
+     * repeats within the file before they reach the database. Memory is
+     * roughly 8 bytes per table slot plus the ID length + 1 byte per ID:
+     * about 110 MB at the default for ten-character IDs, and about 240 MB to
+     * cover a 10M-row file. Repeats of IDs beyond the limit are still caught
+     * by the database. Zero disables the filter.
+     */
+    private int repeatFilterMaxIds = 4_000_000;
+
+    /**
+     * Maximum number of row-level errors, and separately of warnings, kept in
+     * the import result. Every message is still counted and written to the
+     * import's report file.
+     */
+    private int maxReportedMessages = 100;
+
+    /**
+     * Directory the full row-level reports of imports are written to.
+     */
+    private Path reportDir = Path.of("data", "reports");
+
+    /**
+     * How long report files are kept before they are deleted.
+     */
+    private Duration reportRetention = Duration.ofHours(24);
+
+    /**
+     * Number of imports that may stream their per-row outcomes at the same
+     * time. Each holds one thread for the whole import; a few more wait in a
+     * queue and further requests are rejected.
+     */
+    private int streamWorkers = 4;
+
+    /**
+     * How long a streamed import or a job's progress event stream may stay
+     * open before the response is closed.
+     */
+    private Duration streamTimeout = Duration.ofHours(1);
+}
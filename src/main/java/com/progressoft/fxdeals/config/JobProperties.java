@@ -0,0 +1,46 @@
+package com.progressoft.fxdeals.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Settings for asynchronous import jobs, bound from {@code fxdeals.jobs.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "fxdeals.jobs")
+public class JobProperties {
+
+    /**
+     * Number of imports that may run at the same time.
+     */
+    private int workers = 2;
+
+    /**
+     * Number of accepted jobs that may wait for a worker. Further submissions
+     * are rejected until the queue drains.
+     */
+    private int queueCapacity = 20;
+
+    /**
+     * Directory uploaded files are spooled to until their job finishes.
+     */
+    private Path spoolDir = Path.of("data", "spool");
+
+    /**
+     * How often the live counts of running jobs are written to the job table.
+     */
+    private long progressFlushIntervalMs = 2000;
+
+    /**
+     * How often progress events are pushed to subscribers of a running job.
+     */
+    private long progressEventIntervalMs = 1000;
+
+    /**
+     * Threads that write progress events to subscribers, off the scheduler
+     * thread. A stalled client holds at most one of them.
+     */
+    private int eventSenders = 4;
+}
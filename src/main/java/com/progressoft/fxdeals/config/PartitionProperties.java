@@ -0,0 +1,37 @@
+package com.progressoft.fxdeals.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Maintenance of the monthly partitions of the deals table, bound from
+ * {@code fxdeals.partitions.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "fxdeals.partitions")
+public class PartitionProperties {
+
+    /**
+     * Whether partitions are created and dropped on schedule. Requires the
+     * PostgreSQL schema.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of months after the current one that must always have a
+     * partition, so inserts never fall into the default partition.
+     */
+    private int monthsAhead = 3;
+
+    /**
+     * When partitions are maintained after startup, as a Spring cron
+     * expression. Daily at 01:00 by default.
+     */
+    private String cron = "0 0 1 * * *";
+
+    /**
+     * Months of history to keep. Older partitions are dropped together with
+     * their deal keys and volume rollup buckets. Zero keeps everything.
+     */
+    private int retentionMonths = 0;
+}
@@ -0,0 +1,55 @@
+package com.progressoft.fxdeals.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Limits of the deal query API, bound from {@code fxdeals.query.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "fxdeals.query")
+public class QueryProperties {
+
+    /**
+     * Number of deals per page when the client does not ask for a limit.
+     */
+    private int defaultPageSize = 100;
+
+    /**
+     * Largest page a client may ask for.
+     */
+    private int maxPageSize = 1000;
+
+    /**
+     * Number of rows fetched from the database cursor at a time while
+     * exporting.
+     */
+    private int exportFetchSize = 10_000;
+
+    /**
+     * Most deal lookups by ID, found or not, kept in the in-memory cache.
+     */
+    private long lookupCacheSize = 100_000;
+
+    /**
+     * How long a cached lookup is served before the database is asked again.
+     * Bounds how stale an entry can get after its deal is dropped with its
+     * partition.
+     */
+    private Duration lookupCacheTtl = Duration.ofMinutes(10);
+
+    /**
+     * Range of deals recomputed per transaction by a volume rollup rebuild.
+     * Imports touching the rollup wait for the chunk being rebuilt, so this
+     * bounds how long they can be held up.
+     */
+    private Duration rollupRebuildChunk = Duration.ofHours(1);
+
+    /**
+     * Rollup rebuilds that may wait behind the running one before new
+     * requests are rejected.
+     */
+    private int rollupRebuildQueueCapacity = 4;
+}
@@ -0,0 +1,28 @@
+package com.progressoft.fxdeals.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class RollupConfig {
+
+    /**
+     * Single thread that runs volume rollup rebuilds one after another, so
+     * that two rebuilds never contend for the rollup lock. Submissions beyond
+     * the bounded queue are rejected rather than run on the caller.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor rollupRebuildExecutor(QueryProperties queryProperties) {
+        return new ThreadPoolExecutor(
+                1, 1,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queryProperties.getRollupRebuildQueueCapacity())),
+                new CustomizableThreadFactory("rollup-rebuild-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
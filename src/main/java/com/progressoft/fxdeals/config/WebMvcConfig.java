@@ -0,0 +1,39 @@
+package com.progressoft.fxdeals.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Runs streamed responses on a dedicated bounded pool. The import executors
+ * make Boot skip its default task executor, which would otherwise leave MVC
+ * on an unbounded thread-per-request fallback. The properties are enabled
+ * here as well so that web slice tests, which skip the scan, can bind them.
+ */
+@Configuration
+@EnableConfigurationProperties(ImportProperties.class)
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final ImportProperties importProperties;
+
+    @Bean
+    public ThreadPoolTaskExecutor mvcStreamExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(importProperties.getStreamWorkers());
+        executor.setMaxPoolSize(importProperties.getStreamWorkers());
+        executor.setQueueCapacity(importProperties.getStreamWorkers() * 4);
+        executor.setThreadNamePrefix("import-stream-");
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcStreamExecutor());
+        configurer.setDefaultTimeout(importProperties.getStreamTimeout().toMillis());
+    }
+}
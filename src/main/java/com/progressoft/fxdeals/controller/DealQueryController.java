@@ -0,0 +1,130 @@
+package com.progressoft.fxdeals.controller;
+
+import com.progressoft.fxdeals.dto.DealPageDTO;
+import com.progressoft.fxdeals.dto.DealResponseDTO;
+import com.progressoft.fxdeals.dto.DealVolumeDTO;
+import com.progressoft.fxdeals.dto.RollupRebuildDTO;
+import com.progressoft.fxdeals.repository.DealFilter;
+import com.progressoft.fxdeals.service.DealExportService;
+import com.progressoft.fxdeals.service.DealQueryService;
+import com.progressoft.fxdeals.service.DealVolumeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/deals")
+@RequiredArgsConstructor
+public class DealQueryController {
+
+    private final DealQueryService dealQueryService;
+    private final DealExportService dealExportService;
+    private final DealVolumeService dealVolumeService;
+
+    /**
+     * Lists deals in {@code (dealTimestamp, dealId)} order, optionally filtered
+     * by currency pair and by a timestamp range ({@code from} inclusive,
+     * {@code to} exclusive). Pages are chained through the opaque
+     * {@code cursor} returned as {@code nextCursor}.
+     */
+    @GetMapping
+    public ResponseEntity<DealPageDTO> findDeals(
+            @RequestParam(value = "fromCurrency", required = false) String fromCurrency,
+            @RequestParam(value = "toCurrency", required = false) String toCurrency,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+
+        DealFilter filter = new DealFilter(fromCurrency, toCurrency, from, to);
+        return ResponseEntity.ok(dealQueryService.findDeals(filter, cursor, limit));
+    }
+
+    /**
+     * Returns a single deal by ID, or 404 if there is none. Recently looked-up
+     * IDs, found or not, are answered from memory. Served under {@code /id/}
+     * so that deal IDs such as "export" or "health" do not collide with the
+     * other endpoints.
+     */
+    @GetMapping("/id/{dealId}")
+    public ResponseEntity<DealResponseDTO> findDeal(@PathVariable String dealId) {
+        return ResponseEntity.ok(dealQueryService.findDeal(dealId));
+    }
+
+    /**
+     * Streams every deal matching the same filters as {@link #findDeals} as
+     * CSV in the import file layout, so an export can be imported again. With
+     * {@code gzip=true} the file is gzip-compressed.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportDeals(
+            @RequestParam(value = "fromCurrency", required = false) String fromCurrency,
+            @RequestParam(value = "toCurrency", required = false) String toCurrency,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip) {
+
+        DealFilter filter = new DealFilter(fromCurrency, toCurrency, from, to);
+        StreamingResponseBody body = dealExportService.export(filter, gzip);
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + (gzip ? "deals.csv.gz" : "deals.csv") + "\"")
+                .body(body);
+    }
+
+    /**
+     * Returns deal count and amount total, minimum and maximum per currency
+     * pair over a timestamp range, read from the hourly volume rollup. The
+     * bounds must be whole hours; omitted bounds cover all history.
+     */
+    @GetMapping("/volume")
+    public ResponseEntity<List<DealVolumeDTO>> findVolumes(
+            @RequestParam(value = "fromCurrency", required = false) String fromCurrency,
+            @RequestParam(value = "toCurrency", required = false) String toCurrency,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        DealFilter filter = new DealFilter(fromCurrency, toCurrency, from, to);
+        return ResponseEntity.ok(dealVolumeService.findVolumes(filter));
+    }
+
+    /**
+     * Queues a background recompute of the hourly volume rollup from the
+     * stored deals over the given range, or over all deals when no bounds are
+     * given. Answers {@code 202} with the rebuild to poll.
+     */
+    @PostMapping("/volume/rebuild")
+    public ResponseEntity<RollupRebuildDTO> rebuildVolumes(
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(dealVolumeService.startRebuild(from, to));
+    }
+
+    @GetMapping("/volume/rebuild/{rebuildId}")
+    public ResponseEntity<RollupRebuildDTO> getRebuild(@PathVariable String rebuildId) {
+        return ResponseEntity.ok(dealVolumeService.getRebuild(rebuildId));
+    }
+}
@@ -1,14 +1,41 @@
 package com.progressoft.fxdeals.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.progressoft.fxdeals.dto.ImportJobDTO;
 import com.progressoft.fxdeals.dto.ImportResultDTO;
+import com.progressoft.fxdeals.dto.RowOutcomeDTO;
+import com.progressoft.fxdeals.exception.ValidationException;
 import com.progressoft.fxdeals.service.CSVImporterService;
+import com.progressoft.fxdeals.service.ImportJobService;
+import com.progressoft.fxdeals.service.ImportMode;
+import com.progressoft.fxdeals.service.ImportProgress;
+import com.progressoft.fxdeals.service.ImportProgressPublisher;
+import com.progressoft.fxdeals.service.ImportReportStore;
+import com.progressoft.fxdeals.service.ServerFileResolver;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/deals")
@@ -16,30 +43,223 @@ import org.springframework.web.multipart.MultipartFile;
 @Slf4j
 public class ImportController {
 
+    private static final List<String> CSV_EXTENSIONS = List.of(".csv", ".csv.gz", ".csv.zst");
+
+    private static final Set<String> CSV_CONTENT_TYPES = Set.of(
+            "text/csv", "application/csv", "application/vnd.ms-excel", "application/gzip", "application/zstd");
+
     private final CSVImporterService csvImporterService;
+    private final ImportJobService importJobService;
+    private final ServerFileResolver serverFileResolver;
+    private final ImportReportStore importReportStore;
+    private final ImportProgressPublisher importProgressPublisher;
+    private final ObjectMapper objectMapper;
 
     @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<ImportResultDTO> importDeals(
-            @RequestParam("file") MultipartFile file) {
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "mode", defaultValue = "BATCH") ImportMode mode) {
 
-        log.info("Received import request for file: {}", file.getOriginalFilename());
+        log.info("Received {} import request for file: {}", mode, file.getOriginalFilename());
 
-        if (file.isEmpty()) {
-            log.warn("Empty file uploaded");
-            ImportResultDTO result = ImportResultDTO.builder().build();
-            result.addError("The uploaded file is empty");
-            return ResponseEntity.badRequest().body(result);
+        ImportResultDTO rejected = checkUpload(file);
+        if (rejected != null) {
+            return ResponseEntity.badRequest().body(rejected);
         }
 
-        if (!isCSVFile(file)) {
-            log.warn("Invalid file type: {}", file.getContentType());
-            ImportResultDTO result = ImportResultDTO.builder().build();
-            result.addError("Invalid file type. Please upload a CSV file.");
-            return ResponseEntity.badRequest().body(result);
+        return toResponse(csvImporterService.importDeals(file, mode));
+    }
+
+    /**
+     * Streams a raw CSV request body, plain or chunked, straight into the
+     * import pipeline. Rows are parsed and saved while the body is still
+     * arriving, and only a bounded number of chunks is held in memory, so
+     * there is no size limit on this route. Gzip and zstd bodies are
+     * decompressed on the fly.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/csv", "application/gzip", "application/zstd"})
+    public ResponseEntity<ImportResultDTO> importStream(
+            HttpServletRequest request,
+            @RequestParam(value = "mode", defaultValue = "BATCH") ImportMode mode,
+            @RequestParam(value = "name", defaultValue = "request body") String name) throws IOException {
+
+        log.info("Received {} streaming import request: {}", mode, name);
+
+        try (InputStream in = request.getInputStream()) {
+            return toResponse(csvImporterService.importDeals(in, name, mode, new ImportProgress()));
+        }
+    }
+
+    /**
+     * Imports the upload while streaming one JSON line per row (row number,
+     * deal ID, status and error code) as soon as its outcome is known,
+     * followed by a {@code summary} line with the import result. The report is
+     * written straight to the response and never held on the server. A
+     * rejected upload gets a 400 with only the summary line.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, params = "report=ndjson")
+    public ResponseEntity<StreamingResponseBody> importDealsWithRowReport(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "mode", defaultValue = "BATCH") ImportMode mode) {
+
+        log.info("Received {} import request with row report for file: {}", mode, file.getOriginalFilename());
+
+        ImportResultDTO rejected = checkUpload(file);
+        if (rejected != null) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_NDJSON)
+                    .body(out -> writeLine(out, objectMapper.writer(), Map.of("summary", rejected)));
+        }
+
+        return streamRows(progress -> {
+            try (InputStream in = file.getInputStream()) {
+                return csvImporterService.importDeals(in, file.getOriginalFilename(), mode, progress);
+            }
+        });
+    }
+
+    /**
+     * Raw request body variant of {@link #importDealsWithRowReport}.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/csv", "application/gzip", "application/zstd"},
+            params = "report=ndjson")
+    public ResponseEntity<StreamingResponseBody> importStreamWithRowReport(
+            HttpServletRequest request,
+            @RequestParam(value = "mode", defaultValue = "BATCH") ImportMode mode,
+            @RequestParam(value = "name", defaultValue = "request body") String name) {
+
+        log.info("Received {} streaming import request with row report: {}", mode, name);
+
+        return streamRows(progress -> {
+            try (InputStream in = request.getInputStream()) {
+                return csvImporterService.importDeals(in, name, mode, progress);
+            }
+        });
+    }
+
+    /**
+     * Accepts the file for background import and returns the queued job at
+     * once; poll {@code GET /api/deals/import/{jobId}} for its progress.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, params = "async=true")
+    public ResponseEntity<?> importDealsAsync(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "mode", defaultValue = "BATCH") ImportMode mode) {
+
+        log.info("Received async {} import request for file: {}", mode, file.getOriginalFilename());
+
+        ImportResultDTO rejected = checkUpload(file);
+        if (rejected != null) {
+            return ResponseEntity.badRequest().body(rejected);
+        }
+
+        ImportJobDTO job = importJobService.submit(file, mode);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    /**
+     * A background job has no response to stream its rows into, so the two
+     * options are rejected together rather than left to an ambiguous match.
+     */
+    @PostMapping(value = "/import", params = {"async=true", "report=ndjson"})
+    public ResponseEntity<Void> importAsyncWithRowReport() {
+        throw new ValidationException("async=true cannot be combined with report=ndjson; "
+                + "follow the job at /api/deals/import/{jobId}/events instead");
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ImportJobDTO> getImportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(importJobService.getJob(jobId));
+    }
+
+    /**
+     * Server-Sent Events for a job: throttled {@code progress} events with
+     * counts, rows per second and the estimated time left, then a final
+     * {@code job} event once it has finished.
+     */
+    @GetMapping(value = "/import/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter importJobEvents(@PathVariable String jobId) {
+        return importProgressPublisher.subscribe(jobId);
+    }
+
+    /**
+     * Streams the full row-level report of an import as CSV. The import result
+     * only carries counts and a capped sample of messages; its
+     * {@code reportId} points here for the rest.
+     */
+    @GetMapping("/import/reports/{reportId}")
+    public ResponseEntity<Resource> getImportReport(@PathVariable String reportId) {
+        Path report = importReportStore.find(reportId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + reportId + ".csv\"")
+                .body(new FileSystemResource(report));
+    }
+
+    /**
+     * Imports a file that is already on the server, inside the allow-listed
+     * {@code fxdeals.import.server-dir}. The file is memory-mapped rather than
+     * uploaded, so it is not subject to the multipart size limit.
+     */
+    @PostMapping("/import/server")
+    public ResponseEntity<ImportResultDTO> importServerFile(
+            @RequestParam("path") String path,
+            @RequestParam(value = "mode", defaultValue = "BATCH") ImportMode mode) {
+
+        log.info("Received {} server-side import request for file: {}", mode, path);
+
+        Path file = serverFileResolver.resolve(path);
+        return toResponse(csvImporterService.importFile(file, mode, new ImportProgress()));
+    }
+
+    @PostMapping(value = "/import/server", params = "async=true")
+    public ResponseEntity<ImportJobDTO> importServerFileAsync(
+            @RequestParam("path") String path,
+            @RequestParam(value = "mode", defaultValue = "BATCH") ImportMode mode) {
+
+        log.info("Received async {} server-side import request for file: {}", mode, path);
+
+        Path file = serverFileResolver.resolve(path);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importJobService.submitServerFile(file, mode));
+    }
+
+    @GetMapping("/health")
+    public ResponseEntity<String> health() {
+        return ResponseEntity.ok("FX Deals Importer is running");
+    }
+
+    /**
+     * Runs the import on the MVC stream executor, writing each row outcome to
+     * the response as NDJSON. If the client goes away, the failed write stops
+     * the import; rows already committed stay saved.
+     */
+    private ResponseEntity<StreamingResponseBody> streamRows(RowReportingImport rowReportingImport) {
+        ObjectWriter writer = objectMapper.writer();
+        StreamingResponseBody body = out -> {
+            OutputStream lines = new BufferedOutputStream(out);
+            ImportProgress progress = new ImportProgress((rowNumber, dealId, status, errorCode) ->
+                    writeLine(lines, writer, new RowOutcomeDTO(rowNumber, dealId, status, errorCode)));
+            ImportResultDTO result = rowReportingImport.run(progress);
+            writeLine(lines, writer, Map.of("summary", result));
+            lines.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private static void writeLine(OutputStream out, ObjectWriter writer, Object line) {
+        try {
+            out.write(writer.writeValueAsBytes(line));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+    }
 
-        ImportResultDTO result = csvImporterService.importDeals(file);
+    @FunctionalInterface
+    private interface RowReportingImport {
+        ImportResultDTO run(ImportProgress progress) throws IOException;
+    }
 
+    private ResponseEntity<ImportResultDTO> toResponse(ImportResultDTO result) {
         if (result.getSuccessfulRecords() > 0) {
             return ResponseEntity.ok(result);
         } else if (result.getFailedRecords() > 0 || result.getTotalRecords() == 0) {
@@ -49,19 +269,28 @@ public class ImportController {
         }
     }
 
+    private ImportResultDTO checkUpload(MultipartFile file) {
+        if (file.isEmpty()) {
+            log.warn("Empty file uploaded");
+            ImportResultDTO result = ImportResultDTO.builder().build();
+            result.addError("The uploaded file is empty");
+            return result;
+        }
 
-    @GetMapping("/health")
-    public ResponseEntity<String> health() {
-        return ResponseEntity.ok("FX Deals Importer is running");
+        if (!isCSVFile(file)) {
+            log.warn("Invalid file type: {}", file.getContentType());
+            ImportResultDTO result = ImportResultDTO.builder().build();
+            result.addError("Invalid file type. Please upload a CSV file.");
+            return result;
+        }
+        return null;
     }
 
     private boolean isCSVFile(MultipartFile file) {
         String filename = file.getOriginalFilename();
         String contentType = file.getContentType();
 
-        return (filename != null && filename.toLowerCase().endsWith(".csv")) ||
-                (contentType != null && (contentType.equals("text/csv") ||
-                        contentType.equals("application/csv") ||
-                        contentType.equals("application/vnd.ms-excel")));
+        return (filename != null && CSV_EXTENSIONS.stream().anyMatch(filename.toLowerCase()::endsWith)) ||
+                (contentType != null && CSV_CONTENT_TYPES.contains(contentType));
     }
 }
\ No newline at end of file
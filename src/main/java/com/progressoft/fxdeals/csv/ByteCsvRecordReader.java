@@ -0,0 +1,282 @@
+package com.progressoft.fxdeals.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Streaming CSV tokenizer that scans UTF-8 bytes straight from the input
+ * buffer.
+ * <p>
+ * Field boundaries are recorded as offsets into the buffer, and a field is
+ * only decoded into a {@code String} when {@link #field(int)} asks for it, so
+ * no intermediate line strings or split arrays are created. Quoting follows
+ * RFC 4180: a quoted field may contain commas, line breaks and doubled quotes
+ * ({@code ""}) standing for a literal quote. Only a quote that opens a field
+ * starts quoting; a quote anywhere else is literal text, so a stray quote
+ * cannot swallow the lines after it.
+ */
+public class ByteCsvRecordReader implements CsvRecordReader {
+
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private static final byte COMMA = ',';
+    private static final byte QUOTE = '"';
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+    private static final int INITIAL_FIELDS = 8;
+
+    private final InputStream in;
+    private ByteBuffer buffer;
+    private int limit;
+    private int position;
+    private boolean exhausted;
+
+    private int nextLine = 1;
+    private int rowNumber;
+    private int recordStart;
+    private int fieldCount;
+    private int[] fieldStarts = new int[INITIAL_FIELDS];
+    private int[] fieldEnds = new int[INITIAL_FIELDS];
+    private boolean[] fieldQuoted = new boolean[INITIAL_FIELDS];
+    private boolean blank;
+    private byte[] scratch = new byte[64];
+
+    public ByteCsvRecordReader(InputStream in) {
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+
+    ByteCsvRecordReader(InputStream in, int bufferSize) {
+        this.in = in;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+    }
+
+    /**
+     * Reads the records of a fixed block of bytes, such as a {@link CsvChunk},
+     * in place without copying it.
+     *
+     * @param firstLine line number of the first record in the block
+     */
+    public ByteCsvRecordReader(ByteBuffer data, int firstLine) {
+        this.in = null;
+        this.buffer = data.slice();
+        this.limit = buffer.limit();
+        this.exhausted = true;
+        this.nextLine = firstLine;
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        recordStart = position;
+        while (position >= limit) {
+            if (exhausted) {
+                return false;
+            }
+            position -= refill();
+        }
+
+        recordStart = position;
+        rowNumber = nextLine;
+        fieldCount = 0;
+        blank = true;
+
+        int i = position;
+        int fieldStart = i;
+        boolean inQuotes = false;
+        boolean quoted = false;
+
+        while (true) {
+            if (i >= limit) {
+                if (exhausted) {
+                    addField(fieldStart, i, quoted);
+                    position = i;
+                    return true;
+                }
+                int shift = refill();
+                i -= shift;
+                fieldStart -= shift;
+                continue;
+            }
+
+            byte b = buffer.get(i);
+
+            if (inQuotes) {
+                if (b == QUOTE) {
+                    if (i + 1 >= limit && !exhausted) {
+                        int shift = refill(); // need to see whether this is an escaped quote
+                        i -= shift;
+                        fieldStart -= shift;
+                        continue;
+                    }
+                    if (i + 1 < limit && buffer.get(i + 1) == QUOTE) {
+                        i += 2;
+                        continue;
+                    }
+                    inQuotes = false;
+                } else if (b == LF) {
+                    nextLine++;
+                }
+                i++;
+                continue;
+            }
+
+            switch (b) {
+                case COMMA -> {
+                    addField(fieldStart, i, quoted);
+                    blank = false;
+                    i++;
+                    fieldStart = i;
+                    quoted = false;
+                }
+                case LF -> {
+                    addField(fieldStart, i, quoted);
+                    position = i + 1;
+                    nextLine++;
+                    return true;
+                }
+                case CR -> {
+                    if (i + 1 >= limit && !exhausted) {
+                        int shift = refill(); // need to see whether a LF follows
+                        i -= shift;
+                        fieldStart -= shift;
+                        continue;
+                    }
+                    addField(fieldStart, i, quoted);
+                    i++;
+                    if (i < limit && buffer.get(i) == LF) {
+                        i++;
+                    }
+                    position = i;
+                    nextLine++;
+                    return true;
+                }
+                case QUOTE -> {
+                    if (i == fieldStart) {
+                        inQuotes = true;
+                        quoted = true;
+                    }
+                    blank = false;
+                    i++;
+                }
+                default -> {
+                    if ((b & 0xFF) > ' ') {
+                        blank = false;
+                    }
+                    i++;
+                }
+            }
+        }
+    }
+
+    @Override
+    public int rowNumber() {
+        return rowNumber;
+    }
+
+    @Override
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    @Override
+    public String field(int index) {
+        if (index < 0 || index >= fieldCount) {
+            throw new IndexOutOfBoundsException("Field " + index + " of " + fieldCount);
+        }
+        int start = recordStart + fieldStarts[index];
+        int end = recordStart + fieldEnds[index];
+        return fieldQuoted[index] ? decodeQuoted(start, end) : decode(start, end);
+    }
+
+    @Override
+    public boolean isBlank() {
+        return blank;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (in != null) {
+            in.close();
+        }
+    }
+
+    private void addField(int start, int end, boolean quoted) {
+        if (fieldCount == fieldStarts.length) {
+            int capacity = fieldCount * 2;
+            fieldStarts = Arrays.copyOf(fieldStarts, capacity);
+            fieldEnds = Arrays.copyOf(fieldEnds, capacity);
+            fieldQuoted = Arrays.copyOf(fieldQuoted, capacity);
+        }
+        fieldStarts[fieldCount] = start - recordStart;
+        fieldEnds[fieldCount] = end - recordStart;
+        fieldQuoted[fieldCount] = quoted;
+        fieldCount++;
+    }
+
+    private String decode(int start, int end) {
+        int length = end - start;
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + start, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = scratch(length);
+        buffer.get(start, bytes, 0, length);
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private String decodeQuoted(int start, int end) {
+        byte[] bytes = scratch(end - start);
+        int length = 0;
+        boolean inQuotes = true;
+        for (int i = start + 1; i < end; i++) {
+            byte b = buffer.get(i);
+            if (inQuotes && b == QUOTE) {
+                if (i + 1 < end && buffer.get(i + 1) == QUOTE) {
+                    bytes[length++] = QUOTE;
+                    i++;
+                } else {
+                    inQuotes = false;
+                }
+            } else {
+                bytes[length++] = b;
+            }
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private byte[] scratch(int length) {
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        return scratch;
+    }
+
+    /**
+     * Discards bytes before the current record, growing the buffer if the
+     * record already fills it, and reads more input.
+     *
+     * @return how far the unread bytes were shifted towards the start
+     */
+    private int refill() throws IOException {
+        int shift = recordStart;
+        byte[] array = buffer.array();
+
+        if (shift > 0) {
+            System.arraycopy(array, shift, array, 0, limit - shift);
+            limit -= shift;
+            recordStart = 0;
+        } else if (limit == array.length) {
+            array = Arrays.copyOf(array, array.length * 2);
+            buffer = ByteBuffer.wrap(array);
+        }
+
+        int read = in.read(array, limit, array.length - limit);
+        if (read < 0) {
+            exhausted = true;
+        } else {
+            limit += read;
+        }
+        return shift;
+    }
+}
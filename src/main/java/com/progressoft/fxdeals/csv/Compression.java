@@ -0,0 +1,93 @@
+package com.progressoft.fxdeals.csv;
+
+import io.airlift.compress.zstd.ZstdInputStream;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Compression formats accepted for CSV input, recognised by their magic
+ * bytes. Decompression is streaming: only the decoder's window is held in
+ * memory, and no decompressed copy is written anywhere.
+ */
+public enum Compression {
+
+    NONE(new byte[0]) {
+        @Override
+        InputStream decode(InputStream in) {
+            return in;
+        }
+    },
+
+    GZIP(new byte[]{0x1f, (byte) 0x8b}) {
+        @Override
+        InputStream decode(InputStream in) throws IOException {
+            return new GZIPInputStream(in, BUFFER_SIZE);
+        }
+    },
+
+    ZSTD(new byte[]{0x28, (byte) 0xb5, 0x2f, (byte) 0xfd}) {
+        @Override
+        InputStream decode(InputStream in) {
+            return new ZstdInputStream(in);
+        }
+    };
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAGIC_LENGTH = 4;
+
+    private final byte[] magic;
+
+    Compression(byte[] magic) {
+        this.magic = magic;
+    }
+
+    abstract InputStream decode(InputStream in) throws IOException;
+
+    /**
+     * Wraps {@code in} so that it yields plain CSV bytes, decompressing on the
+     * fly if the stream starts with a known magic number.
+     */
+    public static InputStream decompress(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, BUFFER_SIZE);
+        buffered.mark(MAGIC_LENGTH);
+        byte[] header = buffered.readNBytes(MAGIC_LENGTH);
+        buffered.reset();
+        return detect(header, header.length).decode(buffered);
+    }
+
+    /**
+     * Returns the compression of a file from its first bytes.
+     */
+    public static Compression of(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] header = in.readNBytes(MAGIC_LENGTH);
+            return detect(header, header.length);
+        }
+    }
+
+    static Compression detect(byte[] header, int length) {
+        for (Compression compression : values()) {
+            if (compression != NONE && compression.matches(header, length)) {
+                return compression;
+            }
+        }
+        return NONE;
+    }
+
+    private boolean matches(byte[] header, int length) {
+        if (length < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if (header[i] != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,12 @@
+package com.progressoft.fxdeals.csv;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A block of CSV bytes that starts and ends on a record boundary.
+ *
+ * @param data      the bytes of the chunk
+ * @param firstLine 1-based line number of the first record in the chunk
+ */
+public record CsvChunk(ByteBuffer data, int firstLine) {
+}
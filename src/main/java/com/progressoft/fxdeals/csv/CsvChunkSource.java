@@ -0,0 +1,14 @@
+package com.progressoft.fxdeals.csv;
+
+import java.io.IOException;
+
+/**
+ * Supplies the chunks of a CSV input in order.
+ */
+public interface CsvChunkSource {
+
+    /**
+     * Returns the next chunk, or {@code null} once the input is exhausted.
+     */
+    CsvChunk next() throws IOException;
+}
@@ -0,0 +1,97 @@
+package com.progressoft.fxdeals.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Cuts a CSV stream into chunks of roughly {@code chunkSize} bytes so they
+ * can be parsed independently.
+ * <p>
+ * A chunk always ends after a line break (LF, CRLF or lone CR) that is
+ * outside quotes, so a quoted field with embedded line breaks never straddles
+ * two chunks. A record longer than the chunk size makes the chunk grow to fit
+ * it, up to a limit that stops an unclosed quote from buffering the rest of
+ * the file. Every chunk gets its own
+ * buffer, so chunks can be handed to other threads while the next one is read.
+ */
+public class CsvChunker implements CsvChunkSource {
+
+    /** Largest record accepted when it does not fit the chunk size. */
+    static final int MAX_RECORD_SIZE = 64 * 1024 * 1024;
+
+    private final InputStream in;
+    private final int chunkSize;
+    private final int maxRecordSize;
+    private final RecordBoundary recordBoundary = new RecordBoundary();
+
+    private byte[] buffer;
+    private int filled;
+    private boolean exhausted;
+    private int nextLine = 1;
+    private int linesToBoundary;
+
+    public CsvChunker(InputStream in, int chunkSize) {
+        this(in, chunkSize, MAX_RECORD_SIZE);
+    }
+
+    CsvChunker(InputStream in, int chunkSize, int maxRecordSize) {
+        this.in = in;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxRecordSize = Math.max(this.chunkSize, maxRecordSize);
+        this.buffer = new byte[this.chunkSize];
+    }
+
+    @Override
+    public CsvChunk next() throws IOException {
+        fill();
+        if (filled == 0) {
+            return null;
+        }
+
+        int boundary = findBoundary();
+        while (boundary == 0) {
+            // A single record fills the whole buffer: grow and read more
+            if (buffer.length >= maxRecordSize) {
+                throw new IOException("CSV record starting at line " + nextLine + " is longer than "
+                        + maxRecordSize + " bytes; check for an unclosed quote");
+            }
+            byte[] larger = new byte[(int) Math.min((long) buffer.length * 2, maxRecordSize)];
+            System.arraycopy(buffer, 0, larger, 0, filled);
+            buffer = larger;
+            fill();
+            boundary = findBoundary();
+        }
+
+        CsvChunk chunk = new CsvChunk(ByteBuffer.wrap(buffer, 0, boundary).slice(), nextLine);
+        nextLine += linesToBoundary;
+
+        byte[] next = new byte[Math.max(chunkSize, filled - boundary)];
+        System.arraycopy(buffer, boundary, next, 0, filled - boundary);
+        filled -= boundary;
+        buffer = next;
+        return chunk;
+    }
+
+    private void fill() throws IOException {
+        while (!exhausted && filled < buffer.length) {
+            int read = in.read(buffer, filled, buffer.length - filled);
+            if (read < 0) {
+                exhausted = true;
+            } else {
+                filled += read;
+            }
+        }
+    }
+
+    /**
+     * Returns the end of the last complete record in the buffer (or the end of
+     * the data once the stream is exhausted), and stores the number of lines
+     * up to that point in {@link #linesToBoundary}.
+     */
+    private int findBoundary() {
+        int boundary = recordBoundary.find(ByteBuffer.wrap(buffer), 0, filled, exhausted);
+        linesToBoundary = recordBoundary.lines();
+        return boundary;
+    }
+}
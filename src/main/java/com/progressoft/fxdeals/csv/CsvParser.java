@@ -0,0 +1,50 @@
+package com.progressoft.fxdeals.csv;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Available CSV parser implementations.
+ */
+public enum CsvParser {
+
+    /** Streaming UTF-8 byte tokenizer with RFC 4180 quoting. */
+    BYTE {
+        @Override
+        public CsvRecordReader open(InputStream in) {
+            return new ByteCsvRecordReader(in);
+        }
+
+        @Override
+        public CsvRecordReader open(CsvChunk chunk) {
+            return new ByteCsvRecordReader(chunk.data(), chunk.firstLine());
+        }
+    },
+
+    /** Legacy {@code readLine()} plus {@code split(",")}; no quoting support. */
+    SPLIT {
+        @Override
+        public CsvRecordReader open(InputStream in) {
+            return new SplitCsvRecordReader(in);
+        }
+
+        @Override
+        public CsvRecordReader open(CsvChunk chunk) {
+            return new SplitCsvRecordReader(asStream(chunk.data()), chunk.firstLine());
+        }
+    };
+
+    public abstract CsvRecordReader open(InputStream in);
+
+    public abstract CsvRecordReader open(CsvChunk chunk);
+
+    private static InputStream asStream(ByteBuffer data) {
+        if (data.hasArray()) {
+            return new ByteArrayInputStream(data.array(), data.arrayOffset() + data.position(), data.remaining());
+        }
+        byte[] bytes = new byte[data.remaining()];
+        data.duplicate().get(bytes);
+        return new ByteArrayInputStream(bytes);
+    }
+}
@@ -0,0 +1,37 @@
+package com.progressoft.fxdeals.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Forward-only cursor over the records of a CSV source.
+ * <p>
+ * Every physical line is returned as a record, including blank ones, so
+ * callers see the same row numbering as the file itself.
+ */
+public interface CsvRecordReader extends Closeable {
+
+    /**
+     * Advances to the next record.
+     *
+     * @return {@code false} once the source is exhausted
+     */
+    boolean next() throws IOException;
+
+    /**
+     * 1-based line number on which the current record starts.
+     */
+    int rowNumber();
+
+    int fieldCount();
+
+    /**
+     * Returns the decoded value of the given field of the current record.
+     */
+    String field(int index);
+
+    /**
+     * Whether the current record contains nothing but whitespace.
+     */
+    boolean isBlank();
+}
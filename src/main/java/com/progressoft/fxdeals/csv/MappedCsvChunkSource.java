@@ -0,0 +1,91 @@
+package com.progressoft.fxdeals.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Cuts a CSV file into chunks backed by memory-mapped segments of the file.
+ * <p>
+ * The file is mapped in segments of up to {@code segmentSize} bytes, and each
+ * chunk is a slice of the current segment, so the payload is read by the
+ * parser straight from the page cache without being copied onto the heap.
+ * Chunks end on record boundaries exactly like {@link CsvChunker}; a record
+ * longer than the chunk size makes the chunk (and, if needed, the segment)
+ * grow to fit it.
+ */
+public class MappedCsvChunkSource implements CsvChunkSource, Closeable {
+
+    static final long DEFAULT_SEGMENT_SIZE = 1L << 30;
+
+    private final FileChannel channel;
+    private final long size;
+    private final int chunkSize;
+    private final long segmentSize;
+    private final RecordBoundary recordBoundary = new RecordBoundary();
+
+    private MappedByteBuffer segment;
+    private long segmentStart;
+    private long position;
+    private int nextLine = 1;
+
+    public MappedCsvChunkSource(Path file, int chunkSize) throws IOException {
+        this(file, chunkSize, DEFAULT_SEGMENT_SIZE);
+    }
+
+    MappedCsvChunkSource(Path file, int chunkSize, long segmentSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.chunkSize = Math.max(1, chunkSize);
+        this.segmentSize = Math.min(Math.max(segmentSize, this.chunkSize), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public CsvChunk next() throws IOException {
+        if (position >= size) {
+            return null;
+        }
+
+        long window = chunkSize;
+        while (true) {
+            long end = Math.min(position + window, size);
+            map(position, end);
+
+            int from = (int) (position - segmentStart);
+            int boundary = recordBoundary.find(segment, from, (int) (end - segmentStart), end == size);
+            if (boundary > from) {
+                CsvChunk chunk = new CsvChunk(segment.slice(from, boundary - from), nextLine);
+                nextLine += recordBoundary.lines();
+                position = segmentStart + boundary;
+                return chunk;
+            }
+
+            // A single record is longer than the window: widen it
+            window *= 2;
+            if (window > Integer.MAX_VALUE) {
+                throw new IOException("CSV record starting at byte " + position + " is too large");
+            }
+        }
+    }
+
+    /**
+     * Makes sure {@code [start, end)} lies inside the mapped segment, mapping a
+     * new segment from {@code start} if it does not.
+     */
+    private void map(long start, long end) throws IOException {
+        if (segment != null && start >= segmentStart && end <= segmentStart + segment.capacity()) {
+            return;
+        }
+        long length = Math.min(Math.max(segmentSize, end - start), size - start);
+        segment = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        segmentStart = start;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
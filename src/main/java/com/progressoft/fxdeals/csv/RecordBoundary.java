@@ -0,0 +1,77 @@
+package com.progressoft.fxdeals.csv;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Finds where a run of CSV bytes can be cut without splitting a record.
+ * <p>
+ * Line counting and quoting match {@link ByteCsvRecordReader}: a LF, CRLF or
+ * lone CR outside quotes ends a line, a LF inside quotes also counts, and only
+ * a quote at the start of a field opens quoting. The scan must start on a
+ * record boundary.
+ */
+final class RecordBoundary {
+
+    private static final byte COMMA = ',';
+    private static final byte QUOTE = '"';
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+
+    private int lines;
+
+    /**
+     * Returns the index just past the last line break outside quotes in
+     * {@code [from, to)}, or {@code to} when {@code atEnd} is set, or
+     * {@code from} if the range holds no complete record. The number of lines
+     * up to the returned index is available from {@link #lines()}.
+     */
+    int find(ByteBuffer data, int from, int to, boolean atEnd) {
+        boolean inQuotes = false;
+        boolean fieldStart = true;
+        boolean closed = false;
+        int count = 0;
+        int boundary = from;
+        lines = 0;
+
+        for (int i = from; i < to; i++) {
+            byte b = data.get(i);
+            if (inQuotes) {
+                if (b == QUOTE) {
+                    inQuotes = false;
+                    closed = true;
+                } else if (b == LF) {
+                    count++;
+                }
+                continue;
+            }
+
+            if (b == QUOTE) {
+                // A quote straight after a closing one is an escaped quote, so the field stays quoted
+                inQuotes = fieldStart || closed;
+            } else if (b == LF) {
+                count++;
+                boundary = i + 1;
+                lines = count;
+            } else if (b == CR && (i + 1 == to || data.get(i + 1) != LF)) {
+                count++;
+                // A CR that ends the range may be the first half of a CRLF, so only a CR followed by data is a cut
+                if (i + 1 < to) {
+                    boundary = i + 1;
+                    lines = count;
+                }
+            }
+            fieldStart = b == COMMA || b == LF || b == CR;
+            closed = false;
+        }
+
+        if (atEnd) {
+            lines = count;
+            return to;
+        }
+        return boundary;
+    }
+
+    int lines() {
+        return lines;
+    }
+}
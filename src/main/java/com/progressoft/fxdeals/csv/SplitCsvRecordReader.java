@@ -0,0 +1,68 @@
+package com.progressoft.fxdeals.csv;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Line-based reader that splits each line on commas. It does not understand
+ * quoting and is kept as a fallback for the byte-level tokenizer.
+ */
+public class SplitCsvRecordReader implements CsvRecordReader {
+
+    private final BufferedReader reader;
+    private String line;
+    private String[] fields;
+    private int rowNumber;
+
+    public SplitCsvRecordReader(InputStream in) {
+        this(in, 1);
+    }
+
+    /**
+     * @param firstLine line number of the first line read from {@code in}
+     */
+    public SplitCsvRecordReader(InputStream in, int firstLine) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.rowNumber = firstLine - 1;
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        line = reader.readLine();
+        if (line == null) {
+            fields = null;
+            return false;
+        }
+        rowNumber++;
+        fields = line.split(",", -1); // keep empty columns
+        return true;
+    }
+
+    @Override
+    public int rowNumber() {
+        return rowNumber;
+    }
+
+    @Override
+    public int fieldCount() {
+        return fields.length;
+    }
+
+    @Override
+    public String field(int index) {
+        return fields[index];
+    }
+
+    @Override
+    public boolean isBlank() {
+        return line.trim().isEmpty();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
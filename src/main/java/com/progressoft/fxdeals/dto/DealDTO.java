@@ -3,7 +3,6 @@ package com.progressoft.fxdeals.dto;
 import com.opencsv.bean.CsvBindByName;
 import lombok.*;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
@@ -28,5 +27,7 @@ public class DealDTO {
     private String dealAmount;
 
     private LocalDateTime parsedTimestamp;
-    private BigDecimal parsedAmount;
+
+    /** Amount in ten-thousandths, see {@link com.progressoft.fxdeals.util.ScaledAmount}. */
+    private long parsedAmountUnscaled;
 }
\ No newline at end of file
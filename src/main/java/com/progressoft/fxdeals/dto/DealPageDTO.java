@@ -0,0 +1,19 @@
+package com.progressoft.fxdeals.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of deals. Pass {@code nextCursor} back as {@code cursor} to get
+ * the following page; it is {@code null} on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DealPageDTO {
+    private List<DealResponseDTO> deals;
+    private String nextCursor;
+}
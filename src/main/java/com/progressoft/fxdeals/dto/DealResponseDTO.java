@@ -0,0 +1,24 @@
+package com.progressoft.fxdeals.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A stored deal as returned by the query API.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DealResponseDTO {
+    private String dealId;
+    private String fromCurrency;
+    private String toCurrency;
+    private LocalDateTime dealTimestamp;
+    private BigDecimal dealAmount;
+}
@@ -0,0 +1,34 @@
+package com.progressoft.fxdeals.dto;
+
+import com.progressoft.fxdeals.model.ImportJobStatus;
+import com.progressoft.fxdeals.service.ImportMode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Status of an asynchronous import job. Counts are live while the job runs;
+ * {@code result} is set once it has completed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobDTO {
+    private String jobId;
+    private String fileName;
+    private ImportMode mode;
+    private ImportJobStatus status;
+    private long rowsRead;
+    private long savedRecords;
+    private long duplicateRecords;
+    private long failedRecords;
+    private String error;
+    private ImportResultDTO result;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,31 @@
+package com.progressoft.fxdeals.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress event of a running import job. Rates are measured over the time
+ * since the previous event sent to the same subscriber.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportProgressDTO {
+    private String jobId;
+    private long rowsRead;
+    private long bytesRead;
+    private Long totalBytes;
+    private long savedRecords;
+    private long duplicateRecords;
+    private long failedRecords;
+    private double rowsPerSecond;
+    private long elapsedSeconds;
+
+    /** Estimated seconds until the input is read, if its size is known. */
+    private Long etaSeconds;
+}
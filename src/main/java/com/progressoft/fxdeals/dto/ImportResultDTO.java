@@ -4,10 +4,13 @@ import lombok.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * DTO representing the result of a CSV import operation.
- * Contains counts of successful, failed, and duplicate records.
+ * Contains counts of successful, failed, and duplicate records, issue counts
+ * per category and column, and a capped sample of row-level messages.
  */
 @Data
 @NoArgsConstructor
@@ -20,12 +23,29 @@ public class ImportResultDTO {
     private int failedRecords;
     private int duplicateRecords;
 
+    /** Number of writer threads the rows were spread across. */
+    private int writers;
+
     @Builder.Default
     private List<String> errors = new ArrayList<>();
 
     @Builder.Default
     private List<String> warnings = new ArrayList<>();
 
+    /** Row-level errors and warnings per category, e.g. {@code AMOUNT_FORMAT}. */
+    @Builder.Default
+    private Map<String, Long> issuesByCategory = new TreeMap<>();
+
+    /** Validation errors per CSV column. */
+    @Builder.Default
+    private Map<String, Long> errorsByColumn = new TreeMap<>();
+
+    /** Row-level messages left out of {@code errors} and {@code warnings} by the sampling cap. */
+    private long omittedMessages;
+
+    /** ID of the full row-level report, or {@code null} if the import had no row-level issues. */
+    private String reportId;
+
     public void addError(String error) {
         this.errors.add(error);
     }
@@ -34,6 +54,25 @@ public class ImportResultDTO {
         this.warnings.add(warning);
     }
 
+    /**
+     * Counts a row-level issue under its category and, if it concerns a
+     * single column, under that column.
+     */
+    public void countIssue(String category, String column) {
+        issuesByCategory.merge(category, 1L, Long::sum);
+        if (column != null) {
+            errorsByColumn.merge(column, 1L, Long::sum);
+        }
+    }
+
+    public void incrementOmitted() {
+        this.omittedMessages++;
+    }
+
+    public void incrementTotal() {
+        this.totalRecords++;
+    }
+
     public void incrementSuccessful() {
         this.successfulRecords++;
     }
@@ -45,4 +84,19 @@ public class ImportResultDTO {
     public void incrementDuplicate() {
         this.duplicateRecords++;
     }
+
+    /**
+     * Adds the counts and messages of a partial result to this one.
+     */
+    public void merge(ImportResultDTO other) {
+        this.totalRecords += other.totalRecords;
+        this.successfulRecords += other.successfulRecords;
+        this.failedRecords += other.failedRecords;
+        this.duplicateRecords += other.duplicateRecords;
+        this.omittedMessages += other.omittedMessages;
+        this.errors.addAll(other.errors);
+        this.warnings.addAll(other.warnings);
+        other.issuesByCategory.forEach((category, count) -> issuesByCategory.merge(category, count, Long::sum));
+        other.errorsByColumn.forEach((column, count) -> errorsByColumn.merge(column, count, Long::sum));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.progressoft.fxdeals.dto;
+
+import com.progressoft.fxdeals.model.ImportJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Status of a background volume rollup rebuild: the hour-aligned range being
+ * recomputed, how far it has got and the number of hourly buckets written so
+ * far. The range is {@code null} until the rebuild starts, and stays
+ * {@code null} when there were no deals to rebuild from.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupRebuildDTO {
+    private String rebuildId;
+    private ImportJobStatus status;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private LocalDateTime rebuiltUntil;
+    private long buckets;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,21 @@
+package com.progressoft.fxdeals.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.progressoft.fxdeals.service.RowStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of a streamed per-row import report.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RowOutcomeDTO {
+    private int row;
+    private String dealId;
+    private RowStatus status;
+    private String errorCode;
+}
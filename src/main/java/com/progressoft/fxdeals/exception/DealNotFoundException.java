@@ -0,0 +1,11 @@
+package com.progressoft.fxdeals.exception;
+
+/**
+ * Exception thrown when a deal ID does not match any stored deal.
+ */
+public class DealNotFoundException extends RuntimeException {
+
+    public DealNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.progressoft.fxdeals.exception;
+
+/**
+ * Exception thrown when an import job ID does not match any known job.
+ */
+public class ImportJobNotFoundException extends RuntimeException {
+
+    public ImportJobNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.progressoft.fxdeals.exception;
+
+/**
+ * Exception thrown when an import job cannot be accepted because the job
+ * queue is full.
+ */
+public class ImportQueueFullException extends RuntimeException {
+
+    public ImportQueueFullException(String message) {
+        super(message);
+    }
+
+    public ImportQueueFullException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,11 @@
+package com.progressoft.fxdeals.exception;
+
+/**
+ * Exception thrown when an import report ID does not match any stored report.
+ */
+public class ImportReportNotFoundException extends RuntimeException {
+
+    public ImportReportNotFoundException(String message) {
+        super(message);
+    }
+}
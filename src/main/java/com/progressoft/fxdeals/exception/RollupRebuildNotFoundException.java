@@ -0,0 +1,11 @@
+package com.progressoft.fxdeals.exception;
+
+/**
+ * Exception thrown when a rollup rebuild ID does not match any known rebuild.
+ */
+public class RollupRebuildNotFoundException extends RuntimeException {
+
+    public RollupRebuildNotFoundException(String message) {
+        super(message);
+    }
+}
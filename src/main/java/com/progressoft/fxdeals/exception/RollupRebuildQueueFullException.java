@@ -0,0 +1,12 @@
+package com.progressoft.fxdeals.exception;
+
+/**
+ * Exception thrown when a rollup rebuild cannot be accepted because the
+ * rebuild queue is full.
+ */
+public class RollupRebuildQueueFullException extends RuntimeException {
+
+    public RollupRebuildQueueFullException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
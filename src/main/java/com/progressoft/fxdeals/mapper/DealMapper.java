@@ -1,7 +1,10 @@
 package com.progressoft.fxdeals.mapper;
 
 import com.progressoft.fxdeals.dto.DealDTO;
+import com.progressoft.fxdeals.dto.DealResponseDTO;
+import com.progressoft.fxdeals.dto.DealVolumeDTO;
 import com.progressoft.fxdeals.model.Deal;
+import com.progressoft.fxdeals.repository.DealVolume;
 
 /**
  * Mapper for converting between Deal entity and DealDTO.
@@ -16,7 +19,7 @@ public class DealMapper {
                 .fromCurrency(dealDTO.getFromCurrency())
                 .toCurrency(dealDTO.getToCurrency())
                 .dealTimestamp(dealDTO.getParsedTimestamp())
-                .dealAmount(dealDTO.getParsedAmount())
+                .dealAmountUnscaled(dealDTO.getParsedAmountUnscaled())
                 .build();
     }
 
@@ -28,7 +31,28 @@ public class DealMapper {
                 .dealTimestamp(deal.getDealTimestamp().toString())
                 .dealAmount(deal.getDealAmount().toString())
                 .parsedTimestamp(deal.getDealTimestamp())
-                .parsedAmount(deal.getDealAmount())
+                .parsedAmountUnscaled(deal.getDealAmountUnscaled())
                 .build();
     }
-}
\ No newline at end of file
+
+    public static DealResponseDTO toResponse(Deal deal) {
+        return DealResponseDTO.builder()
+                .dealId(deal.getDealId())
+                .fromCurrency(deal.getFromCurrency())
+                .toCurrency(deal.getToCurrency())
+                .dealTimestamp(deal.getDealTimestamp())
+                .dealAmount(deal.getDealAmount())
+                .build();
+    }
+
+    public static DealVolumeDTO toResponse(DealVolume volume) {
+        return DealVolumeDTO.builder()
+                .fromCurrency(volume.fromCurrency())
+                .toCurrency(volume.toCurrency())
+                .dealCount(volume.dealCount())
+                .totalAmount(volume.totalAmount())
+                .minAmount(volume.minAmount())
+                .maxAmount(volume.maxAmount())
+                .build();
+    }
+}
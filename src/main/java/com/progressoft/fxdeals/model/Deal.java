@@ -1,8 +1,10 @@
 package com.progressoft.fxdeals.model;
 
+import com.progressoft.fxdeals.util.ScaledAmount;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.springframework.data.domain.Persistable;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -15,7 +17,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @ToString
-public class Deal {
+public class Deal implements Persistable<String> {
 
     @Id
     @Column(name = "deal_id", nullable = false, unique = true)
@@ -30,10 +32,59 @@ public class Deal {
     @Column(name = "deal_timestamp", nullable = false)
     private LocalDateTime dealTimestamp;
 
+    /**
+     * Amount in ten-thousandths; the bulk write paths bind it without going
+     * through {@link BigDecimal}.
+     */
+    @Convert(converter = ScaledAmountConverter.class)
     @Column(name = "deal_amount", nullable = false, precision = 19, scale = 4)
-    private BigDecimal dealAmount;
+    private long dealAmountUnscaled;
 
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
-}
\ No newline at end of file
+
+    /**
+     * Deal IDs are assigned by the source file, so Spring Data cannot tell new
+     * entities from existing ones by the ID alone. Tracking it explicitly lets
+     * {@code save()} persist directly instead of merging, which would issue an
+     * extra SELECT per row.
+     */
+    @Transient
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private boolean newEntity = true;
+
+    public BigDecimal getDealAmount() {
+        return ScaledAmount.toBigDecimal(dealAmountUnscaled);
+    }
+
+    public void setDealAmount(BigDecimal dealAmount) {
+        this.dealAmountUnscaled = ScaledAmount.toUnscaled(dealAmount);
+    }
+
+    @Override
+    public String getId() {
+        return dealId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+
+    public static class DealBuilder {
+
+        public DealBuilder dealAmount(BigDecimal dealAmount) {
+            return dealAmountUnscaled(ScaledAmount.toUnscaled(dealAmount));
+        }
+    }
+}
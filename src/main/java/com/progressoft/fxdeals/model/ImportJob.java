@@ -0,0 +1,75 @@
+package com.progressoft.fxdeals.model;
+
+import com.progressoft.fxdeals.service.ImportMode;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Asynchronous import job. The uploaded file is spooled to disk and the job
+ * row records its progress, so job state survives an application restart.
+ */
+@Entity
+@Table(name = "import_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class ImportJob {
+
+    /** Longest error message the {@code error_message} column holds. */
+    public static final int MAX_ERROR_MESSAGE_LENGTH = 1024;
+
+    @Id
+    @Column(name = "job_id", nullable = false, length = 36)
+    private String jobId;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "mode", nullable = false, length = 16)
+    private ImportMode mode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private ImportJobStatus status;
+
+    /** Spooled upload, or the server-side file being imported. */
+    @Column(name = "spool_path", nullable = false, length = 1024)
+    private String spoolPath;
+
+    @Column(name = "rows_read", nullable = false)
+    private long rowsRead;
+
+    @Column(name = "saved_records", nullable = false)
+    private long savedRecords;
+
+    @Column(name = "duplicate_records", nullable = false)
+    private long duplicateRecords;
+
+    @Column(name = "failed_records", nullable = false)
+    private long failedRecords;
+
+    /** Final {@code ImportResultDTO}, serialized as JSON. */
+    @Column(name = "result", columnDefinition = "TEXT")
+    @ToString.Exclude
+    private String result;
+
+    @Column(name = "error_message", length = MAX_ERROR_MESSAGE_LENGTH)
+    private String errorMessage;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
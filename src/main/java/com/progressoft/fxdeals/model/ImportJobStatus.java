@@ -0,0 +1,8 @@
+package com.progressoft.fxdeals.model;
+
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,24 @@
+package com.progressoft.fxdeals.model;
+
+import com.progressoft.fxdeals.util.ScaledAmount;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Maps an unscaled amount to the {@code DECIMAL(19,4)} column.
+ */
+@Converter
+public class ScaledAmountConverter implements AttributeConverter<Long, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Long unscaled) {
+        return unscaled == null ? null : ScaledAmount.toBigDecimal(unscaled);
+    }
+
+    @Override
+    public Long convertToEntityAttribute(BigDecimal amount) {
+        return amount == null ? null : ScaledAmount.toUnscaled(amount);
+    }
+}
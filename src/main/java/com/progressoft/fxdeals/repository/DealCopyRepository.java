@@ -0,0 +1,121 @@
+package com.progressoft.fxdeals.repository;
+
+import com.progressoft.fxdeals.model.Deal;
+import com.progressoft.fxdeals.util.ScaledAmount;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * High-volume load path for PostgreSQL: rows are streamed into the unlogged
+ * {@code deals_staging} table with the COPY protocol and then merged into
+ * {@code deals} with a single set-based statement.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class DealCopyRepository {
+
+    private static final String COPY_SQL =
+            "COPY deals_staging (import_id, seq, deal_id, from_currency, to_currency, deal_timestamp, deal_amount) " +
+                    "FROM STDIN WITH (FORMAT csv)";
+
+    // DISTINCT ON keeps the first occurrence of a deal ID repeated within the load. The partitioned
+    // deals table has no unique index on deal_id alone, so existing IDs are excluded through deal_keys;
+    // a concurrent insert of the same ID still fails the merge through the deal_keys primary key.
+    private static final String MERGE_SQL =
+            "INSERT INTO deals (deal_id, from_currency, to_currency, deal_timestamp, deal_amount) " +
+                    "SELECT DISTINCT ON (s.deal_id) s.deal_id, s.from_currency, s.to_currency, " +
+                    "s.deal_timestamp, s.deal_amount " +
+                    "FROM deals_staging s WHERE s.import_id = ? " +
+                    "AND NOT EXISTS (SELECT 1 FROM deal_keys k WHERE k.deal_id = s.deal_id) " +
+                    "ORDER BY s.deal_id, s.seq RETURNING deal_id";
+
+    private static final String CLEANUP_SQL = "DELETE FROM deals_staging WHERE import_id = ?";
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Loads the deals through the staging table and returns the IDs that were
+     * actually inserted. Must be called inside a transaction so that the copy,
+     * merge and cleanup share one connection and commit together.
+     */
+    public Set<String> copyAndMerge(List<Deal> deals) {
+        String importId = UUID.randomUUID().toString();
+
+        long copied = jdbcTemplate.execute((ConnectionCallback<Long>) con ->
+                copyToStaging(con.unwrap(PGConnection.class), importId, deals));
+
+        Set<String> inserted = new HashSet<>(
+                jdbcTemplate.queryForList(MERGE_SQL, String.class, importId));
+        jdbcTemplate.update(CLEANUP_SQL, importId);
+
+        log.debug("COPY load {}: {} rows staged, {} merged", importId, copied, inserted.size());
+        return inserted;
+    }
+
+    private long copyToStaging(PGConnection connection, String importId, List<Deal> deals) throws SQLException {
+        CopyIn copyIn = connection.getCopyAPI().copyIn(COPY_SQL);
+        try {
+            StringBuilder buffer = new StringBuilder(COPY_BUFFER_SIZE + 512);
+            for (int i = 0; i < deals.size(); i++) {
+                appendRow(buffer, importId, i, deals.get(i));
+                if (buffer.length() >= COPY_BUFFER_SIZE) {
+                    write(copyIn, buffer);
+                }
+            }
+            write(copyIn, buffer);
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    private static void appendRow(StringBuilder buffer, String importId, int seq, Deal deal) {
+        buffer.append(importId).append(',')
+                .append(seq).append(',');
+        appendQuoted(buffer, deal.getDealId());
+        buffer.append(',')
+                .append(deal.getFromCurrency()).append(',')
+                .append(deal.getToCurrency()).append(',')
+                .append(deal.getDealTimestamp()).append(',');
+        ScaledAmount.append(buffer, deal.getDealAmountUnscaled())
+                .append('\n');
+    }
+
+    private static void appendQuoted(StringBuilder buffer, String value) {
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                buffer.append('"');
+            }
+            buffer.append(c);
+        }
+        buffer.append('"');
+    }
+}
@@ -0,0 +1,12 @@
+package com.progressoft.fxdeals.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional criteria of a deal query; {@code null} fields do not filter.
+ *
+ * @param from inclusive lower bound of the deal timestamp
+ * @param to   exclusive upper bound of the deal timestamp
+ */
+public record DealFilter(String fromCurrency, String toCurrency, LocalDateTime from, LocalDateTime to) {
+}
@@ -0,0 +1,83 @@
+package com.progressoft.fxdeals.repository;
+
+import com.progressoft.fxdeals.model.Deal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Plain JDBC access to the deals table for bulk operations that would be too
+ * chatty through JPA.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DealJdbcRepository {
+
+    /** The amount is bound as its unscaled long and rescaled by the database. */
+    private static final String INSERT_SQL =
+            "INSERT INTO deals (deal_id, from_currency, to_currency, deal_timestamp, deal_amount) " +
+                    "VALUES (?, ?, ?, ?, ? * 0.0001)";
+
+    // deal_keys holds one row per deal with a single global index, unlike the partitioned deals table
+    private static final String FIND_EXISTING_IDS_SQL = "SELECT deal_id FROM deal_keys WHERE deal_id = ANY(?)";
+
+    private static final String ALL_IDS_SQL = "SELECT deal_id FROM deal_keys";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Returns the subset of the given deal IDs that already exist, using a
+     * single query for the whole collection.
+     */
+    public Set<String> findExistingIds(Collection<String> dealIds) {
+        Set<String> existing = new HashSet<>();
+        if (dealIds.isEmpty()) {
+            return existing;
+        }
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(FIND_EXISTING_IDS_SQL);
+            ps.setArray(1, con.createArrayOf("varchar", dealIds.toArray()));
+            return ps;
+        }, rs -> {
+            existing.add(rs.getString(1));
+        });
+        return existing;
+    }
+
+    /**
+     * Inserts all deals as a single JDBC batch. Must be called inside a
+     * transaction; any constraint violation fails the whole batch.
+     */
+    public void insertAll(List<Deal> deals) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, deals, deals.size(), (ps, deal) -> {
+            ps.setString(1, deal.getDealId());
+            ps.setString(2, deal.getFromCurrency());
+            ps.setString(3, deal.getToCurrency());
+            ps.setObject(4, deal.getDealTimestamp());
+            ps.setLong(5, deal.getDealAmountUnscaled());
+        });
+    }
+
+    /**
+     * Streams every deal ID to the consumer, fetching {@code fetchSize} rows
+     * at a time. Must be called inside a transaction, otherwise the
+     * PostgreSQL driver ignores the fetch size and loads the whole result.
+     */
+    public void streamAllIds(int fetchSize, Consumer<String> consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(ALL_IDS_SQL);
+            ps.setFetchSize(fetchSize);
+            return ps;
+        }, rs -> {
+            consumer.accept(rs.getString(1));
+        });
+    }
+}
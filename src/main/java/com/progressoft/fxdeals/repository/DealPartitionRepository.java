@@ -0,0 +1,41 @@
+package com.progressoft.fxdeals.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+/**
+ * Calls the partition maintenance functions installed with the partitioned
+ * deals table.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DealPartitionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Creates the missing monthly partitions from {@code from} to {@code to}
+     * inclusive and returns how many were created. Rows already sitting in
+     * the default partition for those months are moved into them; writes to
+     * the deals table wait until the call returns.
+     */
+    public int createPartitions(LocalDate from, LocalDate to) {
+        Integer created = jdbcTemplate.queryForObject(
+                "SELECT ensure_deal_partitions(?, ?)", Integer.class, from, to);
+        return created == null ? 0 : created;
+    }
+
+    /**
+     * Drops the monthly partitions that end on or before {@code cutoff}, with
+     * the deal keys of their rows and their volume rollup buckets, and returns
+     * how many were dropped.
+     */
+    public int dropPartitionsBefore(LocalDate cutoff) {
+        Integer dropped = jdbcTemplate.queryForObject(
+                "SELECT drop_deal_partitions_before(?)", Integer.class, cutoff);
+        return dropped == null ? 0 : dropped;
+    }
+}
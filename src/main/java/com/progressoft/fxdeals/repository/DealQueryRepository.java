@@ -0,0 +1,138 @@
+package com.progressoft.fxdeals.repository;
+
+import com.progressoft.fxdeals.model.Deal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Read queries over the deals table, ordered by {@code (deal_timestamp, deal_id)}
+ * to match the query indexes. Timestamp bounds let PostgreSQL skip the
+ * partitions outside the range. A currency filter is served by an index only
+ * when both currencies are given; a single currency is applied to rows read
+ * through the timestamp index.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DealQueryRepository {
+
+    private static final String SELECT_SQL =
+            "SELECT deal_id, from_currency, to_currency, deal_timestamp, deal_amount FROM deals";
+
+    private static final String FIND_BY_ID_SQL =
+            "SELECT d.deal_id, d.from_currency, d.to_currency, d.deal_timestamp, d.deal_amount " +
+                    "FROM deal_keys k JOIN deals d ON d.deal_id = k.deal_id AND d.deal_timestamp = k.deal_timestamp " +
+                    "WHERE k.deal_id = ?";
+
+    static final RowMapper<Deal> DEAL_ROW_MAPPER = (rs, rowNum) -> Deal.builder()
+            .dealId(rs.getString("deal_id"))
+            .fromCurrency(rs.getString("from_currency"))
+            .toCurrency(rs.getString("to_currency"))
+            .dealTimestamp(rs.getObject("deal_timestamp", LocalDateTime.class))
+            .dealAmount(rs.getBigDecimal("deal_amount"))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Returns up to {@code limit} matching deals that sort after the given
+     * position, or from the start if {@code afterTimestamp} is {@code null}.
+     * Seeking past the position instead of using OFFSET keeps every page an
+     * index range scan, however deep the client pages.
+     */
+    public List<Deal> findPage(DealFilter filter, LocalDateTime afterTimestamp, String afterDealId, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> args = new ArrayList<>();
+        appendWhere(sql, args, filter);
+        if (afterTimestamp != null) {
+            // The row comparison alone does not prune partitions; the redundant bound on the key column does
+            sql.append(args.isEmpty() ? " WHERE" : " AND")
+                    .append(" deal_timestamp >= ? AND (deal_timestamp, deal_id) > (?, ?)");
+            args.add(afterTimestamp);
+            args.add(afterTimestamp);
+            args.add(afterDealId);
+        }
+        sql.append(" ORDER BY deal_timestamp, deal_id LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), DEAL_ROW_MAPPER, args.toArray());
+    }
+
+    /**
+     * Streams every matching deal to the consumer in query order, fetching
+     * {@code fetchSize} rows at a time from a server-side cursor. Must be
+     * called inside a transaction, otherwise the PostgreSQL driver ignores
+     * the fetch size and loads the whole result.
+     */
+    public void streamDeals(DealFilter filter, int fetchSize, Consumer<Deal> consumer) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> args = new ArrayList<>();
+        appendWhere(sql, args, filter);
+        sql.append(" ORDER BY deal_timestamp, deal_id");
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql.toString());
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+            return ps;
+        }, rs -> {
+            consumer.accept(DEAL_ROW_MAPPER.mapRow(rs, 0));
+        });
+    }
+
+    /**
+     * Returns the deal with the given ID. Its timestamp is read from the
+     * single global index of {@code deal_keys} and joined on, so PostgreSQL
+     * probes only the partition holding the deal instead of every partition.
+     */
+    public Optional<Deal> findById(String dealId) {
+        return jdbcTemplate.query(FIND_BY_ID_SQL, DEAL_ROW_MAPPER, dealId).stream().findFirst();
+    }
+
+    /**
+     * Returns the earliest deal timestamp, or {@code null} if there are no
+     * deals. Served from the head of the timestamp index.
+     */
+    public LocalDateTime findMinTimestamp() {
+        return jdbcTemplate.queryForObject("SELECT MIN(deal_timestamp) FROM deals", LocalDateTime.class);
+    }
+
+    /**
+     * Returns the latest deal timestamp, or {@code null} if there are no deals.
+     */
+    public LocalDateTime findMaxTimestamp() {
+        return jdbcTemplate.queryForObject("SELECT MAX(deal_timestamp) FROM deals", LocalDateTime.class);
+    }
+
+    static void appendWhere(StringBuilder sql, List<Object> args, DealFilter filter) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.fromCurrency() != null) {
+            conditions.add("from_currency = ?");
+            args.add(filter.fromCurrency());
+        }
+        if (filter.toCurrency() != null) {
+            conditions.add("to_currency = ?");
+            args.add(filter.toCurrency());
+        }
+        if (filter.from() != null) {
+            conditions.add("deal_timestamp >= ?");
+            args.add(filter.from());
+        }
+        if (filter.to() != null) {
+            conditions.add("deal_timestamp < ?");
+            args.add(filter.to());
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.progressoft.fxdeals.repository;
+
+import com.progressoft.fxdeals.model.Deal;
+import com.progressoft.fxdeals.util.ScaledAmount;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The {@code deal_volume_hourly} rollup: deal count and amount sum, min and
+ * max per currency pair and hour of the deal timestamp.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DealRollupRepository {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO deal_volume_hourly " +
+                    "(from_currency, to_currency, bucket_start, deal_count, amount_sum, amount_min, amount_max) " +
+                    "VALUES (?, ?, ?, ?, ?, ? * 0.0001, ? * 0.0001) " +
+                    "ON CONFLICT (from_currency, to_currency, bucket_start) DO UPDATE SET " +
+                    "deal_count = deal_volume_hourly.deal_count + EXCLUDED.deal_count, " +
+                    "amount_sum = deal_volume_hourly.amount_sum + EXCLUDED.amount_sum, " +
+                    "amount_min = LEAST(deal_volume_hourly.amount_min, EXCLUDED.amount_min), " +
+                    "amount_max = GREATEST(deal_volume_hourly.amount_max, EXCLUDED.amount_max)";
+
+    private static final String SUM_SQL =
+            "SELECT from_currency, to_currency, SUM(deal_count) AS deal_count, SUM(amount_sum) AS amount_sum, " +
+                    "MIN(amount_min) AS amount_min, MAX(amount_max) AS amount_max FROM deal_volume_hourly";
+
+    // Blocks the upserts of concurrent imports, which take ROW EXCLUSIVE, until the rebuild commits
+    private static final String LOCK_SQL = "LOCK TABLE deal_volume_hourly IN SHARE ROW EXCLUSIVE MODE";
+
+    private static final String DELETE_RANGE_SQL =
+            "DELETE FROM deal_volume_hourly WHERE bucket_start >= ? AND bucket_start < ?";
+
+    private static final String REBUILD_RANGE_SQL =
+            "INSERT INTO deal_volume_hourly " +
+                    "(from_currency, to_currency, bucket_start, deal_count, amount_sum, amount_min, amount_max) " +
+                    "SELECT from_currency, to_currency, date_trunc('hour', deal_timestamp), " +
+                    "COUNT(*), SUM(deal_amount), MIN(deal_amount), MAX(deal_amount) FROM deals " +
+                    "WHERE deal_timestamp >= ? AND deal_timestamp < ? GROUP BY 1, 2, 3";
+
+    /** Upserts in key order so concurrent batches lock shared buckets in the same order. */
+    private static final Comparator<BucketKey> KEY_ORDER = Comparator.comparing(BucketKey::fromCurrency)
+            .thenComparing(BucketKey::toCurrency)
+            .thenComparing(BucketKey::bucketStart);
+
+    private static final RowMapper<DealVolume> VOLUME_ROW_MAPPER = (rs, rowNum) -> new DealVolume(
+            rs.getString("from_currency"),
+            rs.getString("to_currency"),
+            rs.getLong("deal_count"),
+            rs.getBigDecimal("amount_sum"),
+            rs.getBigDecimal("amount_min"),
+            rs.getBigDecimal("amount_max"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds the deals to their hourly buckets with one upsert per bucket.
+     * Must be called in the transaction that inserts the deals, so the
+     * rollup commits or rolls back with them; calling it last keeps the
+     * bucket row locks for as short as possible.
+     */
+    public void addDeals(Collection<Deal> deals) {
+        if (deals.isEmpty()) {
+            return;
+        }
+
+        Map<BucketKey, Bucket> buckets = new TreeMap<>(KEY_ORDER);
+        for (Deal deal : deals) {
+            BucketKey key = new BucketKey(deal.getFromCurrency(), deal.getToCurrency(),
+                    deal.getDealTimestamp().truncatedTo(ChronoUnit.HOURS));
+            buckets.computeIfAbsent(key, k -> new Bucket()).add(deal.getDealAmountUnscaled());
+        }
+
+        List<Map.Entry<BucketKey, Bucket>> rows = new ArrayList<>(buckets.entrySet());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, rows.size(), (ps, row) -> {
+            BucketKey key = row.getKey();
+            Bucket bucket = row.getValue();
+            ps.setString(1, key.fromCurrency());
+            ps.setString(2, key.toCurrency());
+            ps.setObject(3, key.bucketStart());
+            ps.setLong(4, bucket.count);
+            ps.setBigDecimal(5, bucket.sum());
+            ps.setLong(6, bucket.min);
+            ps.setLong(7, bucket.max);
+        });
+    }
+
+    /**
+     * Totals the buckets that start in {@code [from, to)} per currency pair,
+     * ordered by pair. Null filter fields do not filter.
+     */
+    public List<DealVolume> sumByPair(DealFilter filter) {
+        StringBuilder sql = new StringBuilder(SUM_SQL);
+        List<Object> args = new ArrayList<>();
+        List<String> conditions = new ArrayList<>();
+        if (filter.fromCurrency() != null) {
+            conditions.add("from_currency = ?");
+            args.add(filter.fromCurrency());
+        }
+        if (filter.toCurrency() != null) {
+            conditions.add("to_currency = ?");
+            args.add(filter.toCurrency());
+        }
+        if (filter.from() != null) {
+            conditions.add("bucket_start >= ?");
+            args.add(filter.from());
+        }
+        if (filter.to() != null) {
+            conditions.add("bucket_start < ?");
+            args.add(filter.to());
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(" GROUP BY from_currency, to_currency ORDER BY from_currency, to_currency");
+        return jdbcTemplate.query(sql.toString(), VOLUME_ROW_MAPPER, args.toArray());
+    }
+
+    /**
+     * Recomputes the buckets in {@code [from, to)} from the deals table and
+     * returns how many were written. Both bounds must be whole hours. Must be
+     * called inside a transaction, which holds off concurrent
+     * {@link #addDeals} calls until it commits.
+     */
+    public int rebuild(LocalDateTime from, LocalDateTime to) {
+        jdbcTemplate.execute(LOCK_SQL);
+        jdbcTemplate.update(DELETE_RANGE_SQL, from, to);
+        return jdbcTemplate.update(REBUILD_RANGE_SQL, from, to);
+    }
+
+    private record BucketKey(String fromCurrency, String toCurrency, LocalDateTime bucketStart) {
+    }
+
+    private static final class Bucket {
+        private long count;
+        private long sum;
+        private BigDecimal overflowedSum; // set once the sum no longer fits a long
+        private long min = Long.MAX_VALUE;
+        private long max = Long.MIN_VALUE;
+
+        void add(long amountUnscaled) {
+            count++;
+            min = Math.min(min, amountUnscaled);
+            max = Math.max(max, amountUnscaled);
+            if (overflowedSum == null) {
+                try {
+                    sum = Math.addExact(sum, amountUnscaled);
+                    return;
+                } catch (ArithmeticException e) {
+                    overflowedSum = BigDecimal.valueOf(sum);
+                }
+            }
+            overflowedSum = overflowedSum.add(BigDecimal.valueOf(amountUnscaled));
+        }
+
+        BigDecimal sum() {
+            BigDecimal unscaled = overflowedSum != null ? overflowedSum : BigDecimal.valueOf(sum);
+            return unscaled.movePointLeft(ScaledAmount.SCALE);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.progressoft.fxdeals.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Deal count and amount totals of one currency pair over a time range.
+ */
+public record DealVolume(String fromCurrency, String toCurrency, long dealCount,
+                         BigDecimal totalAmount, BigDecimal minAmount, BigDecimal maxAmount) {
+}
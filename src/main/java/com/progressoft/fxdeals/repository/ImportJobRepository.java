@@ -0,0 +1,33 @@
+package com.progressoft.fxdeals.repository;
+
+import com.progressoft.fxdeals.model.ImportJob;
+import com.progressoft.fxdeals.model.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, String> {
+
+    List<ImportJob> findByStatusOrderByCreatedAt(ImportJobStatus status);
+
+    /**
+     * Records live counts for a job, but only while it is still running so a
+     * late update can never overwrite a finished job.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImportJob j SET j.rowsRead = :rowsRead, j.savedRecords = :saved, " +
+            "j.duplicateRecords = :duplicates, j.failedRecords = :failed " +
+            "WHERE j.jobId = :jobId AND j.status = com.progressoft.fxdeals.model.ImportJobStatus.RUNNING")
+    int updateProgress(@Param("jobId") String jobId,
+                       @Param("rowsRead") long rowsRead,
+                       @Param("saved") long saved,
+                       @Param("duplicates") long duplicates,
+                       @Param("failed") long failed);
+}
@@ -3,6 +3,25 @@ package com.progressoft.fxdeals.service;
 import com.progressoft.fxdeals.dto.ImportResultDTO;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.nio.file.Path;
+
 public interface CSVImporterService {
-    ImportResultDTO importDeals(MultipartFile file);
-}
\ No newline at end of file
+    default ImportResultDTO importDeals(MultipartFile file) {
+        return importDeals(file, ImportMode.BATCH);
+    }
+
+    ImportResultDTO importDeals(MultipartFile file, ImportMode mode);
+
+    /**
+     * Imports CSV content from a stream, updating {@code progress} as rows are
+     * read and written. The stream is not closed.
+     */
+    ImportResultDTO importDeals(InputStream in, String source, ImportMode mode, ImportProgress progress);
+
+    /**
+     * Imports a CSV file on the server's file system, reading it through
+     * memory-mapped segments.
+     */
+    ImportResultDTO importFile(Path file, ImportMode mode, ImportProgress progress);
+}
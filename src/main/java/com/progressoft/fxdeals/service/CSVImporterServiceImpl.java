@@ -1,19 +1,39 @@
 package com.progressoft.fxdeals.service;
 
+import com.progressoft.fxdeals.config.ImportProperties;
+import com.progressoft.fxdeals.csv.Compression;
+import com.progressoft.fxdeals.csv.CsvChunk;
+import com.progressoft.fxdeals.csv.CsvChunkSource;
+import com.progressoft.fxdeals.csv.CsvChunker;
+import com.progressoft.fxdeals.csv.MappedCsvChunkSource;
+import com.progressoft.fxdeals.csv.CsvRecordReader;
 import com.progressoft.fxdeals.dto.DealDTO;
 import com.progressoft.fxdeals.dto.ImportResultDTO;
-import com.progressoft.fxdeals.exception.ValidationException;
+import com.progressoft.fxdeals.exception.ImportQueueFullException;
 import com.progressoft.fxdeals.mapper.DealMapper;
 import com.progressoft.fxdeals.model.Deal;
+import com.progressoft.fxdeals.util.ValidationError;
 import com.progressoft.fxdeals.util.ValidationUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 
 @Service
 @RequiredArgsConstructor
@@ -21,89 +41,412 @@ import java.nio.charset.StandardCharsets;
 public class CSVImporterServiceImpl implements CSVImporterService {
 
     private final DealService dealService;
+    private final ImportProperties importProperties;
+    private final ForkJoinPool importParsePool;
+    private final ExecutorService importWritePool;
+    private final ImportReportStore importReportStore;
+    private final Semaphore importWritePermits;
 
     @Override
-    public ImportResultDTO importDeals(MultipartFile file) {
-        log.info("Starting import: {}", file.getOriginalFilename());
-        ImportResultDTO result = ImportResultDTO.builder().build();
+    public ImportResultDTO importDeals(MultipartFile file, ImportMode mode) {
+        try (InputStream in = file.getInputStream()) {
+            return importDeals(in, file.getOriginalFilename(), mode, new ImportProgress());
+        } catch (IOException e) {
+            log.error("Import failed", e);
+            ImportResultDTO result = ImportResultDTO.builder().build();
+            result.addError("Failed to process file: " + e.getMessage());
+            return result;
+        }
+    }
 
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+    /**
+     * Gzip and zstd input is recognised by its magic bytes and decompressed
+     * on the fly as the chunker reads it.
+     */
+    @Override
+    public ImportResultDTO importDeals(InputStream in, String source, ImportMode mode, ImportProgress progress) {
+        try {
+            return importChunks(new CsvChunker(Compression.decompress(in), chunkSize()), source, mode, progress);
+        } catch (IOException e) {
+            log.error("Import failed", e);
+            ImportResultDTO result = ImportResultDTO.builder().build();
+            result.addError("Failed to process file: " + e.getMessage());
+            return result;
+        }
+    }
 
-            String header = reader.readLine();
-            if (header == null) {
+    /**
+     * Plain files are memory-mapped; compressed files cannot be, so they are
+     * streamed through the decompressor instead.
+     */
+    @Override
+    public ImportResultDTO importFile(Path file, ImportMode mode, ImportProgress progress) {
+        try {
+            if (Compression.of(file) != Compression.NONE) {
+                try (InputStream in = Files.newInputStream(file)) {
+                    return importDeals(in, file.toString(), mode, progress);
+                }
+            }
+            progress.setTotalBytes(Files.size(file));
+            try (MappedCsvChunkSource chunks = new MappedCsvChunkSource(file, chunkSize())) {
+                return importChunks(chunks, file.toString(), mode, progress);
+            }
+        } catch (IOException e) {
+            log.error("Import failed", e);
+            ImportResultDTO result = ImportResultDTO.builder().build();
+            result.addError("Failed to process file: " + e.getMessage());
+            return result;
+        }
+    }
+
+    /**
+     * The input is cut into chunks on record boundaries. Chunks are parsed and
+     * validated in parallel on {@link #importParsePool}, while this thread
+     * keeps reading ahead and writes the validated rows of finished chunks in
+     * file order, so duplicates are still resolved first-occurrence-wins.
+     * Rows repeating an ID seen earlier in the same file are reported as
+     * duplicates before they reach the database.
+     * <p>
+     * Valid rows are sharded by deal ID across {@code fxdeals.import.writers}
+     * {@link DealWriter}s, each writing full batches on its own thread and
+     * connection while parsing continues; the writers of all imports share
+     * {@code fxdeals.import.max-active-writes} connections. Their queues are
+     * bounded, so a slow database holds back reading and parsing. Outcomes are reported in the
+     * order the batches were handed over, once each batch is written.
+     * <p>
+     * Row-level issues are counted in the result with a capped sample of
+     * messages; the full list goes to an {@link ImportReport} file, so the
+     * result stays the same size however many rows fail.
+     */
+    private ImportResultDTO importChunks(CsvChunkSource chunks, String source, ImportMode mode,
+                                         ImportProgress progress) {
+        log.info("Starting {} import: {}", mode, source);
+        ImportResultDTO result = ImportResultDTO.builder()
+                .writers(writerCount())
+                .build();
+
+        try (ImportReport report = importReportStore.open(result)) {
+            CsvChunk chunk = chunks.next();
+            if (chunk == null) {
                 result.addError("Empty file");
                 return result;
             }
 
-            String line;
-            int rowNumber = 1; // header = row 1
-            int totalRecords = 0;
+            DealIdSet seenIds = new DealIdSet(importProperties.getRepeatFilterMaxIds());
+            int maxInFlight = importParsePool.getParallelism() * 2;
+            Deque<Future<ParsedChunk>> inFlight = new ArrayDeque<>(maxInFlight);
+            WriterShards shards = new WriterShards(result.getWriters(), mode == ImportMode.COPY
+                    ? importProperties.getCopyChunkSize()
+                    : importProperties.getBatchSize(),
+                    importProperties.getWriteQueueCapacity(), mode);
+            boolean firstChunk = true;
+            boolean completed = false;
+
+            try {
+                while (chunk != null) {
+                    CsvChunk current = chunk;
+                    progress.addBytesRead(current.data().remaining());
+                    boolean hasHeader = firstChunk; // header = row 1
+                    inFlight.add(importParsePool.submit(() -> parseChunk(current, hasHeader)));
+                    firstChunk = false;
+
+                    if (inFlight.size() >= maxInFlight) {
+                        write(await(inFlight.poll()), seenIds, shards, result, report, progress);
+                    }
+                    reportWritten(shards.unreported, false, result, report, progress);
+                    chunk = chunks.next();
+                }
+                while (!inFlight.isEmpty()) {
+                    write(await(inFlight.poll()), seenIds, shards, result, report, progress);
+                    reportWritten(shards.unreported, false, result, report, progress);
+                }
+                shards.close();
+                reportWritten(shards.unreported, true, result, report, progress);
+                completed = true;
+            } finally {
+                inFlight.forEach(future -> future.cancel(true));
+                if (!completed) {
+                    shards.abort();
+                }
+            }
+
+            log.info("Import complete: {} successful, {} duplicates, {} failed",
+                    result.getSuccessfulRecords(),
+                    result.getDuplicateRecords(),
+                    result.getFailedRecords());
 
-            while ((line = reader.readLine()) != null) {
-                rowNumber++;
+            return result;
+
+        } catch (ImportQueueFullException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Import failed", e);
+            result.addError("Failed to process file: " + e.getMessage());
+            return result;
+        }
+    }
+
+    private int writerCount() {
+        return Math.max(1, importProperties.getWriters());
+    }
+
+    private int chunkSize() {
+        return (int) importProperties.getChunkSize().toBytes();
+    }
+
+    private ParsedChunk parseChunk(CsvChunk chunk, boolean hasHeader) throws IOException {
+        ParsedChunk parsed = new ParsedChunk();
+
+        try (CsvRecordReader reader = importProperties.getParser().open(chunk)) {
+            if (hasHeader && !reader.next()) {
+                return parsed;
+            }
+
+            while (reader.next()) {
+                int rowNumber = reader.rowNumber();
 
                 // Skip completely empty lines (don't count them)
-                if (line.trim().isEmpty()) {
+                if (reader.isBlank()) {
                     continue;
                 }
 
                 // Count this as a record
-                totalRecords++;
-
-                String[] fields = line.split(",", -1); // keep empty columns
+                parsed.result.incrementTotal();
 
                 // Check for correct number of columns
-                if (fields.length != 5) {
-                    result.incrementFailed();
-                    result.addError(String.format("Row %d: Unexpected number of columns", rowNumber));
+                if (reader.fieldCount() != 5) {
+                    String dealId = reader.fieldCount() > 0 ? reader.field(0) : null;
+                    parsed.reject(rowNumber, dealId, ValidationError.UNEXPECTED_COLUMN_COUNT, null);
                     continue;
                 }
 
                 DealDTO dto = DealDTO.builder()
-                        .dealId(fields[0])
-                        .fromCurrency(fields[1])
-                        .toCurrency(fields[2])
-                        .dealTimestamp(fields[3])
-                        .dealAmount(fields[4])
+                        .dealId(reader.field(0))
+                        .fromCurrency(reader.field(1))
+                        .toCurrency(reader.field(2))
+                        .dealTimestamp(reader.field(3))
+                        .dealAmount(reader.field(4))
                         .build();
 
-                processRow(dto, rowNumber, result);
+                processRow(dto, rowNumber, parsed);
             }
+        }
+        return parsed;
+    }
 
-            result.setTotalRecords(totalRecords);
+    private void processRow(DealDTO dealDTO, int rowNumber, ParsedChunk parsed) {
+        ValidationError error = ValidationUtil.validate(dealDTO);
+        if (error == null) {
+            parsed.deals.add(DealMapper.toEntity(dealDTO));
+            parsed.rowNumbers.add(rowNumber);
+            return;
+        }
 
-            log.info("Import complete: {} successful, {} duplicates, {} failed",
-                    result.getSuccessfulRecords(),
-                    result.getDuplicateRecords(),
-                    result.getFailedRecords());
+        parsed.reject(rowNumber, dealDTO.getDealId(), error, error.value(dealDTO));
+        log.debug("Row {} validation failed: {}", rowNumber, error);
+    }
 
-            return result;
+    private void write(ParsedChunk parsed, DealIdSet seenIds, WriterShards shards, ImportResultDTO result,
+                       ImportReport report, ImportProgress progress) throws InterruptedException {
+        result.merge(parsed.result);
+        for (RejectedRow rejected : parsed.rejected) {
+            ValidationError error = rejected.error();
+            report.error(rejected.rowNumber(), error.name(), error.column(), error.message(rejected.value()));
+            progress.recordRow(rejected.rowNumber(), rejected.dealId(), RowStatus.REJECTED, error.name());
+        }
+        progress.addRowsRead(parsed.result.getTotalRecords());
+        progress.addFailed(parsed.result.getFailedRecords());
 
-        } catch (Exception e) {
-            log.error("Import failed", e);
-            result.addError("Failed to process file: " + e.getMessage());
-            return result;
+        // Repeats go to the same writer as their first occurrence, which decides whether they are duplicates
+        for (int i = 0; i < parsed.deals.size(); i++) {
+            Deal deal = parsed.deals.get(i);
+            shards.add(deal, parsed.rowNumbers.get(i), seenIds.isRepeat(deal.getDealId()));
+        }
+    }
+
+    /**
+     * Reports the outcomes of written batches in hand-over order, stopping at
+     * the first batch still being written unless {@code waitForAll} is set.
+     */
+    private static void reportWritten(Deque<DealWriter.Batch> unreported, boolean waitForAll,
+                                      ImportResultDTO result, ImportReport report, ImportProgress progress)
+            throws IOException, InterruptedException {
+        while (!unreported.isEmpty() && (waitForAll || unreported.peek().outcomes.isDone())) {
+            DealWriter.Batch batch = unreported.poll();
+            report(batch, await(batch.outcomes), result, report, progress);
         }
     }
 
-    private void processRow(DealDTO dealDTO, int rowNumber, ImportResultDTO result) {
+    private static void report(DealWriter.Batch batch, List<SaveOutcome> outcomes, ImportResultDTO result,
+                               ImportReport report, ImportProgress progress) {
+        for (int i = 0; i < outcomes.size(); i++) {
+            int rowNumber = batch.rowNumbers.get(i);
+            String dealId = batch.deals.get(i).getDealId();
+
+            switch (outcomes.get(i)) {
+                case SAVED -> {
+                    result.incrementSuccessful();
+                    progress.incrementSaved();
+                    progress.recordRow(rowNumber, dealId, RowStatus.SAVED, null);
+                }
+                case DUPLICATE -> reportDuplicate(rowNumber, dealId, result, report, progress);
+                case FAILED -> {
+                    result.incrementFailed();
+                    progress.addFailed(1);
+                    report.error(rowNumber, ImportReport.SAVE_FAILED, null,
+                            String.format("Failed to save deal '%s'", dealId));
+                    progress.recordRow(rowNumber, dealId, RowStatus.FAILED, ImportReport.SAVE_FAILED);
+                }
+            }
+        }
+    }
+
+    private static void reportDuplicate(int rowNumber, String dealId, ImportResultDTO result,
+                                        ImportReport report, ImportProgress progress) {
+        result.incrementDuplicate();
+        progress.incrementDuplicates();
+        report.warning(rowNumber, ImportReport.DUPLICATE_DEAL_ID, String.format("Duplicate deal ID '%s'", dealId));
+        progress.recordRow(rowNumber, dealId, RowStatus.DUPLICATE, ImportReport.DUPLICATE_DEAL_ID);
+    }
+
+    private static <T> T await(Future<T> future) throws IOException, InterruptedException {
         try {
-            ValidationUtil.validateDeal(dealDTO);
-            Deal deal = DealMapper.toEntity(dealDTO);
-
-            boolean saved = dealService.saveDeal(deal);
-            if (saved) {
-                result.incrementSuccessful();
-            } else {
-                result.incrementDuplicate();
-                result.addWarning(String.format("Row %d: Duplicate deal ID '%s'", rowNumber, dealDTO.getDealId()));
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
             }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Outcome of parsing and validating one chunk: the row counts, the
+     * rejected rows, and the valid deals with the rows they came from.
+     */
+    private static final class ParsedChunk {
+        private final ImportResultDTO result = ImportResultDTO.builder().build();
+        private final List<RejectedRow> rejected = new ArrayList<>();
+        private final List<Deal> deals = new ArrayList<>();
+        private final List<Integer> rowNumbers = new ArrayList<>();
 
-        } catch (ValidationException e) {
+        private void reject(int rowNumber, String dealId, ValidationError error, String value) {
             result.incrementFailed();
-            result.addError(String.format("Row %d: %s", rowNumber, e.getMessage()));
-            log.error("Row {} validation failed: {}", rowNumber, e.getMessage());
+            rejected.add(new RejectedRow(rowNumber, dealId, error, value));
+        }
+    }
+
+    /**
+     * A row that failed validation. Its message is only rendered when the
+     * chunk is merged into the import report.
+     */
+    private record RejectedRow(int rowNumber, String dealId, ValidationError error, String value) {
+    }
+
+    /**
+     * One pending batch and one {@link DealWriter} per shard. A deal ID always
+     * maps to the same shard, so its occurrences are written in file order by
+     * one thread and two writers never insert the same key.
+     */
+    private final class WriterShards {
+        private final PendingBatch[] pending;
+        private final DealWriter[] writers;
+        private final Deque<DealWriter.Batch> unreported = new ArrayDeque<>();
+
+        private WriterShards(int count, int batchSize, int queueCapacity, ImportMode mode) {
+            this.pending = new PendingBatch[count];
+            this.writers = new DealWriter[count];
+            for (int i = 0; i < count; i++) {
+                pending[i] = new PendingBatch(batchSize);
+                try {
+                    writers[i] = new DealWriter(dealService, mode, queueCapacity, importWritePermits, importWritePool);
+                } catch (RejectedExecutionException e) {
+                    for (int started = 0; started < i; started++) {
+                        writers[started].abort();
+                    }
+                    throw new ImportQueueFullException("Too many imports are writing, please retry later", e);
+                }
+            }
+        }
+
+        private void add(Deal deal, int rowNumber, boolean repeat) throws InterruptedException {
+            int hash = deal.getDealId().hashCode();
+            int shard = Math.floorMod(hash ^ (hash >>> 16), pending.length);
+            pending[shard].add(deal, rowNumber, repeat);
+            if (pending[shard].isFull()) {
+                submit(shard);
+            }
+        }
+
+        private void submit(int shard) throws InterruptedException {
+            if (pending[shard].deals.isEmpty()) {
+                return;
+            }
+            DealWriter.Batch batch = pending[shard].handOff();
+            unreported.add(batch);
+            writers[shard].submit(batch);
+        }
+
+        /**
+         * Hands over the remaining partial batches and lets the writers stop
+         * once everything is written.
+         */
+        private void close() throws InterruptedException {
+            for (int shard = 0; shard < writers.length; shard++) {
+                submit(shard);
+                writers[shard].close();
+            }
+        }
+
+        private void abort() {
+            for (DealWriter writer : writers) {
+                writer.abort();
+            }
+        }
+    }
+
+    /**
+     * Validated deals waiting to be handed to the writer, together with the
+     * CSV row each one came from so that outcomes can be reported against the
+     * file.
+     */
+    private static final class PendingBatch {
+        private final int capacity;
+        private List<Deal> deals;
+        private List<Integer> rowNumbers;
+        private BitSet repeats = new BitSet();
+
+        private PendingBatch(int capacity) {
+            this.capacity = Math.max(1, capacity);
+            this.deals = new ArrayList<>(this.capacity);
+            this.rowNumbers = new ArrayList<>(this.capacity);
+        }
+
+        private void add(Deal deal, int rowNumber, boolean repeat) {
+            if (repeat) {
+                repeats.set(deals.size());
+            }
+            deals.add(deal);
+            rowNumbers.add(rowNumber);
+        }
+
+        private boolean isFull() {
+            return deals.size() >= capacity;
+        }
+
+        /**
+         * Returns the collected deals as a batch and starts new lists, since
+         * the writer reads the old ones on another thread.
+         */
+        private DealWriter.Batch handOff() {
+            DealWriter.Batch batch = new DealWriter.Batch(deals, rowNumbers, repeats);
+            deals = new ArrayList<>(capacity);
+            rowNumbers = new ArrayList<>(capacity);
+            repeats = new BitSet();
+            return batch;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,41 @@
+package com.progressoft.fxdeals.service;
+
+import com.progressoft.fxdeals.exception.ValidationException;
+import com.progressoft.fxdeals.model.Deal;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last deal of a page in {@code (deal_timestamp, deal_id)}
+ * order, handed to clients as an opaque URL-safe token.
+ */
+public record DealCursor(LocalDateTime dealTimestamp, String dealId) {
+
+    public static DealCursor after(Deal deal) {
+        return new DealCursor(deal.getDealTimestamp(), deal.getDealId());
+    }
+
+    public String encode() {
+        byte[] bytes = (dealTimestamp + "|" + dealId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * @throws ValidationException if the token was not produced by {@link #encode()}
+     */
+    public static DealCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf('|');
+            if (separator < 0) {
+                throw new ValidationException("Invalid cursor: " + token);
+            }
+            return new DealCursor(LocalDateTime.parse(value.substring(0, separator)), value.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.progressoft.fxdeals.service;
+
+import com.progressoft.fxdeals.repository.DealFilter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public interface DealExportService {
+
+    /**
+     * Validates the filter and returns a body that writes the matching deals
+     * as CSV in the import file layout, gzip-compressed if requested.
+     *
+     * @throws com.progressoft.fxdeals.exception.ValidationException on an invalid filter
+     */
+    StreamingResponseBody export(DealFilter filter, boolean gzip);
+}
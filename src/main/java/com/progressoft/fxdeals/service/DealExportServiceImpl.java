@@ -0,0 +1,124 @@
+package com.progressoft.fxdeals.service;
+
+import com.progressoft.fxdeals.config.QueryProperties;
+import com.progressoft.fxdeals.model.Deal;
+import com.progressoft.fxdeals.repository.DealFilter;
+import com.progressoft.fxdeals.repository.DealQueryRepository;
+import com.progressoft.fxdeals.util.ScaledAmount;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes deals straight from a database cursor to the response. Only one row
+ * and the output buffers are held in memory at a time, whatever the size of
+ * the export.
+ */
+@Service
+@Slf4j
+public class DealExportServiceImpl implements DealExportService {
+
+    static final String HEADER = "dealId,fromCurrency,toCurrency,dealTimestamp,dealAmount";
+
+    /** The timestamp format the importer accepts. */
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DealQueryRepository dealQueryRepository;
+    private final QueryProperties queryProperties;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public DealExportServiceImpl(DealQueryRepository dealQueryRepository, QueryProperties queryProperties,
+                                 PlatformTransactionManager transactionManager) {
+        this.dealQueryRepository = dealQueryRepository;
+        this.queryProperties = queryProperties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public StreamingResponseBody export(DealFilter filter, boolean gzip) {
+        DealFilter normalized = DealQueryServiceImpl.normalize(filter);
+        return out -> write(normalized, gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out);
+    }
+
+    private void write(DealFilter filter, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(HEADER);
+        writer.write('\n');
+
+        StringBuilder row = new StringBuilder(128);
+        long[] rows = {0};
+        try {
+            readOnlyTransaction.executeWithoutResult(status ->
+                    dealQueryRepository.streamDeals(filter, queryProperties.getExportFetchSize(), deal -> {
+                        row.setLength(0);
+                        appendRow(row, deal);
+                        try {
+                            writer.append(row);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        rows[0]++;
+                    }));
+        } catch (UncheckedIOException e) {
+            log.warn("Deal export aborted after {} rows: {}", rows[0], e.getCause().getMessage());
+            throw e.getCause();
+        }
+
+        writer.flush();
+        if (out instanceof GZIPOutputStream gzip) {
+            gzip.finish();
+        }
+        log.info("Exported {} deals", rows[0]);
+    }
+
+    static void appendRow(StringBuilder row, Deal deal) {
+        appendField(row, deal.getDealId());
+        row.append(',')
+                .append(deal.getFromCurrency()).append(',')
+                .append(deal.getToCurrency()).append(',');
+        TIMESTAMP_FORMAT.formatTo(deal.getDealTimestamp(), row);
+        row.append(',');
+        ScaledAmount.append(row, deal.getDealAmountUnscaled())
+                .append('\n');
+    }
+
+    /**
+     * Quotes the value only if it needs it, so plain IDs stay readable by the
+     * {@code SPLIT} parser as well.
+     */
+    private static void appendField(StringBuilder row, String value) {
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuotes) {
+            row.append(value);
+            return;
+        }
+        row.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                row.append('"');
+            }
+            row.append(c);
+        }
+        row.append('"');
+    }
+}
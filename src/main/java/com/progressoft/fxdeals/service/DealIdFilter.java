@@ -0,0 +1,173 @@
+package com.progressoft.fxdeals.service;
+
+import com.progressoft.fxdeals.config.DealIdFilterProperties;
+import com.progressoft.fxdeals.model.Deal;
+import com.progressoft.fxdeals.repository.DealJdbcRepository;
+import com.progressoft.fxdeals.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bloom filter over the IDs already in the deals table. Batches only ask the
+ * database about IDs the filter might contain; IDs it has never seen skip the
+ * existence query. The filter is built at startup by streaming the key column
+ * and is updated after every committed insert. Until it has loaded, or if
+ * loading fails, every ID is treated as possibly existing.
+ */
+@Component
+@Slf4j
+public class DealIdFilter implements DealInsertListener {
+
+    private final DealJdbcRepository dealJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DealIdFilterProperties properties;
+
+    private final Counter absentLookups;
+    private final Counter possibleLookups;
+    private final Counter falsePositives;
+    private final LongAdder entries = new LongAdder();
+
+    private volatile BloomFilter filter;
+    private volatile boolean ready;
+    private volatile long loadMillis;
+
+    public DealIdFilter(DealJdbcRepository dealJdbcRepository, TransactionTemplate transactionTemplate,
+                        DealIdFilterProperties properties, MeterRegistry meterRegistry) {
+        this.dealJdbcRepository = dealJdbcRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+
+        this.absentLookups = Counter.builder("fxdeals.deal.filter.lookups")
+                .tag("result", "absent")
+                .description("Deal IDs the filter ruled out, skipping the existence query")
+                .register(meterRegistry);
+        this.possibleLookups = Counter.builder("fxdeals.deal.filter.lookups")
+                .tag("result", "possible")
+                .description("Deal IDs the filter might contain, checked against the database")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("fxdeals.deal.filter.false.positives")
+                .description("Deal IDs the filter might contain that turned out not to exist")
+                .register(meterRegistry);
+
+        Gauge.builder("fxdeals.deal.filter.hit.ratio", this, DealIdFilter::hitRatio)
+                .description("Share of lookups answered by the filter alone")
+                .register(meterRegistry);
+        Gauge.builder("fxdeals.deal.filter.entries", entries, LongAdder::sum)
+                .description("Deal IDs added to the filter, including re-added ones")
+                .register(meterRegistry);
+        Gauge.builder("fxdeals.deal.filter.memory", this, DealIdFilter::sizeInBytes)
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+        TimeGauge.builder("fxdeals.deal.filter.load.time", this, TimeUnit.MILLISECONDS, filter -> filter.loadMillis)
+                .description("Time taken to load the persisted deal IDs at startup")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The filter is published before the table is streamed, so IDs committed
+     * while it loads are recorded too.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!properties.isEnabled()) {
+            log.info("Deal ID filter disabled, duplicate checks will query the database");
+            return;
+        }
+
+        BloomFilter loading = BloomFilter.create(properties.getExpectedDeals(), properties.getFalsePositiveRate());
+        filter = loading;
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    dealJdbcRepository.streamAllIds(properties.getFetchSize(), dealId -> {
+                        loading.put(dealId);
+                        entries.increment();
+                    }));
+        } catch (DataAccessException e) {
+            filter = null;
+            log.warn("Could not load deal ID filter, duplicate checks will query the database: {}",
+                    e.getMostSpecificCause().getMessage());
+            return;
+        }
+
+        loadMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        ready = true;
+        log.info("Loaded {} deal IDs into filter in {} ms ({} KB, {} hash functions)",
+                entries.sum(), loadMillis, loading.sizeInBytes() / 1024, loading.hashCount());
+        if (entries.sum() > properties.getExpectedDeals()) {
+            log.warn("Deal table holds more IDs than the filter is sized for ({}); "
+                    + "raise fxdeals.deal-id-filter.expected-deals", properties.getExpectedDeals());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns {@code false} only if the ID is certainly not in the deals
+     * table.
+     */
+    public boolean mightExist(String dealId) {
+        if (!ready) {
+            return true;
+        }
+        if (filter.mightContain(dealId)) {
+            possibleLookups.increment();
+            return true;
+        }
+        absentLookups.increment();
+        return false;
+    }
+
+    /**
+     * Records an ID whose insert has been committed.
+     */
+    public void recordInserted(String dealId) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(dealId);
+            entries.increment();
+        }
+    }
+
+    @Override
+    public void dealsInserted(List<Deal> deals) {
+        for (Deal deal : deals) {
+            recordInserted(deal.getDealId());
+        }
+    }
+
+    /**
+     * Records IDs the filter passed on that the database did not have.
+     */
+    public void recordFalsePositives(int count) {
+        if (ready && count > 0) {
+            falsePositives.increment(count);
+        }
+    }
+
+    private double hitRatio() {
+        double absent = absentLookups.count();
+        double total = absent + possibleLookups.count();
+        return total == 0 ? 0 : absent / total;
+    }
+
+    private long sizeInBytes() {
+        BloomFilter current = filter;
+        return current == null ? 0 : current.sizeInBytes();
+    }
+}
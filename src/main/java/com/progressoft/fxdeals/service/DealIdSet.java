@@ -0,0 +1,182 @@
+package com.progressoft.fxdeals.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The deal IDs seen so far in one import, so that a row repeating an earlier
+ * ID can be reported as a duplicate without any database work.
+ * <p>
+ * Each table slot is a single {@code long}: the upper half of the ID's 64-bit
+ * hash as a tag, and the offset of the ID's bytes in an append-only arena.
+ * The lower hash bits pick the slot. When a tag matches, the stored bytes are
+ * compared with the ID, so two different IDs are never confused even if
+ * their hashes collide.
+ * <p>
+ * Memory is 8 bytes per table slot plus the ID length + 1 byte per ID in the
+ * arena. The table doubles when it is 3/4 full. At 10M ten-character IDs that
+ * is a 16M-slot table (128 MiB) and about 110 MB of arena. Once
+ * {@code maxIds} IDs are held, further IDs are not recorded. IDs the arena
+ * cannot hold (non-Latin-1, or longer than 255 characters) are not recorded
+ * either. Repeats of unrecorded IDs are left to the database's duplicate
+ * check. Not thread-safe.
+ */
+final class DealIdSet {
+
+    private static final int INITIAL_CAPACITY = 1 << 12;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final int MAX_ID_LENGTH = 255;
+
+    private static final int PAGE_BITS = 20;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int MAX_PAGES = 1 << (31 - PAGE_BITS);
+
+    private final int maxIds;
+    private final List<byte[]> pages = new ArrayList<>();
+    private long[] slots;
+    private int size;
+    private int pageOffset = PAGE_SIZE;
+
+    DealIdSet(int maxIds) {
+        this.maxIds = Math.max(0, Math.min(maxIds, MAX_CAPACITY / 4 * 3));
+        this.slots = new long[this.maxIds > 0 ? INITIAL_CAPACITY : 1];
+    }
+
+    /**
+     * Returns {@code true} if the ID was seen before. Otherwise records it,
+     * if there is room, and returns {@code false}.
+     */
+    boolean isRepeat(String dealId) {
+        int length = dealId.length();
+        if (maxIds == 0 || length > MAX_ID_LENGTH) {
+            return false;
+        }
+
+        long hash = hash(dealId);
+        int tag = (int) (hash >>> 32);
+        int mask = slots.length - 1;
+        int index = (int) hash & mask;
+
+        for (long slot = slots[index]; slot != 0; slot = slots[index]) {
+            if ((int) (slot >>> 32) == tag && matches((int) slot - 1, dealId)) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+
+        if (size >= maxIds) {
+            return false;
+        }
+        int offset = store(dealId);
+        if (offset < 0) {
+            return false;
+        }
+
+        slots[index] = ((long) tag << 32) | (offset + 1L);
+        if (++size > slots.length / 4 * 3) {
+            grow();
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private boolean matches(int offset, String dealId) {
+        byte[] page = pages.get(offset >>> PAGE_BITS);
+        int pos = offset & (PAGE_SIZE - 1);
+        int length = page[pos] & 0xFF;
+        if (length != dealId.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if ((page[pos + 1 + i] & 0xFF) != dealId.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Appends the ID to the arena as a length byte followed by its Latin-1
+     * bytes. Returns its offset, or -1 if it cannot be stored.
+     */
+    private int store(String dealId) {
+        int length = dealId.length();
+        for (int i = 0; i < length; i++) {
+            if (dealId.charAt(i) > 0xFF) {
+                return -1;
+            }
+        }
+
+        if (pageOffset + 1 + length > PAGE_SIZE) {
+            if (pages.size() == MAX_PAGES) {
+                return -1;
+            }
+            pages.add(new byte[PAGE_SIZE]);
+            pageOffset = 0;
+        }
+
+        byte[] page = pages.get(pages.size() - 1);
+        int offset = ((pages.size() - 1) << PAGE_BITS) | pageOffset;
+        page[pageOffset++] = (byte) length;
+        for (int i = 0; i < length; i++) {
+            page[pageOffset++] = (byte) dealId.charAt(i);
+        }
+        return offset;
+    }
+
+    /**
+     * Doubles the table. Only the upper hash bits are kept in the slots, so
+     * each ID's hash is recomputed from its arena bytes.
+     */
+    private void grow() {
+        if (slots.length == MAX_CAPACITY) {
+            return;
+        }
+
+        long[] grown = new long[slots.length * 2];
+        int mask = grown.length - 1;
+        for (long slot : slots) {
+            if (slot == 0) {
+                continue;
+            }
+            int offset = (int) slot - 1;
+            byte[] page = pages.get(offset >>> PAGE_BITS);
+            int pos = offset & (PAGE_SIZE - 1);
+
+            int index = (int) hash(page, pos + 1, page[pos] & 0xFF) & mask;
+            while (grown[index] != 0) {
+                index = (index + 1) & mask;
+            }
+            grown[index] = slot;
+        }
+        slots = grown;
+    }
+
+    private static long hash(String dealId) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < dealId.length(); i++) {
+            hash = (hash ^ dealId.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long hash(byte[] bytes, int from, int length) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = from; i < from + length; i++) {
+            hash = (hash ^ (bytes[i] & 0xFF)) * 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /** FNV-1a spreads poorly into the low bits; finish with the murmur3 mixer. */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+}
@@ -0,0 +1,18 @@
+package com.progressoft.fxdeals.service;
+
+import com.progressoft.fxdeals.model.Deal;
+
+import java.util.List;
+
+/**
+ * Told about deals once the transaction inserting them has committed, so
+ * in-memory views of the deals table stay in step with the import write path.
+ */
+public interface DealInsertListener {
+
+    /**
+     * Called after commit with the deals the transaction inserted, never with
+     * duplicates that were skipped.
+     */
+    void dealsInserted(List<Deal> deals);
+}
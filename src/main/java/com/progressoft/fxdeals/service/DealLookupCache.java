@@ -0,0 +1,84 @@
+package com.progressoft.fxdeals.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.progressoft.fxdeals.config.QueryProperties;
+import com.progressoft.fxdeals.dto.DealResponseDTO;
+import com.progressoft.fxdeals.model.Deal;
+import com.progressoft.fxdeals.repository.DealQueryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Size- and TTL-bounded cache of deal lookups by ID, misses included, in
+ * front of {@link DealQueryRepository#findById}. Hits, misses and evictions are
+ * published as the {@code fxdeals.deal.lookup} cache metrics.
+ */
+@Component
+public class DealLookupCache implements DealInsertListener {
+
+    static final String CACHE_NAME = "fxdeals.deal.lookup";
+
+    private final DealQueryRepository dealQueryRepository;
+    private final Cache<String, Optional<CachedDeal>> cache;
+
+    public DealLookupCache(DealQueryRepository dealQueryRepository, QueryProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.dealQueryRepository = dealQueryRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getLookupCacheSize())
+                .expireAfterWrite(properties.getLookupCacheTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the deal with the given ID, loading it on a miss. Concurrent
+     * lookups of the same uncached ID share one database query. Each call
+     * returns its own DTO, so callers can never alter the cached deal.
+     */
+    public Optional<DealResponseDTO> find(String dealId) {
+        return cache.get(dealId, id -> dealQueryRepository.findById(id).map(CachedDeal::of))
+                .map(CachedDeal::toResponse);
+    }
+
+    /**
+     * Refreshes only the IDs already cached, which turns cached misses into
+     * hits. Adding every imported deal would let a large import evict the
+     * hot entries. A lookup loading the same ID meanwhile is waited for, so a
+     * miss read just before the commit is not left behind.
+     */
+    @Override
+    public void dealsInserted(List<Deal> deals) {
+        for (Deal deal : deals) {
+            cache.asMap().computeIfPresent(deal.getDealId(), (id, cached) -> Optional.of(CachedDeal.of(deal)));
+        }
+    }
+
+    /** Immutable copy of a deal as held in the cache. */
+    private record CachedDeal(String dealId, String fromCurrency, String toCurrency,
+                              LocalDateTime dealTimestamp, BigDecimal dealAmount) {
+
+        static CachedDeal of(Deal deal) {
+            return new CachedDeal(deal.getDealId(), deal.getFromCurrency(), deal.getToCurrency(),
+                    deal.getDealTimestamp(), deal.getDealAmount());
+        }
+
+        DealResponseDTO toResponse() {
+            return DealResponseDTO.builder()
+                    .dealId(dealId)
+                    .fromCurrency(fromCurrency)
+                    .toCurrency(toCurrency)
+                    .dealTimestamp(dealTimestamp)
+                    .dealAmount(dealAmount)
+                    .build();
+        }
+    }
+}
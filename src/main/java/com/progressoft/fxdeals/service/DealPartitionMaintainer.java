@@ -0,0 +1,57 @@
+package com.progressoft.fxdeals.service;
+
+import com.progressoft.fxdeals.config.PartitionProperties;
+import com.progressoft.fxdeals.repository.DealPartitionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Keeps the monthly partitions of the deals table ahead of incoming deals and,
+ * if a retention period is set, drops the ones that fell out of it. Runs at
+ * startup and then on {@code fxdeals.partitions.cron}, daily by default.
+ */
+@Component
+@ConditionalOnProperty(prefix = "fxdeals.partitions", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class DealPartitionMaintainer {
+
+    private final DealPartitionRepository dealPartitionRepository;
+    private final PartitionProperties partitionProperties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${fxdeals.partitions.cron:0 0 1 * * *}")
+    public void maintain() {
+        maintain(LocalDate.now());
+    }
+
+    void maintain(LocalDate today) {
+        LocalDate thisMonth = today.withDayOfMonth(1);
+        try {
+            int created = dealPartitionRepository.createPartitions(
+                    thisMonth, thisMonth.plusMonths(partitionProperties.getMonthsAhead()));
+            if (created > 0) {
+                log.info("Created {} deal partitions", created);
+            }
+
+            if (partitionProperties.getRetentionMonths() > 0) {
+                int dropped = dealPartitionRepository.dropPartitionsBefore(
+                        thisMonth.minusMonths(partitionProperties.getRetentionMonths()));
+                if (dropped > 0) {
+                    log.info("Dropped {} deal partitions older than {} months",
+                            dropped, partitionProperties.getRetentionMonths());
+                }
+            }
+        } catch (DataAccessException e) {
+            log.error("Deal partition maintenance failed: {}", e.getMostSpecificCause().getMessage());
+        }
+    }
+}
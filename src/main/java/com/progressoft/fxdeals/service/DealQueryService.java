@@ -0,0 +1,25 @@
+package com.progressoft.fxdeals.service;
+
+import com.progressoft.fxdeals.dto.DealPageDTO;
+import com.progressoft.fxdeals.dto.DealResponseDTO;
+import com.progressoft.fxdeals.repository.DealFilter;
+
+public interface DealQueryService {
+
+    /**
+     * Returns the page of deals matching {@code filter} that follows
+     * {@code cursor}, or the first page if it is {@code null}.
+     *
+     * @param limit page size, or {@code null} for the default
+     * @throws com.progressoft.fxdeals.exception.ValidationException on an invalid filter, cursor or limit
+     */
+    DealPageDTO findDeals(DealFilter filter, String cursor, Integer limit);
+
+    /**
+     * Returns the deal with the given ID, served from the lookup cache when
+     * it was looked up recently.
+     *
+     * @throws com.progressoft.fxdeals.exception.DealNotFoundException if no deal has the ID
+     */
+    DealResponseDTO findDeal(String dealId);
+}
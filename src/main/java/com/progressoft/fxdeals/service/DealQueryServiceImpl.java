@@ -0,0 +1,88 @@
+package com.progressoft.fxdeals.service;
+
+import com.progressoft.fxdeals.config.QueryProperties;
+import com.progressoft.fxdeals.dto.DealPageDTO;
+import com.progressoft.fxdeals.dto.DealResponseDTO;
+import com.progressoft.fxdeals.exception.DealNotFoundException;
+import com.progressoft.fxdeals.exception.ValidationException;
+import com.progressoft.fxdeals.mapper.DealMapper;
+import com.progressoft.fxdeals.model.Deal;
+import com.progressoft.fxdeals.repository.DealFilter;
+import com.progressoft.fxdeals.repository.DealQueryRepository;
+import com.progressoft.fxdeals.util.CurrencyCodes;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class DealQueryServiceImpl implements DealQueryService {
+
+    private final DealQueryRepository dealQueryRepository;
+    private final QueryProperties queryProperties;
+    private final DealLookupCache dealLookupCache;
+
+    /**
+     * Fetches one row more than the page size to learn whether another page
+     * follows without a count query.
+     */
+    @Override
+    public DealPageDTO findDeals(DealFilter filter, String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+        DealFilter normalized = normalize(filter);
+        DealCursor after = cursor == null || cursor.isBlank() ? null : DealCursor.decode(cursor);
+
+        List<Deal> deals = dealQueryRepository.findPage(normalized,
+                after == null ? null : after.dealTimestamp(),
+                after == null ? null : after.dealId(),
+                pageSize + 1);
+
+        String nextCursor = null;
+        if (deals.size() > pageSize) {
+            deals = deals.subList(0, pageSize);
+            nextCursor = DealCursor.after(deals.get(pageSize - 1)).encode();
+        }
+        return new DealPageDTO(deals.stream().map(DealMapper::toResponse).toList(), nextCursor);
+    }
+
+    @Override
+    public DealResponseDTO findDeal(String dealId) {
+        return dealLookupCache.find(dealId)
+                .orElseThrow(() -> new DealNotFoundException("Deal not found: " + dealId));
+    }
+
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return queryProperties.getDefaultPageSize();
+        }
+        if (limit < 1 || limit > queryProperties.getMaxPageSize()) {
+            throw new ValidationException(
+                    "Limit must be between 1 and " + queryProperties.getMaxPageSize() + ": " + limit);
+        }
+        return limit;
+    }
+
+    /**
+     * Validates the filter and upper-cases its currency codes, which are
+     * stored upper case.
+     */
+    static DealFilter normalize(DealFilter filter) {
+        if (filter.from() != null && filter.to() != null && !filter.from().isBefore(filter.to())) {
+            throw new ValidationException("'from' must be before 'to'");
+        }
+        return new DealFilter(currency(filter.fromCurrency()), currency(filter.toCurrency()),
+                filter.from(), filter.to());
+    }
+
+    private static String currency(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        int index = CurrencyCodes.indexOf(value);
+        if (index == CurrencyCodes.INVALID_FORMAT || !CurrencyCodes.isAccepted(index)) {
+            throw new ValidationException("Invalid currency code: '" + value + "'");
+        }
+        return CurrencyCodes.code(index);
+    }
+}
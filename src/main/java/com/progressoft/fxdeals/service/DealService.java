@@ -2,6 +2,20 @@ package com.progressoft.fxdeals.service;
 
 import com.progressoft.fxdeals.model.Deal;
 
+import java.util.List;
+
 public interface DealService {
     boolean saveDeal(Deal deal);
-}
\ No newline at end of file
+
+    /**
+     * Persists the given deals in batches and returns one outcome per deal,
+     * in the same order as the input.
+     */
+    List<SaveOutcome> saveDeals(List<Deal> deals);
+
+    /**
+     * Persists the given deals through the PostgreSQL COPY staging path and
+     * returns one outcome per deal, in the same order as the input.
+     */
+    List<SaveOutcome> saveDealsByCopy(List<Deal> deals);
+}
@@ -1,37 +1,255 @@
 package com.progressoft.fxdeals.service;
 
+import com.progressoft.fxdeals.config.ImportProperties;
 import com.progressoft.fxdeals.model.Deal;
+import com.progressoft.fxdeals.repository.DealCopyRepository;
+import com.progressoft.fxdeals.repository.DealJdbcRepository;
 import com.progressoft.fxdeals.repository.DealRepository;
-import lombok.RequiredArgsConstructor;
+import com.progressoft.fxdeals.repository.DealRollupRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class DealServiceImpl implements DealService {
 
     private final DealRepository dealRepository;
+    private final DealJdbcRepository dealJdbcRepository;
+    private final DealCopyRepository dealCopyRepository;
+    private final DealRollupRepository dealRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransaction;
+    private final ImportProperties importProperties;
+    private final DealIdFilter dealIdFilter;
+    private final List<DealInsertListener> insertListeners;
+
+    public DealServiceImpl(DealRepository dealRepository, DealJdbcRepository dealJdbcRepository,
+                           DealCopyRepository dealCopyRepository, DealRollupRepository dealRollupRepository,
+                           TransactionTemplate transactionTemplate, ImportProperties importProperties,
+                           DealIdFilter dealIdFilter, List<DealInsertListener> insertListeners) {
+        this.dealRepository = dealRepository;
+        this.dealJdbcRepository = dealJdbcRepository;
+        this.dealCopyRepository = dealCopyRepository;
+        this.dealRollupRepository = dealRollupRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.newTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.importProperties = importProperties;
+        this.dealIdFilter = dealIdFilter;
+        this.insertListeners = insertListeners;
+    }
 
+    /**
+     * Saves one deal in its own transaction. A duplicate key is caught outside
+     * that transaction, once it has rolled back, so the caller gets
+     * {@code false} rather than an {@code UnexpectedRollbackException}.
+     */
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public boolean saveDeal(Deal deal) {
         try {
-            if (dealRepository.existsById(deal.getDealId())) {
-                log.warn("Duplicate deal ID: {}", deal.getDealId());
-                return false;
-            }
+            return Boolean.TRUE.equals(newTransaction.execute(status -> {
+                if (dealIdFilter.mightExist(deal.getDealId()) && dealRepository.existsById(deal.getDealId())) {
+                    log.warn("Duplicate deal ID: {}", deal.getDealId());
+                    return false;
+                }
 
-            dealRepository.save(deal);
-            log.info("Saved deal: {}", deal.getDealId());
-            return true;
+                // Flushed so the INSERT precedes the rollup upsert, which then holds its bucket lock only until commit
+                dealRepository.saveAndFlush(deal);
+                dealRollupRepository.addDeals(List.of(deal));
+                afterCommit(() -> notifyInserted(List.of(deal)));
+                log.debug("Saved deal: {}", deal.getDealId());
+                return true;
+            }));
 
         } catch (DataIntegrityViolationException e) {
             log.warn("Duplicate key violation: {}", deal.getDealId());
             return false;
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<SaveOutcome> saveDeals(List<Deal> deals) {
+        List<SaveOutcome> outcomes = new ArrayList<>(deals.size());
+        int batchSize = Math.max(1, importProperties.getBatchSize());
+
+        for (int from = 0; from < deals.size(); from += batchSize) {
+            List<Deal> batch = deals.subList(from, Math.min(from + batchSize, deals.size()));
+            outcomes.addAll(saveBatch(batch));
+        }
+        return outcomes;
+    }
+
+    @Override
+    public List<SaveOutcome> saveDealsByCopy(List<Deal> deals) {
+        if (deals.isEmpty()) {
+            return List.of();
+        }
+
+        List<Deal> insertedDeals;
+        try {
+            insertedDeals = transactionTemplate.execute(status -> {
+                List<Deal> firsts = firstOccurrences(deals, dealCopyRepository.copyAndMerge(deals));
+                dealRollupRepository.addDeals(firsts);
+                afterCommit(() -> notifyInserted(firsts));
+                return firsts;
+            });
+        } catch (CannotGetJdbcConnectionException e) {
+            throw e;
+        } catch (DataAccessException e) {
+            log.warn("COPY load of {} deals failed, falling back to batched inserts: {}",
+                    deals.size(), e.getMostSpecificCause().getMessage());
+            return saveDeals(deals);
+        }
+
+        // Only the first occurrence of an inserted ID counts as saved
+        Set<Deal> saved = Collections.newSetFromMap(new IdentityHashMap<>(insertedDeals.size() * 2));
+        saved.addAll(insertedDeals);
+        List<SaveOutcome> outcomes = new ArrayList<>(deals.size());
+        for (Deal deal : deals) {
+            outcomes.add(saved.contains(deal) ? SaveOutcome.SAVED : SaveOutcome.DUPLICATE);
+        }
+        return outcomes;
+    }
+
+    /**
+     * Writes one batch in a single transaction, together with its additions
+     * to the hourly volume rollup. IDs that already exist, or
+     * that repeat earlier in the batch, are resolved with one lookup and never
+     * reach the INSERT. If the database still rejects the batch (for example
+     * because a concurrent import inserted the same ID), it is replayed row by
+     * row so the offending rows can be reported individually. Failing to get
+     * a connection, or to begin the transaction, fails the whole import
+     * instead.
+     */
+    private List<SaveOutcome> saveBatch(List<Deal> batch) {
+        try {
+            List<SaveOutcome> outcomes = transactionTemplate.execute(status -> insertNewDeals(batch));
+            log.debug("Saved batch of {} deals", batch.size());
+            return outcomes;
+
+        } catch (CannotGetJdbcConnectionException e) {
+            // Pool exhaustion says nothing about the rows; replaying them would report healthy rows as failed
+            throw e;
+
+        } catch (DataAccessException e) {
+            log.warn("Batch of {} deals rejected, retrying row by row: {}",
+                    batch.size(), e.getMostSpecificCause().getMessage());
+
+            List<SaveOutcome> outcomes = new ArrayList<>(batch.size());
+            for (Deal deal : batch) {
+                outcomes.add(saveSingle(deal));
+            }
+            return outcomes;
+        }
+    }
+
+    /**
+     * Only IDs the {@link DealIdFilter} might contain are looked up; when it
+     * rules them all out the existence query is skipped entirely.
+     */
+    private List<SaveOutcome> insertNewDeals(List<Deal> batch) {
+        Set<String> candidateIds = new HashSet<>(batch.size() * 2);
+        for (Deal deal : batch) {
+            if (dealIdFilter.mightExist(deal.getDealId())) {
+                candidateIds.add(deal.getDealId());
+            }
+        }
+        Set<String> seen = candidateIds.isEmpty()
+                ? new HashSet<>()
+                : dealJdbcRepository.findExistingIds(candidateIds);
+        dealIdFilter.recordFalsePositives(candidateIds.size() - seen.size());
+
+        List<SaveOutcome> outcomes = new ArrayList<>(batch.size());
+        List<Deal> newDeals = new ArrayList<>(batch.size());
+        for (Deal deal : batch) {
+            if (seen.add(deal.getDealId())) {
+                newDeals.add(deal);
+                outcomes.add(SaveOutcome.SAVED);
+            } else {
+                outcomes.add(SaveOutcome.DUPLICATE);
+            }
+        }
+
+        if (!newDeals.isEmpty()) {
+            dealJdbcRepository.insertAll(newDeals);
+            dealRollupRepository.addDeals(newDeals);
+            afterCommit(() -> notifyInserted(newDeals));
+        }
+        return outcomes;
+    }
+
+    private static List<Deal> firstOccurrences(List<Deal> deals, Set<String> insertedIds) {
+        Set<String> taken = new HashSet<>(insertedIds.size() * 2);
+        List<Deal> inserted = new ArrayList<>(insertedIds.size());
+        for (Deal deal : deals) {
+            if (insertedIds.contains(deal.getDealId()) && taken.add(deal.getDealId())) {
+                inserted.add(deal);
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * Runs the action once the current transaction has committed, or at once
+     * outside a transaction. Registered from inside the transaction, so that
+     * the {@link DealIdFilter} and other listeners only ever learn about
+     * committed deals: nothing is recorded when the transaction rolls back,
+     * and a write joining an outer transaction waits for that one to commit.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void notifyInserted(List<Deal> deals) {
+        if (!deals.isEmpty()) {
+            insertListeners.forEach(listener -> listener.dealsInserted(deals));
+        }
+    }
+
+    private SaveOutcome saveSingle(Deal deal) {
+        try {
+            transactionTemplate.execute(status -> {
+                dealJdbcRepository.insertAll(List.of(deal));
+                dealRollupRepository.addDeals(List.of(deal));
+                afterCommit(() -> notifyInserted(List.of(deal)));
+                return null;
+            });
+            return SaveOutcome.SAVED;
+
+        } catch (DuplicateKeyException e) {
+            log.warn("Duplicate key violation: {}", deal.getDealId());
+            return SaveOutcome.DUPLICATE;
+
+        } catch (CannotGetJdbcConnectionException e) {
+            throw e;
+
+        } catch (DataAccessException e) {
+            log.error("Failed to save deal {}: {}", deal.getDealId(), e.getMostSpecificCause().getMessage());
+            return SaveOutcome.FAILED;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.progressoft.fxdeals.service;
+
+import com.progressoft.fxdeals.dto.DealVolumeDTO;
+import com.progressoft.fxdeals.dto.RollupRebuildDTO;
+import com.progressoft.fxdeals.repository.DealFilter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DealVolumeService {
+
+    /**
+     * Returns the deal count and amount totals per currency pair for the
+     * deals matching the filter, read from the hourly rollup. Range bounds
+     * must therefore be whole hours.
+     *
+     * @throws com.progressoft.fxdeals.exception.ValidationException on an invalid filter
+     */
+    List<DealVolumeDTO> findVolumes(DealFilter filter);
+
+    /**
+     * Queues a background recompute of the hourly rollup from the deals table
+     * over {@code [from, to)}, widened to whole hours; {@code null} bounds
+     * default to the earliest and latest deal when the rebuild starts. Used to
+     * backfill deals imported before the rollup existed.
+     *
+     * @return the queued rebuild, to be polled with {@link #getRebuild}
+     * @throws com.progressoft.fxdeals.exception.ValidationException if {@code from} is not before {@code to}
+     * @throws com.progressoft.fxdeals.exception.RollupRebuildQueueFullException if the rebuild queue is full
+     */
+    RollupRebuildDTO startRebuild(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Returns the current state of a rebuild started on this instance.
+     *
+     * @throws com.progressoft.fxdeals.exception.RollupRebuildNotFoundException if the rebuild is unknown
+     */
+    RollupRebuildDTO getRebuild(String rebuildId);
+}
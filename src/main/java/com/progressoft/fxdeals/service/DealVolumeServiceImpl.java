@@ -0,0 +1,180 @@
+package com.progressoft.fxdeals.service;
+
+import com.progressoft.fxdeals.config.QueryProperties;
+import com.progressoft.fxdeals.dto.DealVolumeDTO;
+import com.progressoft.fxdeals.dto.RollupRebuildDTO;
+import com.progressoft.fxdeals.exception.RollupRebuildNotFoundException;
+import com.progressoft.fxdeals.exception.RollupRebuildQueueFullException;
+import com.progressoft.fxdeals.exception.ValidationException;
+import com.progressoft.fxdeals.mapper.DealMapper;
+import com.progressoft.fxdeals.model.ImportJobStatus;
+import com.progressoft.fxdeals.repository.DealFilter;
+import com.progressoft.fxdeals.repository.DealQueryRepository;
+import com.progressoft.fxdeals.repository.DealRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DealVolumeServiceImpl implements DealVolumeService {
+
+    /** Finished rebuilds kept for polling; the oldest are forgotten first. */
+    private static final int RETAINED_REBUILDS = 100;
+
+    private final DealRollupRepository dealRollupRepository;
+    private final DealQueryRepository dealQueryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final QueryProperties queryProperties;
+    private final Executor rollupRebuildExecutor;
+
+    private final Map<String, Rebuild> rebuilds = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Rebuild> eldest) {
+            return size() > RETAINED_REBUILDS;
+        }
+    });
+
+    @Override
+    public List<DealVolumeDTO> findVolumes(DealFilter filter) {
+        DealFilter normalized = DealQueryServiceImpl.normalize(filter);
+        requireWholeHour("from", normalized.from());
+        requireWholeHour("to", normalized.to());
+        return dealRollupRepository.sumByPair(normalized).stream().map(DealMapper::toResponse).toList();
+    }
+
+    @Override
+    public RollupRebuildDTO startRebuild(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ValidationException("'from' must be before 'to'");
+        }
+
+        Rebuild rebuild = new Rebuild(UUID.randomUUID().toString());
+        rebuilds.put(rebuild.id, rebuild);
+        try {
+            rollupRebuildExecutor.execute(() -> run(rebuild, from, to));
+        } catch (RejectedExecutionException e) {
+            rebuilds.remove(rebuild.id);
+            throw new RollupRebuildQueueFullException("Rollup rebuild queue is full, please retry later", e);
+        }
+
+        log.info("Queued deal volume rollup rebuild {} from {} to {}", rebuild.id, from, to);
+        return rebuild.toDTO();
+    }
+
+    @Override
+    public RollupRebuildDTO getRebuild(String rebuildId) {
+        Rebuild rebuild = rebuilds.get(rebuildId);
+        if (rebuild == null) {
+            throw new RollupRebuildNotFoundException("Rollup rebuild not found: " + rebuildId);
+        }
+        return rebuild.toDTO();
+    }
+
+    /**
+     * Recomputes the range one chunk per transaction, so imports only wait
+     * for the rollup lock while a single chunk is rebuilt.
+     */
+    private void run(Rebuild rebuild, LocalDateTime from, LocalDateTime to) {
+        rebuild.startedAt = LocalDateTime.now();
+        rebuild.status = ImportJobStatus.RUNNING;
+        try {
+            LocalDateTime start = from != null ? from : dealQueryRepository.findMinTimestamp();
+            LocalDateTime end = to != null ? to : nextInstant(dealQueryRepository.findMaxTimestamp());
+            if (start != null && end != null) {
+                rebuild.from = start.truncatedTo(ChronoUnit.HOURS);
+                rebuild.to = ceilToHour(end);
+                rebuildChunks(rebuild);
+            }
+            log.info("Rebuilt deal volume rollup {} from {} to {}: {} buckets",
+                    rebuild.id, rebuild.from, rebuild.to, rebuild.buckets);
+            finish(rebuild, ImportJobStatus.COMPLETED, null);
+        } catch (Exception e) {
+            log.error("Deal volume rollup rebuild {} failed", rebuild.id, e);
+            finish(rebuild, ImportJobStatus.FAILED, e.getMessage());
+        }
+    }
+
+    private void rebuildChunks(Rebuild rebuild) {
+        // Chunks must end on bucket boundaries, so they are whole hours
+        long chunkHours = Math.max(1, queryProperties.getRollupRebuildChunk().toHours());
+        for (LocalDateTime chunk = rebuild.from; chunk.isBefore(rebuild.to); chunk = chunk.plusHours(chunkHours)) {
+            LocalDateTime chunkStart = chunk;
+            LocalDateTime chunkEnd = min(chunk.plusHours(chunkHours), rebuild.to);
+            Integer written = transactionTemplate.execute(
+                    status -> dealRollupRepository.rebuild(chunkStart, chunkEnd));
+            rebuild.buckets += written == null ? 0 : written;
+            rebuild.rebuiltUntil = chunkEnd;
+        }
+    }
+
+    private static void finish(Rebuild rebuild, ImportJobStatus status, String error) {
+        rebuild.error = error;
+        rebuild.finishedAt = LocalDateTime.now();
+        rebuild.status = status;
+    }
+
+    private static void requireWholeHour(String name, LocalDateTime value) {
+        if (value != null && !value.equals(value.truncatedTo(ChronoUnit.HOURS))) {
+            throw new ValidationException("'" + name + "' must be a whole hour, the volume rollup is hourly: " + value);
+        }
+    }
+
+    private static LocalDateTime nextInstant(LocalDateTime value) {
+        return value == null ? null : value.plusNanos(1);
+    }
+
+    private static LocalDateTime ceilToHour(LocalDateTime value) {
+        LocalDateTime floor = value.truncatedTo(ChronoUnit.HOURS);
+        return floor.equals(value) ? floor : floor.plusHours(1);
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    /** State of one rebuild, written by the rebuild thread and read by pollers. */
+    private static final class Rebuild {
+        private final String id;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private volatile ImportJobStatus status = ImportJobStatus.QUEUED;
+        private volatile LocalDateTime from;
+        private volatile LocalDateTime to;
+        private volatile LocalDateTime rebuiltUntil;
+        private volatile long buckets;
+        private volatile String error;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+
+        private Rebuild(String id) {
+            this.id = id;
+        }
+
+        private RollupRebuildDTO toDTO() {
+            return RollupRebuildDTO.builder()
+                    .rebuildId(id)
+                    .status(status)
+                    .from(from)
+                    .to(to)
+                    .rebuiltUntil(rebuiltUntil)
+                    .buckets(buckets)
+                    .error(error)
+                    .createdAt(createdAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.progressoft.fxdeals.service;
+
+import com.progressoft.fxdeals.model.Deal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Write-behind stage of one import. Batches handed to {@link #submit} wait in
+ * a bounded queue and are written by a single thread in submission order, so
+ * parsing carries on while the database works. When the queue is full,
+ * {@code submit} blocks, which throttles the parser to the database's pace.
+ * Each write holds one of the shared write permits, which bounds the
+ * connections used by all imports together.
+ * <p>
+ * Rows repeating an ID from earlier in the file are resolved against the
+ * outcome of that earlier occurrence, which the same writer has written
+ * before them: they are duplicates if it was saved or already stored, and
+ * are written themselves if it failed.
+ */
+final class DealWriter implements AutoCloseable {
+
+    private static final Batch END = new Batch(List.of(), List.of(), new BitSet());
+
+    private final DealService dealService;
+    private final ImportMode mode;
+    private final BlockingQueue<Batch> queue;
+    private final Semaphore writePermits;
+    private final Set<String> failedIds = new HashSet<>();
+    private volatile boolean stopped;
+
+    DealWriter(DealService dealService, ImportMode mode, int capacity, Semaphore writePermits, Executor executor) {
+        this.dealService = dealService;
+        this.mode = mode;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.writePermits = writePermits;
+        executor.execute(this::drain);
+    }
+
+    /**
+     * Queues a batch for writing, blocking while the queue is full. The
+     * caller must not modify the batch afterwards.
+     */
+    void submit(Batch batch) throws InterruptedException {
+        queue.put(batch);
+        if (stopped) {
+            cancelQueued();
+        }
+    }
+
+    /**
+     * Stops the writer once the batches already queued are written. Batches
+     * of an import that is being abandoned are dropped instead.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        queue.put(END);
+    }
+
+    void abort() {
+        cancelQueued();
+        queue.offer(END);
+    }
+
+    private void drain() {
+        Batch batch = null;
+        try {
+            for (batch = queue.take(); batch != END; batch = queue.take()) {
+                writePermits.acquire();
+                try {
+                    batch.outcomes.complete(write(batch));
+                } catch (Throwable e) {
+                    batch.outcomes.completeExceptionally(e);
+                    if (e instanceof Error error) {
+                        throw error;
+                    }
+                } finally {
+                    writePermits.release();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // However the writer stops, fail whatever is still pending so the import does not wait forever
+            stopped = true;
+            if (batch != null && batch != END) {
+                batch.outcomes.cancel(false);
+            }
+            cancelQueued();
+        }
+    }
+
+    /**
+     * Writes a batch and returns one outcome per deal. A repeat waits until
+     * its earlier occurrence is written, which may take another round when
+     * both are in the same batch, and never reaches the database unless that
+     * occurrence failed.
+     */
+    private List<SaveOutcome> write(Batch batch) {
+        if (batch.repeats.isEmpty()) {
+            return recordFailures(batch.deals, save(batch.deals));
+        }
+
+        SaveOutcome[] outcomes = new SaveOutcome[batch.deals.size()];
+        BitSet pending = new BitSet(outcomes.length);
+        pending.set(0, outcomes.length);
+        while (!pending.isEmpty()) {
+            List<Deal> deals = new ArrayList<>();
+            List<Integer> indexes = new ArrayList<>();
+            Set<String> writing = new HashSet<>();
+
+            for (int i = pending.nextSetBit(0); i >= 0; i = pending.nextSetBit(i + 1)) {
+                Deal deal = batch.deals.get(i);
+                String dealId = deal.getDealId();
+                if (batch.repeats.get(i) && writing.contains(dealId)) {
+                    continue; // wait for the outcome of the occurrence written this round
+                }
+                pending.clear(i);
+                if (batch.repeats.get(i) && !failedIds.contains(dealId)) {
+                    outcomes[i] = SaveOutcome.DUPLICATE;
+                    continue;
+                }
+                deals.add(deal);
+                indexes.add(i);
+                writing.add(dealId);
+            }
+
+            if (!deals.isEmpty()) {
+                List<SaveOutcome> written = recordFailures(deals, save(deals));
+                for (int j = 0; j < indexes.size(); j++) {
+                    outcomes[indexes.get(j)] = written.get(j);
+                }
+            }
+        }
+        return Arrays.asList(outcomes);
+    }
+
+    private List<SaveOutcome> save(List<Deal> deals) {
+        return mode == ImportMode.COPY
+                ? dealService.saveDealsByCopy(deals)
+                : dealService.saveDeals(deals);
+    }
+
+    /**
+     * Remembers which IDs failed to save, so that a later repeat of one is
+     * written instead of being reported as its duplicate.
+     */
+    private List<SaveOutcome> recordFailures(List<Deal> deals, List<SaveOutcome> outcomes) {
+        for (int i = 0; i < outcomes.size(); i++) {
+            String dealId = deals.get(i).getDealId();
+            if (outcomes.get(i) == SaveOutcome.FAILED) {
+                failedIds.add(dealId);
+            } else if (!failedIds.isEmpty()) {
+                failedIds.remove(dealId);
+            }
+        }
+        return outcomes;
+    }
+
+    private void cancelQueued() {
+        Batch dropped;
+        while ((dropped = queue.poll()) != null) {
+            dropped.outcomes.cancel(false);
+        }
+    }
+
+    /**
+     * Validated deals handed to the writer, with the CSV row each one came
+     * from and which of them repeat an ID seen earlier in the file. Completed
+     * with one outcome per deal once written.
+     */
+    static final class Batch {
+        final List<Deal> deals;
+        final List<Integer> rowNumbers;
+        final BitSet repeats;
+        final CompletableFuture<List<SaveOutcome>> outcomes = new CompletableFuture<>();
+
+        Batch(List<Deal> deals, List<Integer> rowNumbers, BitSet repeats) {
+            this.deals = deals;
+            this.rowNumbers = rowNumbers;
+            this.repeats = repeats;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.progressoft.fxdeals.service;
+
+import com.progressoft.fxdeals.dto.ImportJobDTO;
+
+/**
+ * Published once an import job has reached its final status.
+ */
+public record ImportJobFinishedEvent(ImportJobDTO job) {
+}
@@ -0,0 +1,28 @@
+package com.progressoft.fxdeals.service;
+
+import com.progressoft.fxdeals.dto.ImportJobDTO;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Path;
+
+public interface ImportJobService {
+
+    /**
+     * Spools the file and queues it for import, returning the new job at once.
+     */
+    ImportJobDTO submit(MultipartFile file, ImportMode mode);
+
+    /**
+     * Queues a server-side file for import. The file is read in place and left
+     * untouched when the job finishes.
+     */
+    ImportJobDTO submitServerFile(Path file, ImportMode mode);
+
+    ImportJobDTO getJob(String jobId);
+
+    /**
+     * Live counters of a job running on this instance, or {@code null} if it
+     * is not running here.
+     */
+    ImportProgress getProgress(String jobId);
+}
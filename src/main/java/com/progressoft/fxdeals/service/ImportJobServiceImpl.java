@@ -0,0 +1,242 @@
+package com.progressoft.fxdeals.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progressoft.fxdeals.config.JobProperties;
+import com.progressoft.fxdeals.dto.ImportJobDTO;
+import com.progressoft.fxdeals.dto.ImportResultDTO;
+import com.progressoft.fxdeals.exception.ImportJobNotFoundException;
+import com.progressoft.fxdeals.exception.ImportQueueFullException;
+import com.progressoft.fxdeals.model.ImportJob;
+import com.progressoft.fxdeals.model.ImportJobStatus;
+import com.progressoft.fxdeals.repository.ImportJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImportJobServiceImpl implements ImportJobService {
+
+    private final ImportJobRepository importJobRepository;
+    private final CSVImporterService csvImporterService;
+    private final JobProperties jobProperties;
+    private final Executor importJobExecutor;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** Live counters of the jobs running on this instance. */
+    private final Map<String, ImportProgress> running = new ConcurrentHashMap<>();
+
+    @Override
+    public ImportJobDTO submit(MultipartFile file, ImportMode mode) {
+        String jobId = UUID.randomUUID().toString();
+        return queue(jobId, file.getOriginalFilename(), spool(file, jobId), mode);
+    }
+
+    @Override
+    public ImportJobDTO submitServerFile(Path file, ImportMode mode) {
+        return queue(UUID.randomUUID().toString(), file.getFileName().toString(), file, mode);
+    }
+
+    private ImportJobDTO queue(String jobId, String fileName, Path file, ImportMode mode) {
+        ImportJob job = importJobRepository.save(ImportJob.builder()
+                .jobId(jobId)
+                .fileName(fileName)
+                .mode(mode)
+                .status(ImportJobStatus.QUEUED)
+                .spoolPath(file.toString())
+                .build());
+
+        try {
+            importJobExecutor.execute(() -> run(jobId));
+        } catch (RejectedExecutionException e) {
+            importJobRepository.deleteById(jobId);
+            releaseFile(file);
+            throw new ImportQueueFullException("Import queue is full, please retry later", e);
+        }
+
+        log.info("Queued {} import job {} for file: {}", mode, jobId, fileName);
+        return toDTO(job);
+    }
+
+    @Override
+    public ImportJobDTO getJob(String jobId) {
+        return importJobRepository.findById(jobId)
+                .map(this::toDTO)
+                .orElseThrow(() -> new ImportJobNotFoundException("Import job not found: " + jobId));
+    }
+
+    @Override
+    public ImportProgress getProgress(String jobId) {
+        return running.get(jobId);
+    }
+
+    /**
+     * Jobs that were running when the application stopped cannot be resumed
+     * and are marked failed; jobs still queued are submitted again.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverJobs() {
+        for (ImportJob job : importJobRepository.findByStatusOrderByCreatedAt(ImportJobStatus.RUNNING)) {
+            log.warn("Import job {} was interrupted by a restart", job.getJobId());
+            finish(job, ImportJobStatus.FAILED, null, "Interrupted by application restart");
+            releaseFile(Path.of(job.getSpoolPath()));
+        }
+
+        for (ImportJob job : importJobRepository.findByStatusOrderByCreatedAt(ImportJobStatus.QUEUED)) {
+            if (!Files.exists(Path.of(job.getSpoolPath()))) {
+                finish(job, ImportJobStatus.FAILED, null, "Spooled file is missing");
+                continue;
+            }
+            try {
+                importJobExecutor.execute(() -> run(job.getJobId()));
+                log.info("Resubmitted queued import job {}", job.getJobId());
+            } catch (RejectedExecutionException e) {
+                finish(job, ImportJobStatus.FAILED, null, "Import queue is full");
+                releaseFile(Path.of(job.getSpoolPath()));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${fxdeals.jobs.progress-flush-interval-ms:2000}")
+    public void flushProgress() {
+        running.forEach((jobId, progress) -> importJobRepository.updateProgress(jobId,
+                progress.getRowsRead(),
+                progress.getSaved(),
+                progress.getDuplicates(),
+                progress.getFailed()));
+    }
+
+    void run(String jobId) {
+        ImportJob job = importJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() != ImportJobStatus.QUEUED) {
+            return;
+        }
+
+        ImportProgress progress = new ImportProgress();
+        running.put(jobId, progress);
+        job.setStatus(ImportJobStatus.RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        job = importJobRepository.save(job);
+
+        Path file = Path.of(job.getSpoolPath());
+        try {
+            ImportResultDTO result = csvImporterService.importFile(file, job.getMode(), progress);
+            copyProgress(job, progress);
+            finish(job, ImportJobStatus.COMPLETED, objectMapper.writeValueAsString(result), null);
+            log.info("Import job {} completed", jobId);
+        } catch (Exception e) {
+            log.error("Import job {} failed", jobId, e);
+            copyProgress(job, progress);
+            finish(job, ImportJobStatus.FAILED, null, e.getMessage());
+        } finally {
+            running.remove(jobId);
+            releaseFile(file);
+        }
+    }
+
+    private Path spool(MultipartFile file, String jobId) {
+        try {
+            Path dir = Files.createDirectories(jobProperties.getSpoolDir());
+            Path spoolFile = dir.resolve(jobId + ".csv").toAbsolutePath();
+            file.transferTo(spoolFile);
+            return spoolFile;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to spool uploaded file", e);
+        }
+    }
+
+    private void finish(ImportJob job, ImportJobStatus status, String result, String errorMessage) {
+        job.setStatus(status);
+        job.setResult(result);
+        job.setErrorMessage(truncate(errorMessage));
+        job.setFinishedAt(LocalDateTime.now());
+        importJobRepository.save(job);
+        eventPublisher.publishEvent(new ImportJobFinishedEvent(toDTO(job)));
+    }
+
+    /**
+     * Exception messages can quote whole rows or SQL statements; the column
+     * only holds {@link ImportJob#MAX_ERROR_MESSAGE_LENGTH} characters.
+     */
+    private static String truncate(String errorMessage) {
+        if (errorMessage == null || errorMessage.length() <= ImportJob.MAX_ERROR_MESSAGE_LENGTH) {
+            return errorMessage;
+        }
+        return errorMessage.substring(0, ImportJob.MAX_ERROR_MESSAGE_LENGTH - 3) + "...";
+    }
+
+    private static void copyProgress(ImportJob job, ImportProgress progress) {
+        job.setRowsRead(progress.getRowsRead());
+        job.setSavedRecords(progress.getSaved());
+        job.setDuplicateRecords(progress.getDuplicates());
+        job.setFailedRecords(progress.getFailed());
+    }
+
+    /**
+     * Deletes the job's file once it is no longer needed, but only if it is a
+     * spooled upload; server-side files are never removed.
+     */
+    private void releaseFile(Path spoolFile) {
+        if (!spoolFile.startsWith(jobProperties.getSpoolDir().toAbsolutePath())) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(spoolFile);
+        } catch (IOException e) {
+            log.warn("Could not delete spooled file {}: {}", spoolFile, e.getMessage());
+        }
+    }
+
+    private ImportJobDTO toDTO(ImportJob job) {
+        ImportJobDTO dto = ImportJobDTO.builder()
+                .jobId(job.getJobId())
+                .fileName(job.getFileName())
+                .mode(job.getMode())
+                .status(job.getStatus())
+                .rowsRead(job.getRowsRead())
+                .savedRecords(job.getSavedRecords())
+                .duplicateRecords(job.getDuplicateRecords())
+                .failedRecords(job.getFailedRecords())
+                .error(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+
+        ImportProgress progress = running.get(job.getJobId());
+        if (progress != null) {
+            dto.setRowsRead(progress.getRowsRead());
+            dto.setSavedRecords(progress.getSaved());
+            dto.setDuplicateRecords(progress.getDuplicates());
+            dto.setFailedRecords(progress.getFailed());
+        }
+
+        if (job.getResult() != null) {
+            try {
+                dto.setResult(objectMapper.readValue(job.getResult(), ImportResultDTO.class));
+            } catch (JsonProcessingException e) {
+                log.warn("Could not read result of import job {}: {}", job.getJobId(), e.getMessage());
+            }
+        }
+        return dto;
+    }
+}
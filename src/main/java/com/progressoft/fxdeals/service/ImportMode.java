@@ -0,0 +1,13 @@
+package com.progressoft.fxdeals.service;
+
+/**
+ * How validated rows are written to the database.
+ */
+public enum ImportMode {
+
+    /** Batched JDBC inserts, one transaction per batch. */
+    BATCH,
+
+    /** PostgreSQL COPY into a staging table followed by a set-based merge. */
+    COPY
+}
@@ -0,0 +1,100 @@
+package com.progressoft.fxdeals.service;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live counters for a running import. The importer updates them as chunks are
+ * parsed and batches are written; other threads may read them at any time.
+ * An optional {@link RowListener} additionally receives every row's outcome.
+ */
+public class ImportProgress {
+
+    private final LongAdder rowsRead = new LongAdder();
+    private final LongAdder saved = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private final long startedAt = System.nanoTime();
+    private volatile long totalBytes = -1;
+    private final RowListener rowListener;
+
+    public ImportProgress() {
+        this(null);
+    }
+
+    public ImportProgress(RowListener rowListener) {
+        this.rowListener = rowListener;
+    }
+
+    public void recordRow(int rowNumber, String dealId, RowStatus status, String errorCode) {
+        if (rowListener != null) {
+            rowListener.onRow(rowNumber, dealId, status, errorCode);
+        }
+    }
+
+    public void addRowsRead(long rows) {
+        rowsRead.add(rows);
+    }
+
+    public void incrementSaved() {
+        saved.increment();
+    }
+
+    public void incrementDuplicates() {
+        duplicates.increment();
+    }
+
+    public void addFailed(long rows) {
+        failed.add(rows);
+    }
+
+    /**
+     * Counts input bytes handed to the parser. For compressed input these are
+     * decompressed bytes.
+     */
+    public void addBytesRead(long bytes) {
+        bytesRead.add(bytes);
+    }
+
+    /**
+     * Sets the size of the input when it is known up front, which allows an
+     * estimate of the time remaining.
+     */
+    public void setTotalBytes(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    /**
+     * Size of the input in bytes, or -1 if it is not known.
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * {@link System#nanoTime()} at which the import started.
+     */
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public long getRowsRead() {
+        return rowsRead.sum();
+    }
+
+    public long getSaved() {
+        return saved.sum();
+    }
+
+    public long getDuplicates() {
+        return duplicates.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+}
@@ -0,0 +1,188 @@
+package com.progressoft.fxdeals.service;
+
+import com.progressoft.fxdeals.config.ImportProperties;
+import com.progressoft.fxdeals.dto.ImportJobDTO;
+import com.progressoft.fxdeals.dto.ImportProgressDTO;
+import com.progressoft.fxdeals.model.ImportJobStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes Server-Sent Events about import jobs to subscribed clients. A
+ * {@code progress} event is sampled from the job's {@link ImportProgress}
+ * counters every {@code fxdeals.jobs.progress-event-interval-ms}, however
+ * fast rows are imported, and a final {@code job} event carries the finished
+ * job before the stream is closed. Events are written on
+ * {@code importEventExecutor}, never on the scheduler thread, and a client
+ * that has not taken its previous event yet skips the next one.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImportProgressPublisher {
+
+    private final ImportJobService importJobService;
+    private final ImportProperties importProperties;
+    private final Executor importEventExecutor;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Subscribes to the events of a job. A job that has already finished gets
+     * its final event at once. The job is registered before its status is
+     * read, so a job finishing meanwhile is not missed.
+     *
+     * @throws com.progressoft.fxdeals.exception.ImportJobNotFoundException if the job does not exist
+     */
+    public SseEmitter subscribe(String jobId) {
+        SseEmitter emitter = new SseEmitter(importProperties.getStreamTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(jobId, emitter);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        ImportJobDTO job;
+        try {
+            job = importJobService.getJob(jobId);
+        } catch (RuntimeException e) {
+            subscribers.remove(subscriber);
+            throw e;
+        }
+        if (isFinished(job)) {
+            finish(subscriber, job);
+        }
+        return emitter;
+    }
+
+    /**
+     * Samples the in-memory counters of running jobs only; subscribers of
+     * queued jobs wait for the job to start or finish without a query.
+     */
+    @Scheduled(fixedDelayString = "${fxdeals.jobs.progress-event-interval-ms:1000}")
+    public void publish() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            ImportProgress progress = importJobService.getProgress(subscriber.jobId);
+            if (progress != null && subscriber.sending.compareAndSet(false, true)) {
+                sendProgress(subscriber, progress, now);
+            }
+        }
+    }
+
+    @EventListener
+    public void onJobFinished(ImportJobFinishedEvent event) {
+        String jobId = event.job().getJobId();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.jobId.equals(jobId)) {
+                finish(subscriber, event.job());
+            }
+        }
+    }
+
+    private void sendProgress(Subscriber subscriber, ImportProgress progress, long now) {
+        try {
+            importEventExecutor.execute(() -> {
+                try {
+                    subscriber.emitter.send(SseEmitter.event().name("progress").data(subscriber.sample(progress, now)));
+                } catch (IOException | RuntimeException e) {
+                    log.debug("Dropping progress subscriber of job {}: {}", subscriber.jobId, e.getMessage());
+                    subscribers.remove(subscriber);
+                    subscriber.emitter.completeWithError(e);
+                } finally {
+                    subscriber.sending.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            subscriber.sending.set(false); // senders are saturated; try again on the next tick
+        }
+    }
+
+    /**
+     * Sends the final event once per subscriber, whichever of the subscription
+     * and the finished event gets there first.
+     */
+    private void finish(Subscriber subscriber, ImportJobDTO job) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        try {
+            importEventExecutor.execute(() -> sendFinal(subscriber.emitter, job));
+        } catch (RejectedExecutionException e) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    private static boolean isFinished(ImportJobDTO job) {
+        return job.getStatus() == ImportJobStatus.COMPLETED || job.getStatus() == ImportJobStatus.FAILED;
+    }
+
+    private static void sendFinal(SseEmitter emitter, ImportJobDTO job) {
+        try {
+            emitter.send(SseEmitter.event().name("job").data(job));
+            emitter.complete();
+        } catch (IOException | RuntimeException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    /**
+     * One client's stream, remembering the counts it was last sent so that
+     * rates cover the interval between its events.
+     */
+    static final class Subscriber {
+        private final String jobId;
+        private final SseEmitter emitter;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private long lastRows;
+        private long lastBytes;
+        private long lastSampledAt = Long.MIN_VALUE;
+
+        Subscriber(String jobId, SseEmitter emitter) {
+            this.jobId = jobId;
+            this.emitter = emitter;
+        }
+
+        ImportProgressDTO sample(ImportProgress progress, long now) {
+            if (lastSampledAt == Long.MIN_VALUE) {
+                lastSampledAt = progress.getStartedAt();
+            }
+            long rows = progress.getRowsRead();
+            long bytes = progress.getBytesRead();
+            double seconds = Math.max(now - lastSampledAt, 1) / 1e9;
+            double bytesPerSecond = (bytes - lastBytes) / seconds;
+            long totalBytes = progress.getTotalBytes();
+
+            ImportProgressDTO event = ImportProgressDTO.builder()
+                    .jobId(jobId)
+                    .rowsRead(rows)
+                    .bytesRead(bytes)
+                    .totalBytes(totalBytes >= 0 ? totalBytes : null)
+                    .savedRecords(progress.getSaved())
+                    .duplicateRecords(progress.getDuplicates())
+                    .failedRecords(progress.getFailed())
+                    .rowsPerSecond((rows - lastRows) / seconds)
+                    .elapsedSeconds((now - progress.getStartedAt()) / 1_000_000_000L)
+                    .etaSeconds(totalBytes >= 0 && bytesPerSecond > 0
+                            ? (long) Math.ceil(Math.max(totalBytes - bytes, 0) / bytesPerSecond)
+                            : null)
+                    .build();
+
+            lastRows = rows;
+            lastBytes = bytes;
+            lastSampledAt = now;
+            return event;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.progressoft.fxdeals.service;
+
+import com.progressoft.fxdeals.dto.ImportResultDTO;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Collects the row-level errors and warnings of one import. Each one is
+ * counted in the result, only the first {@code maxMessages} of each kind are
+ * kept there as messages, and all of them are written to a CSV report file
+ * that is opened on the first issue. Used from the importing thread only.
+ */
+@Slf4j
+final class ImportReport implements AutoCloseable {
+
+    static final String DUPLICATE_DEAL_ID = "DUPLICATE_DEAL_ID";
+    static final String SAVE_FAILED = "SAVE_FAILED";
+
+    private final ImportResultDTO result;
+    private final ImportReportStore store;
+    private final int maxMessages;
+    private BufferedWriter writer;
+    private boolean writeFailed;
+
+    ImportReport(ImportResultDTO result, ImportReportStore store, int maxMessages) {
+        this.result = result;
+        this.store = store;
+        this.maxMessages = Math.max(0, maxMessages);
+    }
+
+    /**
+     * Records a rejected row. {@code column} is {@code null} when the error
+     * concerns the whole row.
+     */
+    void error(int rowNumber, String category, String column, String message) {
+        result.countIssue(category, column);
+        sample(result.getErrors(), rowNumber, message);
+        write(rowNumber, "ERROR", category, column, message);
+    }
+
+    void warning(int rowNumber, String category, String message) {
+        result.countIssue(category, null);
+        sample(result.getWarnings(), rowNumber, message);
+        write(rowNumber, "WARNING", category, null, message);
+    }
+
+    private void sample(List<String> messages, int rowNumber, String message) {
+        if (messages.size() < maxMessages) {
+            messages.add(String.format("Row %d: %s", rowNumber, message));
+        } else {
+            result.incrementOmitted();
+        }
+    }
+
+    private void write(int rowNumber, String severity, String category, String column, String message) {
+        if (writeFailed) {
+            return;
+        }
+        try {
+            if (writer == null) {
+                String reportId = UUID.randomUUID().toString();
+                writer = store.create(reportId);
+                result.setReportId(reportId);
+            }
+            writer.write(rowNumber + "," + severity + "," + category + "," + (column == null ? "" : column)
+                    + ",\"" + message.replace("\"", "\"\"") + "\"");
+            writer.newLine();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Flushes the report file. If it could not be written completely, the
+     * result is left without a report ID.
+     */
+    @Override
+    public void close() {
+        if (writer == null || writeFailed) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    private void fail(IOException e) {
+        log.warn("Could not write import report {}: {}", result.getReportId(), e.getMessage());
+        writeFailed = true;
+        result.setReportId(null);
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException ignored) {
+                // already failed
+            }
+        }
+    }
+}
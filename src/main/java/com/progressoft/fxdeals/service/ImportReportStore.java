@@ -0,0 +1,95 @@
+package com.progressoft.fxdeals.service;
+
+import com.progressoft.fxdeals.config.ImportProperties;
+import com.progressoft.fxdeals.dto.ImportResultDTO;
+import com.progressoft.fxdeals.exception.ImportReportNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the full row-level reports of imports as CSV files in
+ * {@code fxdeals.import.report-dir}, one per import that had issues, and
+ * deletes them once they are older than {@code fxdeals.import.report-retention}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImportReportStore {
+
+    private static final String HEADER = "row,severity,category,column,message";
+
+    private final ImportProperties importProperties;
+
+    /**
+     * Starts the report of an import whose counts and sampled messages go
+     * into {@code result}.
+     */
+    ImportReport open(ImportResultDTO result) {
+        return new ImportReport(result, this, importProperties.getMaxReportedMessages());
+    }
+
+    BufferedWriter create(String reportId) throws IOException {
+        Path dir = importProperties.getReportDir();
+        Files.createDirectories(dir);
+        BufferedWriter writer = Files.newBufferedWriter(dir.resolve(reportId + ".csv"), StandardCharsets.UTF_8);
+        writer.write(HEADER);
+        writer.newLine();
+        return writer;
+    }
+
+    /**
+     * Returns the report file with the given ID.
+     *
+     * @throws ImportReportNotFoundException if the ID is malformed or the
+     *                                       report does not exist (any more)
+     */
+    public Path find(String reportId) {
+        if (!isReportId(reportId)) {
+            throw new ImportReportNotFoundException("Import report not found: " + reportId);
+        }
+        Path report = importProperties.getReportDir().resolve(reportId + ".csv");
+        if (!Files.isRegularFile(report)) {
+            throw new ImportReportNotFoundException("Import report not found: " + reportId);
+        }
+        return report;
+    }
+
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.HOURS)
+    public void deleteExpired() {
+        Path dir = importProperties.getReportDir();
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        FileTime cutoff = FileTime.from(Instant.now().minus(importProperties.getReportRetention()));
+        try (DirectoryStream<Path> reports = Files.newDirectoryStream(dir, "*.csv")) {
+            for (Path report : reports) {
+                if (Files.getLastModifiedTime(report).compareTo(cutoff) < 0) {
+                    Files.deleteIfExists(report);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete expired import reports in {}: {}", dir, e.getMessage());
+        }
+    }
+
+    private static boolean isReportId(String reportId) {
+        try {
+            return UUID.fromString(reportId).toString().equals(reportId);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
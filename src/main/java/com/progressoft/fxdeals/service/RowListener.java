@@ -0,0 +1,18 @@
+package com.progressoft.fxdeals.service;
+
+/**
+ * Receives the outcome of every row of an import as soon as it is known.
+ * Rejected rows are reported when their chunk is validated and written rows
+ * once their batch is committed, so row numbers are not strictly ascending.
+ * Called on the importing thread; a slow listener slows down the import.
+ */
+@FunctionalInterface
+public interface RowListener {
+
+    /**
+     * @param dealId    the raw deal ID of the row, or {@code null} if it has none
+     * @param errorCode the validation error or issue category, or {@code null}
+     *                  for saved rows
+     */
+    void onRow(int rowNumber, String dealId, RowStatus status, String errorCode);
+}
@@ -0,0 +1,11 @@
+package com.progressoft.fxdeals.service;
+
+/**
+ * Final status of one CSV row in an import.
+ */
+public enum RowStatus {
+    SAVED,
+    DUPLICATE,
+    REJECTED,
+    FAILED
+}
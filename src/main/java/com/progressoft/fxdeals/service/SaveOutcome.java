@@ -0,0 +1,10 @@
+package com.progressoft.fxdeals.service;
+
+/**
+ * Per-row result of persisting a deal.
+ */
+public enum SaveOutcome {
+    SAVED,
+    DUPLICATE,
+    FAILED
+}
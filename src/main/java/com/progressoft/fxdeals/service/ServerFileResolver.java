@@ -0,0 +1,60 @@
+package com.progressoft.fxdeals.service;
+
+import com.progressoft.fxdeals.config.ImportProperties;
+import com.progressoft.fxdeals.config.JobProperties;
+import com.progressoft.fxdeals.exception.ValidationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+/**
+ * Resolves paths for server-side imports against the allow-listed
+ * {@code fxdeals.import.server-dir}. Paths escaping it, including through
+ * {@code ..} or symbolic links, and files in the job spool directory are
+ * rejected.
+ */
+@Component
+@RequiredArgsConstructor
+public class ServerFileResolver {
+
+    private final ImportProperties importProperties;
+    private final JobProperties jobProperties;
+
+    public Path resolve(String path) {
+        if (path == null || path.isBlank()) {
+            throw new ValidationException("File path is required");
+        }
+
+        try {
+            Path base = importProperties.getServerDir().toRealPath();
+            if (!base.resolve(path).normalize().startsWith(base)) {
+                throw new ValidationException("File is outside the import directory: " + path);
+            }
+
+            // Containment is checked on real paths, so neither a link to the file nor one to a directory can escape
+            Path file = base.resolve(path).toRealPath();
+            if (!file.startsWith(base) || isSpooled(file)) {
+                throw new ValidationException("File is outside the import directory: " + path);
+            }
+            if (!Files.isRegularFile(file) || !Files.isReadable(file)) {
+                throw new ValidationException("File not found: " + path);
+            }
+            return file;
+
+        } catch (NoSuchFileException e) {
+            throw new ValidationException("File not found: " + path);
+        } catch (IOException | InvalidPathException e) {
+            throw new ValidationException("Cannot read file: " + path, e);
+        }
+    }
+
+    private boolean isSpooled(Path realFile) throws IOException {
+        Path spoolDir = jobProperties.getSpoolDir();
+        return Files.exists(spoolDir) && realFile.startsWith(spoolDir.toRealPath());
+    }
+}
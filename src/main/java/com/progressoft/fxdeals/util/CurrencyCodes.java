@@ -0,0 +1,90 @@
+package com.progressoft.fxdeals.util;
+
+import java.util.Currency;
+import java.util.Set;
+
+/**
+ * Dense lookup table of the currency codes accepted on deals.
+ * <p>
+ * Every three-letter code maps to an index in {@code [0, 26^3)}. A bitmap of
+ * that size (2.2 KB) marks the ISO 4217 codes known to the JDK minus the
+ * blacklist, and a parallel table holds the canonical upper-case string for
+ * each accepted code. Both are built once, so a lookup reads the raw
+ * characters and allocates nothing.
+ */
+public final class CurrencyCodes {
+
+    /** Returned by {@link #indexOf} when the value is not three ASCII letters. */
+    public static final int INVALID_FORMAT = -1;
+
+    private static final int SIZE = 26 * 26 * 26;
+
+    // Codes that are technically valid ISO 4217 but not real currencies
+    static final Set<String> BLACKLISTED_CURRENCIES = Set.of(
+            "XXX", // No currency
+            "XTS", // Test currency
+            "XAU", // Gold (not a circulating currency)
+            "XAG", // Silver
+            "XPT", // Platinum
+            "XPD"  // Palladium
+    );
+
+    private static final long[] ACCEPTED = new long[(SIZE + 63) / 64];
+    private static final String[] CODES = new String[SIZE];
+
+    static {
+        for (Currency currency : Currency.getAvailableCurrencies()) {
+            String code = currency.getCurrencyCode();
+            int index = indexOf(code);
+            if (index != INVALID_FORMAT && !BLACKLISTED_CURRENCIES.contains(code)) {
+                ACCEPTED[index >>> 6] |= 1L << index;
+                CODES[index] = code;
+            }
+        }
+    }
+
+    private CurrencyCodes() {}
+
+    /**
+     * Returns the table index of {@code value}, ignoring surrounding
+     * whitespace and letter case, or {@link #INVALID_FORMAT} if it is not
+     * exactly three ASCII letters.
+     */
+    public static int indexOf(String value) {
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (end - start != 3) {
+            return INVALID_FORMAT;
+        }
+
+        int index = 0;
+        for (int i = start; i < end; i++) {
+            int letter = (value.charAt(i) | 0x20) - 'a'; // fold ASCII case
+            if (letter < 0 || letter >= 26) {
+                return INVALID_FORMAT;
+            }
+            index = index * 26 + letter;
+        }
+        return index;
+    }
+
+    /**
+     * Whether the code at {@code index} is an accepted currency.
+     */
+    public static boolean isAccepted(int index) {
+        return (ACCEPTED[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Canonical upper-case code for an accepted {@code index}.
+     */
+    public static String code(int index) {
+        return CODES[index];
+    }
+}
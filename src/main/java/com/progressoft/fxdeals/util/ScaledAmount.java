@@ -0,0 +1,197 @@
+package com.progressoft.fxdeals.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Deal amounts as unscaled {@code long} values at the scale of the
+ * {@code DECIMAL(19,4)} column, so {@code 1000.5} is held as {@code 10005000}.
+ * A long covers every amount up to 922,337,203,685,477.5807, which fits the
+ * column's 15 integer digits.
+ */
+public final class ScaledAmount {
+
+    public static final int SCALE = 4;
+
+    /** Returned by {@link #parse} for text that is not a decimal number. */
+    static final long INVALID_FORMAT = -1;
+    /** Returned by {@link #parse} for zero and negative amounts. */
+    static final long NOT_POSITIVE = -2;
+    /** Returned by {@link #parse} for amounts with non-zero digits past the scale. */
+    static final long TOO_MANY_DECIMALS = -3;
+    /** Returned by {@link #parse} for amounts too large for a long at the scale. */
+    static final long OUT_OF_RANGE = -4;
+
+    private static final long[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000};
+
+    private ScaledAmount() {}
+
+    /**
+     * Parses a positive decimal amount, ignoring surrounding whitespace.
+     * Returns the unscaled value, which is always positive, or one of the
+     * negative error constants. Plain ASCII decimals are parsed without
+     * allocating; exponents and non-ASCII digits go through {@link BigDecimal}.
+     */
+    static long parse(String text) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        int i = start;
+        boolean negative = false;
+        if (i < end && (text.charAt(i) == '+' || text.charAt(i) == '-')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+
+        long value = 0;
+        int digits = 0;
+        int decimals = -1; // digits after the point; -1 before it
+        boolean nonZero = false;
+        boolean tooManyDecimals = false;
+        boolean overflow = false;
+
+        for (; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '.' && decimals < 0) {
+                decimals = 0;
+                continue;
+            }
+            int digit = c - '0';
+            if (digit < 0 || digit > 9) {
+                return parseSlow(text.substring(start, end));
+            }
+
+            digits++;
+            nonZero |= digit != 0;
+            if (decimals >= 0 && ++decimals > SCALE) {
+                tooManyDecimals |= digit != 0;
+                continue;
+            }
+            if (value > (Long.MAX_VALUE - digit) / 10) {
+                overflow = true;
+            } else {
+                value = value * 10 + digit;
+            }
+        }
+
+        if (digits == 0) {
+            return INVALID_FORMAT;
+        }
+        if (negative || !nonZero) {
+            return NOT_POSITIVE;
+        }
+        if (tooManyDecimals) {
+            return TOO_MANY_DECIMALS;
+        }
+
+        long factor = POWERS_OF_TEN[SCALE - Math.max(0, Math.min(decimals, SCALE))];
+        if (overflow || value > Long.MAX_VALUE / factor) {
+            return OUT_OF_RANGE;
+        }
+        return value * factor;
+    }
+
+    private static long parseSlow(String text) {
+        if (!isDecimal(text)) {
+            return INVALID_FORMAT;
+        }
+
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(text);
+        } catch (NumberFormatException e) {
+            return INVALID_FORMAT; // exponent out of range
+        }
+
+        if (amount.signum() <= 0) {
+            return NOT_POSITIVE;
+        }
+        if (amount.stripTrailingZeros().scale() > SCALE) {
+            return TOO_MANY_DECIMALS;
+        }
+        if (amount.precision() - amount.scale() > 19) {
+            return OUT_OF_RANGE; // avoid building huge values for 1E+999999
+        }
+        var unscaled = amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue();
+        return unscaled.bitLength() > 63 ? OUT_OF_RANGE : unscaled.longValue();
+    }
+
+    /**
+     * Checks the {@link BigDecimal#BigDecimal(String)} grammar up front:
+     * optional sign, digits with an optional fraction, optional exponent.
+     */
+    private static boolean isDecimal(String text) {
+        int length = text.length();
+        int i = 0;
+        if (i < length && (text.charAt(i) == '+' || text.charAt(i) == '-')) {
+            i++;
+        }
+
+        int digits = 0;
+        while (i < length && Character.isDigit(text.charAt(i))) {
+            i++;
+            digits++;
+        }
+        if (i < length && text.charAt(i) == '.') {
+            i++;
+            while (i < length && Character.isDigit(text.charAt(i))) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+
+        if (i < length && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (text.charAt(i) == '+' || text.charAt(i) == '-')) {
+                i++;
+            }
+            int exponentDigits = 0;
+            while (i < length && Character.isDigit(text.charAt(i))) {
+                i++;
+                exponentDigits++;
+            }
+            if (exponentDigits == 0) {
+                return false;
+            }
+        }
+        return i == length;
+    }
+
+    public static BigDecimal toBigDecimal(long unscaled) {
+        return BigDecimal.valueOf(unscaled, SCALE);
+    }
+
+    /**
+     * Converts an amount to its unscaled value. Throws
+     * {@link ArithmeticException} if it has more than four decimal places or
+     * does not fit a long.
+     */
+    public static long toUnscaled(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Appends the amount in plain notation with four decimal places.
+     */
+    public static StringBuilder append(StringBuilder out, long unscaled) {
+        long whole = unscaled / POWERS_OF_TEN[SCALE];
+        int fraction = (int) Math.abs(unscaled % POWERS_OF_TEN[SCALE]);
+        if (unscaled < 0 && whole == 0) {
+            out.append('-');
+        }
+        out.append(whole).append('.');
+        for (int pad = (int) POWERS_OF_TEN[SCALE - 1]; pad > 1 && fraction < pad; pad /= 10) {
+            out.append('0');
+        }
+        return out.append(fraction);
+    }
+}
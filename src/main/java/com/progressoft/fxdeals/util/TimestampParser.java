@@ -0,0 +1,97 @@
+package com.progressoft.fxdeals.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Fast path for timestamps in the exact {@code yyyy-MM-dd'T'HH:mm:ss} layout.
+ * <p>
+ * Digits are read straight from the characters. Only values the
+ * {@code DateTimeFormatter} would resolve to the same result are accepted:
+ * years 0001-9999, a day that exists in its month, hours 00-23. Anything else
+ * (wider years, {@code 24:00:00}, February 30th, or plain garbage) is left to
+ * the formatter, so accepted and rejected inputs match it exactly.
+ * <p>
+ * The last resolved date is cached, since consecutive rows almost always
+ * share it.
+ */
+final class TimestampParser {
+
+    private static final int LENGTH = 19;
+
+    private static volatile CachedDate lastDate = new CachedDate(0, null);
+
+    private TimestampParser() {}
+
+    /**
+     * Parses {@code text} if it is a well-formed timestamp in the fixed
+     * layout, or returns {@code null} if it must go through the formatter.
+     */
+    static LocalDateTime parse(String text) {
+        if (text.length() != LENGTH
+                || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T'
+                || text.charAt(13) != ':' || text.charAt(16) != ':') {
+            return null;
+        }
+
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 2);
+        int day = digits(text, 8, 2);
+        int hour = digits(text, 11, 2);
+        int minute = digits(text, 14, 2);
+        int second = digits(text, 17, 2);
+        if ((year | month | day | hour | minute | second) < 0
+                || year == 0 || month == 0 || month > 12 || day == 0
+                || hour > 23 || minute > 59 || second > 59) {
+            return null;
+        }
+
+        LocalDate date = date(year, month, day);
+        if (date == null) {
+            return null;
+        }
+        return LocalDateTime.of(date, LocalTime.of(hour, minute, second));
+    }
+
+    private static LocalDate date(int year, int month, int day) {
+        int key = (year * 100 + month) * 100 + day;
+        CachedDate cached = lastDate;
+        if (cached.key == key) {
+            return cached.date;
+        }
+
+        if (day > lengthOfMonth(year, month)) {
+            return null;
+        }
+        LocalDate date = LocalDate.of(year, month, day);
+        lastDate = new CachedDate(key, date);
+        return date;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    /**
+     * Reads {@code count} ASCII digits, or returns -1 if any is not a digit.
+     */
+    private static int digits(String text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private record CachedDate(int key, LocalDate date) {
+    }
+}
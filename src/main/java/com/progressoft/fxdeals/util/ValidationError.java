@@ -0,0 +1,90 @@
+package com.progressoft.fxdeals.util;
+
+import com.progressoft.fxdeals.dto.DealDTO;
+
+/**
+ * Reasons a CSV row can be rejected. Each error knows the column it refers to
+ * and a message template; the message is only rendered when a report needs it.
+ */
+public enum ValidationError {
+
+    UNEXPECTED_COLUMN_COUNT(ValidationError.ROW, "Unexpected number of columns"),
+
+    DEAL_ID_REQUIRED(0, "Deal ID is required"),
+    FROM_CURRENCY_REQUIRED(1, "From Currency is required"),
+    TO_CURRENCY_REQUIRED(2, "To Currency is required"),
+    TIMESTAMP_REQUIRED(3, "Deal Timestamp is required"),
+    AMOUNT_REQUIRED(4, "Deal Amount is required"),
+
+    FROM_CURRENCY_FORMAT(1, "Invalid From Currency format: '%s'. Must be 3 uppercase letters."),
+    TO_CURRENCY_FORMAT(2, "Invalid To Currency format: '%s'. Must be 3 uppercase letters."),
+    FROM_CURRENCY_CODE(1, "Invalid From Currency code: '%s' is not a valid ISO 4217 currency."),
+    TO_CURRENCY_CODE(2, "Invalid To Currency code: '%s' is not a valid ISO 4217 currency."),
+    TIMESTAMP_FORMAT(3, "Invalid timestamp format: '%s'. Expected format: yyyy-MM-dd'T'HH:mm:ss"),
+    AMOUNT_FORMAT(4, "Invalid amount format: '%s'. Must be a valid decimal number."),
+    AMOUNT_NOT_POSITIVE(4, "Deal amount must be positive: '%s'"),
+    AMOUNT_TOO_MANY_DECIMALS(4, "Invalid amount: '%s'. At most 4 decimal places are allowed."),
+    AMOUNT_OUT_OF_RANGE(4, "Deal amount is out of range: '%s'");
+
+    /** Field index of errors that concern the whole row. */
+    public static final int ROW = -1;
+
+    private static final String[] COLUMNS = {"dealId", "fromCurrency", "toCurrency", "dealTimestamp", "dealAmount"};
+
+    private final int field;
+    private final String template;
+    private final boolean hasValue;
+
+    ValidationError(int field, String template) {
+        this.field = field;
+        this.template = template;
+        this.hasValue = template.contains("%s");
+    }
+
+    /**
+     * 0-based CSV column the error refers to, or {@link #ROW}.
+     */
+    public int field() {
+        return field;
+    }
+
+    /**
+     * Header name of the column the error refers to, or {@code null} for
+     * errors that concern the whole row.
+     */
+    public String column() {
+        return field == ROW ? null : COLUMNS[field];
+    }
+
+    /**
+     * The raw value the message is about, or {@code null} if it has none.
+     */
+    public String value(DealDTO dealDTO) {
+        if (!hasValue) {
+            return null;
+        }
+        return switch (field) {
+            case 1 -> dealDTO.getFromCurrency();
+            case 2 -> dealDTO.getToCurrency();
+            case 3 -> dealDTO.getDealTimestamp();
+            case 4 -> dealDTO.getDealAmount();
+            default -> dealDTO.getDealId();
+        };
+    }
+
+    /**
+     * Renders the message for a raw value taken with {@link #value}.
+     * Currency codes are shown trimmed and upper-cased.
+     */
+    public String message(String value) {
+        if (!hasValue) {
+            return template;
+        }
+        String shown = field == 1 || field == 2 ? value.trim().toUpperCase() : value;
+        return String.format(template, shown);
+    }
+
+    public String message(DealDTO dealDTO) {
+        return message(value(dealDTO));
+    }
+}
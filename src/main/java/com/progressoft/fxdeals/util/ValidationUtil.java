@@ -4,121 +4,114 @@ import com.progressoft.fxdeals.dto.DealDTO;
 import com.progressoft.fxdeals.exception.ValidationException;
 import lombok.extern.slf4j.Slf4j;
 
-import java.math.BigDecimal;
+import java.text.ParsePosition;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.Currency;
-import java.util.Set;
-import java.util.regex.Pattern;
 
 @Slf4j
 public class ValidationUtil {
 
-    private static final Pattern ISO_CURRENCY_PATTERN = Pattern.compile("^[A-Z]{3}$");
     private static final DateTimeFormatter ISO_TIMESTAMP_FORMATTER =
             DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
 
-    // Blacklisted currency codes that are technically valid ISO 4217 but not real currencies
-    private static final Set<String> BLACKLISTED_CURRENCIES = Set.of(
-            "XXX", // No currency
-            "XTS", // Test currency
-            "XAU", // Gold (not a circulating currency)
-            "XAG", // Silver
-            "XPT", // Platinum
-            "XPD"  // Palladium
-    );
-
     private ValidationUtil() {}
 
+    /**
+     * Throwing form of {@link #validate}, kept for callers that report a
+     * single deal.
+     */
     public static void validateDeal(DealDTO dealDTO) throws ValidationException {
-        validateMandatoryFields(dealDTO);
-        validateCurrencyCodes(dealDTO);
-        validateAndParseTimestamp(dealDTO);
-        validateAndParseAmount(dealDTO);
+        ValidationError error = validate(dealDTO);
+        if (error != null) {
+            throw new ValidationException(error.message(dealDTO));
+        }
     }
 
-    private static void validateMandatoryFields(DealDTO dealDTO) throws ValidationException {
-        if (isBlank(dealDTO.getDealId())) throw new ValidationException("Deal ID is required");
-        if (isBlank(dealDTO.getFromCurrency())) throw new ValidationException("From Currency is required");
-        if (isBlank(dealDTO.getToCurrency())) throw new ValidationException("To Currency is required");
-        if (isBlank(dealDTO.getDealTimestamp())) throw new ValidationException("Deal Timestamp is required");
-        if (isBlank(dealDTO.getDealAmount())) throw new ValidationException("Deal Amount is required");
+    /**
+     * Validates the deal and fills in its normalized currencies and parsed
+     * timestamp and amount. Returns the first error found, or {@code null} if
+     * the deal is valid. Rejecting a row throws nothing and builds no message.
+     */
+    public static ValidationError validate(DealDTO dealDTO) {
+        ValidationError error = validateMandatoryFields(dealDTO);
+        if (error == null) {
+            error = validateCurrencyCodes(dealDTO);
+        }
+        if (error == null) {
+            error = validateAndParseTimestamp(dealDTO);
+        }
+        if (error == null) {
+            error = validateAndParseAmount(dealDTO);
+        }
+        return error;
     }
 
-    private static void validateCurrencyCodes(DealDTO dealDTO) throws ValidationException {
-        String fromCurrency = dealDTO.getFromCurrency().trim().toUpperCase();
-        String toCurrency = dealDTO.getToCurrency().trim().toUpperCase();
+    private static ValidationError validateMandatoryFields(DealDTO dealDTO) {
+        if (isBlank(dealDTO.getDealId())) return ValidationError.DEAL_ID_REQUIRED;
+        if (isBlank(dealDTO.getFromCurrency())) return ValidationError.FROM_CURRENCY_REQUIRED;
+        if (isBlank(dealDTO.getToCurrency())) return ValidationError.TO_CURRENCY_REQUIRED;
+        if (isBlank(dealDTO.getDealTimestamp())) return ValidationError.TIMESTAMP_REQUIRED;
+        if (isBlank(dealDTO.getDealAmount())) return ValidationError.AMOUNT_REQUIRED;
+        return null;
+    }
 
-        if (!ISO_CURRENCY_PATTERN.matcher(fromCurrency).matches()) {
-            throw new ValidationException(
-                    String.format("Invalid From Currency format: '%s'. Must be 3 uppercase letters.", fromCurrency));
-        }
+    private static ValidationError validateCurrencyCodes(DealDTO dealDTO) {
+        int fromCurrency = CurrencyCodes.indexOf(dealDTO.getFromCurrency());
+        int toCurrency = CurrencyCodes.indexOf(dealDTO.getToCurrency());
 
-        if (!ISO_CURRENCY_PATTERN.matcher(toCurrency).matches()) {
-            throw new ValidationException(
-                    String.format("Invalid To Currency format: '%s'. Must be 3 uppercase letters.", toCurrency));
-        }
-
-        // Check if currency is blacklisted
-        if (BLACKLISTED_CURRENCIES.contains(fromCurrency)) {
-            throw new ValidationException(
-                    String.format("Invalid From Currency code: '%s' is not a valid ISO 4217 currency.", fromCurrency));
-        }
+        if (fromCurrency == CurrencyCodes.INVALID_FORMAT) return ValidationError.FROM_CURRENCY_FORMAT;
+        if (toCurrency == CurrencyCodes.INVALID_FORMAT) return ValidationError.TO_CURRENCY_FORMAT;
+        if (!CurrencyCodes.isAccepted(fromCurrency)) return ValidationError.FROM_CURRENCY_CODE;
+        if (!CurrencyCodes.isAccepted(toCurrency)) return ValidationError.TO_CURRENCY_CODE;
 
-        if (BLACKLISTED_CURRENCIES.contains(toCurrency)) {
-            throw new ValidationException(
-                    String.format("Invalid To Currency code: '%s' is not a valid ISO 4217 currency.", toCurrency));
-        }
+        dealDTO.setFromCurrency(CurrencyCodes.code(fromCurrency));
+        dealDTO.setToCurrency(CurrencyCodes.code(toCurrency));
+        return null;
+    }
 
-        try {
-            Currency.getInstance(fromCurrency);
-        } catch (IllegalArgumentException e) {
-            throw new ValidationException(
-                    String.format("Invalid From Currency code: '%s' is not a valid ISO 4217 currency.", fromCurrency));
+    /**
+     * Timestamps in the usual fixed layout are parsed by {@link TimestampParser}.
+     * Everything else goes to the formatter: malformed text is caught by an
+     * unresolved parse, which reports errors through the parse position
+     * instead of throwing, and only well-formed text with out-of-range values
+     * (month 13, say) still goes through an exception.
+     */
+    private static ValidationError validateAndParseTimestamp(DealDTO dealDTO) {
+        String text = dealDTO.getDealTimestamp().trim();
+        LocalDateTime timestamp = TimestampParser.parse(text);
+        if (timestamp != null) {
+            dealDTO.setParsedTimestamp(timestamp);
+            return null;
         }
 
-        try {
-            Currency.getInstance(toCurrency);
-        } catch (IllegalArgumentException e) {
-            throw new ValidationException(
-                    String.format("Invalid To Currency code: '%s' is not a valid ISO 4217 currency.", toCurrency));
+        ParsePosition position = new ParsePosition(0);
+        if (ISO_TIMESTAMP_FORMATTER.parseUnresolved(text, position) == null
+                || position.getErrorIndex() >= 0
+                || position.getIndex() != text.length()) {
+            return ValidationError.TIMESTAMP_FORMAT;
         }
 
-        dealDTO.setFromCurrency(fromCurrency);
-        dealDTO.setToCurrency(toCurrency);
-    }
-
-    private static void validateAndParseTimestamp(DealDTO dealDTO) throws ValidationException {
         try {
-            LocalDateTime ts = LocalDateTime.parse(dealDTO.getDealTimestamp().trim(), ISO_TIMESTAMP_FORMATTER);
-            dealDTO.setParsedTimestamp(ts);
+            dealDTO.setParsedTimestamp(LocalDateTime.parse(text, ISO_TIMESTAMP_FORMATTER));
+            return null;
         } catch (DateTimeParseException e) {
-            throw new ValidationException(
-                    String.format("Invalid timestamp format: '%s'. Expected format: yyyy-MM-dd'T'HH:mm:ss",
-                            dealDTO.getDealTimestamp()), e);
+            return ValidationError.TIMESTAMP_FORMAT;
         }
     }
 
-    private static void validateAndParseAmount(DealDTO dealDTO) throws ValidationException {
-        BigDecimal amount;
-        try {
-            amount = new BigDecimal(dealDTO.getDealAmount().trim());
-        } catch (NumberFormatException e) {
-            throw new ValidationException(
-                    String.format("Invalid amount format: '%s'. Must be a valid decimal number.",
-                            dealDTO.getDealAmount()), e);
-        }
-
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new ValidationException(
-                    String.format("Deal amount must be positive: '%s'", dealDTO.getDealAmount()));
-        }
+    private static ValidationError validateAndParseAmount(DealDTO dealDTO) {
+        long unscaled = ScaledAmount.parse(dealDTO.getDealAmount());
+        if (unscaled == ScaledAmount.INVALID_FORMAT) return ValidationError.AMOUNT_FORMAT;
+        if (unscaled == ScaledAmount.NOT_POSITIVE) return ValidationError.AMOUNT_NOT_POSITIVE;
+        if (unscaled == ScaledAmount.TOO_MANY_DECIMALS) return ValidationError.AMOUNT_TOO_MANY_DECIMALS;
+        if (unscaled == ScaledAmount.OUT_OF_RANGE) return ValidationError.AMOUNT_OUT_OF_RANGE;
 
-        dealDTO.setParsedAmount(amount);
+        dealDTO.setParsedAmountUnscaled(unscaled);
+        return null;
     }
 
     private static boolean isBlank(String value) {
         return value == null || value.trim().isEmpty();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,72 @@
+package com.progressoft.fxdeals.benchmark;
+
+import com.progressoft.fxdeals.util.CurrencyCodes;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Currency;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the lookup-table currency check with the previous
+ * trim/upper-case/regex/{@code Currency.getInstance} implementation, on a mix
+ * of valid, lower-case, blacklisted and malformed codes.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.progressoft.fxdeals.benchmark.CurrencyValidationBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurrencyValidationBenchmark {
+
+    private static final Pattern ISO_CURRENCY_PATTERN = Pattern.compile("^[A-Z]{3}$");
+    private static final Set<String> BLACKLISTED_CURRENCIES = Set.of("XXX", "XTS", "XAU", "XAG", "XPT", "XPD");
+
+    private final String[] codes = {"USD", "EUR", "jpy", " GBP", "CHF", "XXX", "US1", "QQQ", "AUD", "CAD"};
+
+    @Benchmark
+    public void lookupTable(Blackhole blackhole) {
+        for (String code : codes) {
+            int index = CurrencyCodes.indexOf(code);
+            blackhole.consume(index != CurrencyCodes.INVALID_FORMAT && CurrencyCodes.isAccepted(index)
+                    ? CurrencyCodes.code(index)
+                    : null);
+        }
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        for (String code : codes) {
+            blackhole.consume(legacyValidate(code));
+        }
+    }
+
+    private static String legacyValidate(String value) {
+        String code = value.trim().toUpperCase();
+        if (!ISO_CURRENCY_PATTERN.matcher(code).matches() || BLACKLISTED_CURRENCIES.contains(code)) {
+            return null;
+        }
+        try {
+            Currency.getInstance(code);
+            return code;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CurrencyValidationBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
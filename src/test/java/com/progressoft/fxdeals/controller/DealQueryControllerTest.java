@@ -0,0 +1,243 @@
+package com.progressoft.fxdeals.controller;
+
+import com.progressoft.fxdeals.dto.DealPageDTO;
+import com.progressoft.fxdeals.dto.DealResponseDTO;
+import com.progressoft.fxdeals.dto.DealVolumeDTO;
+import com.progressoft.fxdeals.dto.RollupRebuildDTO;
+import com.progressoft.fxdeals.exception.DealNotFoundException;
+import com.progressoft.fxdeals.exception.RollupRebuildNotFoundException;
+import com.progressoft.fxdeals.exception.RollupRebuildQueueFullException;
+import com.progressoft.fxdeals.exception.ValidationException;
+import com.progressoft.fxdeals.model.ImportJobStatus;
+import com.progressoft.fxdeals.repository.DealFilter;
+import com.progressoft.fxdeals.service.DealExportService;
+import com.progressoft.fxdeals.service.DealQueryService;
+import com.progressoft.fxdeals.service.DealVolumeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(DealQueryController.class)
+@DisplayName("DealQueryController Tests")
+class DealQueryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DealQueryService dealQueryService;
+
+    @MockBean
+    private DealExportService dealExportService;
+
+    @MockBean
+    private DealVolumeService dealVolumeService;
+
+    @Test
+    @DisplayName("Should pass filters and cursor to the service and return the page")
+    void shouldReturnPageOfDeals() throws Exception {
+        DealFilter filter = new DealFilter("USD", "EUR",
+                LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 2, 1, 0, 0));
+        DealResponseDTO deal = DealResponseDTO.builder()
+                .dealId("DEAL001")
+                .fromCurrency("USD")
+                .toCurrency("EUR")
+                .dealTimestamp(LocalDateTime.of(2025, 1, 15, 10, 30))
+                .dealAmount(new BigDecimal("1000.5000"))
+                .build();
+        when(dealQueryService.findDeals(eq(filter), eq("abc"), eq(50)))
+                .thenReturn(new DealPageDTO(List.of(deal), "next"));
+
+        mockMvc.perform(get("/api/deals")
+                        .param("fromCurrency", "USD")
+                        .param("toCurrency", "EUR")
+                        .param("from", "2025-01-01T00:00:00")
+                        .param("to", "2025-02-01T00:00:00")
+                        .param("cursor", "abc")
+                        .param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deals[0].dealId").value("DEAL001"))
+                .andExpect(jsonPath("$.deals[0].dealTimestamp").value("2025-01-15T10:30:00"))
+                .andExpect(jsonPath("$.deals[0].dealAmount").value(1000.5))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an invalid query")
+    void shouldReturn400ForInvalidQuery() throws Exception {
+        when(dealQueryService.findDeals(any(), isNull(), isNull()))
+                .thenThrow(new ValidationException("Invalid currency code: 'XXX'"));
+
+        mockMvc.perform(get("/api/deals").param("fromCurrency", "XXX"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid currency code: 'XXX'"));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for a malformed timestamp")
+    void shouldReturn400ForMalformedTimestamp() throws Exception {
+        mockMvc.perform(get("/api/deals").param("from", "yesterday"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return a single deal by ID")
+    void shouldReturnDealById() throws Exception {
+        when(dealQueryService.findDeal("DEAL001")).thenReturn(DealResponseDTO.builder()
+                .dealId("DEAL001")
+                .fromCurrency("USD")
+                .toCurrency("EUR")
+                .dealTimestamp(LocalDateTime.of(2025, 1, 15, 10, 30))
+                .dealAmount(new BigDecimal("1000.5000"))
+                .build());
+
+        mockMvc.perform(get("/api/deals/id/DEAL001"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dealId").value("DEAL001"))
+                .andExpect(jsonPath("$.dealAmount").value(1000.5));
+    }
+
+    @Test
+    @DisplayName("Should look up deal IDs that match other endpoint names")
+    void shouldReturnDealWhoseIdIsAnEndpointName() throws Exception {
+        when(dealQueryService.findDeal("export")).thenReturn(DealResponseDTO.builder().dealId("export").build());
+
+        mockMvc.perform(get("/api/deals/id/export"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dealId").value("export"));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an unknown deal ID")
+    void shouldReturn404ForUnknownDeal() throws Exception {
+        when(dealQueryService.findDeal("MISSING")).thenThrow(new DealNotFoundException("Deal not found: MISSING"));
+
+        mockMvc.perform(get("/api/deals/id/MISSING"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Deal not found: MISSING"));
+    }
+
+    @Test
+    @DisplayName("Should stream the export as a CSV attachment")
+    void shouldStreamExport() throws Exception {
+        DealFilter filter = new DealFilter("USD", null, null, null);
+        StreamingResponseBody body = out -> out.write("dealId,fromCurrency\n".getBytes(StandardCharsets.UTF_8));
+        when(dealExportService.export(filter, true)).thenReturn(body);
+
+        MvcResult started = mockMvc.perform(get("/api/deals/export")
+                        .param("fromCurrency", "USD")
+                        .param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andExpect(header().string("Content-Disposition", containsString("deals.csv.gz")))
+                .andExpect(content().string("dealId,fromCurrency\n"));
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid export filter before streaming")
+    void shouldRejectInvalidExportFilter() throws Exception {
+        when(dealExportService.export(any(), eq(false))).thenThrow(new ValidationException("Invalid currency code"));
+
+        mockMvc.perform(get("/api/deals/export").param("toCurrency", "XXX"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return volume totals per currency pair")
+    void shouldReturnVolumes() throws Exception {
+        DealFilter filter = new DealFilter(null, null, LocalDateTime.of(2025, 1, 1, 0, 0), null);
+        when(dealVolumeService.findVolumes(filter)).thenReturn(List.of(DealVolumeDTO.builder()
+                .fromCurrency("USD")
+                .toCurrency("EUR")
+                .dealCount(3)
+                .totalAmount(new BigDecimal("300.0000"))
+                .minAmount(new BigDecimal("50.0000"))
+                .maxAmount(new BigDecimal("150.0000"))
+                .build()));
+
+        mockMvc.perform(get("/api/deals/volume").param("from", "2025-01-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].fromCurrency").value("USD"))
+                .andExpect(jsonPath("$[0].dealCount").value(3))
+                .andExpect(jsonPath("$[0].totalAmount").value(300.0));
+    }
+
+    @Test
+    @DisplayName("Should queue a volume rollup rebuild for the requested range")
+    void shouldQueueVolumeRebuild() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 2, 1, 0, 0);
+        when(dealVolumeService.startRebuild(from, to)).thenReturn(RollupRebuildDTO.builder()
+                .rebuildId("r1")
+                .status(ImportJobStatus.QUEUED)
+                .build());
+
+        mockMvc.perform(post("/api/deals/volume/rebuild")
+                        .param("from", "2025-01-01T00:00:00")
+                        .param("to", "2025-02-01T00:00:00"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.rebuildId").value("r1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    @DisplayName("Should return the state of a volume rollup rebuild")
+    void shouldReturnRebuildState() throws Exception {
+        when(dealVolumeService.getRebuild("r1")).thenReturn(RollupRebuildDTO.builder()
+                .rebuildId("r1")
+                .status(ImportJobStatus.RUNNING)
+                .rebuiltUntil(LocalDateTime.of(2025, 1, 10, 0, 0))
+                .buckets(42)
+                .build());
+
+        mockMvc.perform(get("/api/deals/volume/rebuild/r1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RUNNING"))
+                .andExpect(jsonPath("$.buckets").value(42));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an unknown volume rollup rebuild")
+    void shouldReturnNotFoundForUnknownRebuild() throws Exception {
+        when(dealVolumeService.getRebuild("missing"))
+                .thenThrow(new RollupRebuildNotFoundException("Rollup rebuild not found: missing"));
+
+        mockMvc.perform(get("/api/deals/volume/rebuild/missing"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should return 503 when the rebuild queue is full")
+    void shouldReturnServiceUnavailableWhenRebuildQueueIsFull() throws Exception {
+        when(dealVolumeService.startRebuild(null, null)).thenThrow(new RollupRebuildQueueFullException(
+                "Rollup rebuild queue is full, please retry later", new RejectedExecutionException()));
+
+        mockMvc.perform(post("/api/deals/volume/rebuild"))
+                .andExpect(status().isServiceUnavailable());
+    }
+}
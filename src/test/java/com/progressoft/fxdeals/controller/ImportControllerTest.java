@@ -1,21 +1,44 @@
 package com.progressoft.fxdeals.controller;
 
+import com.progressoft.fxdeals.dto.ImportJobDTO;
 import com.progressoft.fxdeals.dto.ImportResultDTO;
+import com.progressoft.fxdeals.exception.ImportJobNotFoundException;
+import com.progressoft.fxdeals.exception.ImportQueueFullException;
+import com.progressoft.fxdeals.exception.ImportReportNotFoundException;
+import com.progressoft.fxdeals.model.ImportJobStatus;
 import com.progressoft.fxdeals.service.CSVImporterService;
+import com.progressoft.fxdeals.exception.ValidationException;
+import com.progressoft.fxdeals.service.ImportJobService;
+import com.progressoft.fxdeals.service.ImportProgress;
+import com.progressoft.fxdeals.service.ImportProgressPublisher;
+import com.progressoft.fxdeals.service.ImportReportStore;
+import com.progressoft.fxdeals.service.RowStatus;
+import com.progressoft.fxdeals.service.ServerFileResolver;
+import com.progressoft.fxdeals.service.ImportMode;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -30,6 +53,18 @@ class ImportControllerTest {
     @MockBean
     private CSVImporterService csvImporterService;
 
+    @MockBean
+    private ImportJobService importJobService;
+
+    @MockBean
+    private ServerFileResolver serverFileResolver;
+
+    @MockBean
+    private ImportReportStore importReportStore;
+
+    @MockBean
+    private ImportProgressPublisher importProgressPublisher;
+
     @Test
     @DisplayName("Should return 200 OK for successful import")
     void shouldReturn200ForSuccessfulImport() throws Exception {
@@ -52,7 +87,7 @@ class ImportControllerTest {
                 .duplicateRecords(0)
                 .build();
 
-        when(csvImporterService.importDeals(any())).thenReturn(result);
+        when(csvImporterService.importDeals(any(), eq(ImportMode.BATCH))).thenReturn(result);
 
         mockMvc.perform(multipart("/api/deals/import")
                         .file(file))
@@ -117,7 +152,7 @@ class ImportControllerTest {
                 .duplicateRecords(0)
                 .build();
 
-        when(csvImporterService.importDeals(any())).thenReturn(result);
+        when(csvImporterService.importDeals(any(), eq(ImportMode.BATCH))).thenReturn(result);
 
         mockMvc.perform(multipart("/api/deals/import")
                         .file(file))
@@ -146,7 +181,7 @@ class ImportControllerTest {
                 .duplicateRecords(0)
                 .build();
 
-        when(csvImporterService.importDeals(any())).thenReturn(result);
+        when(csvImporterService.importDeals(any(), eq(ImportMode.BATCH))).thenReturn(result);
 
         mockMvc.perform(multipart("/api/deals/import")
                         .file(file))
@@ -176,7 +211,7 @@ class ImportControllerTest {
                 .errors(List.of("Row 2: Deal ID is required"))
                 .build();
 
-        when(csvImporterService.importDeals(any())).thenReturn(result);
+        when(csvImporterService.importDeals(any(), eq(ImportMode.BATCH))).thenReturn(result);
 
         mockMvc.perform(multipart("/api/deals/import")
                         .file(file))
@@ -210,7 +245,7 @@ class ImportControllerTest {
                 .errors(List.of("Row 3: Deal ID is required"))
                 .build();
 
-        when(csvImporterService.importDeals(any())).thenReturn(result);
+        when(csvImporterService.importDeals(any(), eq(ImportMode.BATCH))).thenReturn(result);
 
         mockMvc.perform(multipart("/api/deals/import")
                         .file(file))
@@ -243,7 +278,7 @@ class ImportControllerTest {
                 .warnings(List.of("Row 3: Duplicate deal ID 'DEAL001'"))
                 .build();
 
-        when(csvImporterService.importDeals(any())).thenReturn(result);
+        when(csvImporterService.importDeals(any(), eq(ImportMode.BATCH))).thenReturn(result);
 
         mockMvc.perform(multipart("/api/deals/import")
                         .file(file))
@@ -282,7 +317,7 @@ class ImportControllerTest {
                 .duplicateRecords(0)
                 .build();
 
-        when(csvImporterService.importDeals(any())).thenReturn(result);
+        when(csvImporterService.importDeals(any(), eq(ImportMode.BATCH))).thenReturn(result);
 
         mockMvc.perform(multipart("/api/deals/import")
                         .file(file))
@@ -311,7 +346,7 @@ class ImportControllerTest {
                 .duplicateRecords(0)
                 .build();
 
-        when(csvImporterService.importDeals(any())).thenReturn(result);
+        when(csvImporterService.importDeals(any(), eq(ImportMode.BATCH))).thenReturn(result);
 
         mockMvc.perform(multipart("/api/deals/import")
                         .file(file))
@@ -351,7 +386,7 @@ class ImportControllerTest {
                 ))
                 .build();
 
-        when(csvImporterService.importDeals(any())).thenReturn(result);
+        when(csvImporterService.importDeals(any(), eq(ImportMode.BATCH))).thenReturn(result);
 
         mockMvc.perform(multipart("/api/deals/import")
                         .file(file))
@@ -360,4 +395,337 @@ class ImportControllerTest {
                 .andExpect(jsonPath("$.errors[0]").value("Row 2: Deal ID is required"))
                 .andExpect(jsonPath("$.errors[1]").value(containsString("XXX")));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should pass the requested import mode to the service")
+    void shouldPassRequestedImportModeToService() throws Exception {
+        String csvContent = """
+                dealId,fromCurrency,toCurrency,dealTimestamp,dealAmount
+                DEAL001,USD,EUR,2025-01-15T10:30:00,1000.50
+                """;
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "test.csv",
+                "text/csv",
+                csvContent.getBytes(StandardCharsets.UTF_8)
+        );
+
+        ImportResultDTO result = ImportResultDTO.builder()
+                .totalRecords(1)
+                .successfulRecords(1)
+                .build();
+
+        when(csvImporterService.importDeals(any(), eq(ImportMode.COPY))).thenReturn(result);
+
+        mockMvc.perform(multipart("/api/deals/import")
+                        .file(file)
+                        .param("mode", "COPY"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.successfulRecords").value(1));
+    }
+
+    @Test
+    @DisplayName("Should queue an async import and return 202 with the job ID")
+    void shouldQueueAsyncImport() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "test.csv",
+                "text/csv",
+                "dealId,fromCurrency,toCurrency,dealTimestamp,dealAmount\n".getBytes(StandardCharsets.UTF_8)
+        );
+
+        ImportJobDTO job = ImportJobDTO.builder()
+                .jobId("job-1")
+                .fileName("test.csv")
+                .mode(ImportMode.BATCH)
+                .status(ImportJobStatus.QUEUED)
+                .build();
+
+        when(importJobService.submit(any(), eq(ImportMode.BATCH))).thenReturn(job);
+
+        mockMvc.perform(multipart("/api/deals/import")
+                        .file(file)
+                        .param("async", "true"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId").value("job-1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+
+        verifyNoInteractions(csvImporterService);
+    }
+
+    @Test
+    @DisplayName("Should reject an empty file before queueing an async import")
+    void shouldRejectEmptyFileForAsyncImport() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "test.csv", "text/csv", new byte[0]);
+
+        mockMvc.perform(multipart("/api/deals/import")
+                        .file(file)
+                        .param("async", "true"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]").value("The uploaded file is empty"));
+
+        verifyNoInteractions(importJobService);
+    }
+
+    @Test
+    @DisplayName("Should return 503 when the import queue is full")
+    void shouldReturn503WhenImportQueueIsFull() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "test.csv",
+                "text/csv",
+                "dealId,fromCurrency,toCurrency,dealTimestamp,dealAmount\n".getBytes(StandardCharsets.UTF_8)
+        );
+
+        when(importJobService.submit(any(), any()))
+                .thenThrow(new ImportQueueFullException("Import queue is full, please retry later"));
+
+        mockMvc.perform(multipart("/api/deals/import")
+                        .file(file)
+                        .param("async", "true"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    @DisplayName("Should return the live counts of an import job")
+    void shouldReturnImportJobStatus() throws Exception {
+        ImportJobDTO job = ImportJobDTO.builder()
+                .jobId("job-1")
+                .status(ImportJobStatus.RUNNING)
+                .rowsRead(500)
+                .savedRecords(480)
+                .duplicateRecords(15)
+                .failedRecords(5)
+                .build();
+
+        when(importJobService.getJob("job-1")).thenReturn(job);
+
+        mockMvc.perform(get("/api/deals/import/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RUNNING"))
+                .andExpect(jsonPath("$.rowsRead").value(500))
+                .andExpect(jsonPath("$.savedRecords").value(480))
+                .andExpect(jsonPath("$.duplicateRecords").value(15))
+                .andExpect(jsonPath("$.failedRecords").value(5));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an unknown import job")
+    void shouldReturn404ForUnknownImportJob() throws Exception {
+        when(importJobService.getJob("missing"))
+                .thenThrow(new ImportJobNotFoundException("Import job not found: missing"));
+
+        mockMvc.perform(get("/api/deals/import/missing"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should stream job progress as Server-Sent Events")
+    void shouldStreamJobProgressEvents() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        when(importProgressPublisher.subscribe("job-1")).thenReturn(emitter);
+
+        MvcResult started = mockMvc.perform(get("/api/deals/import/job-1/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        emitter.send(SseEmitter.event().name("progress").data("{\"rowsRead\":10}"));
+        emitter.complete();
+
+        assertEquals("event:progress\ndata:{\"rowsRead\":10}\n\n", started.getResponse().getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Should stream the full report of an import as CSV")
+    void shouldStreamImportReport(@TempDir Path dir) throws Exception {
+        String reportId = "3f2c0d4e-1b6a-4c1e-9a57-0d2f7e8b9c10";
+        String content = "row,severity,category,column,message\n2,ERROR,AMOUNT_FORMAT,dealAmount,\"Invalid\"\n";
+        when(importReportStore.find(reportId)).thenReturn(Files.writeString(dir.resolve(reportId + ".csv"), content));
+
+        mockMvc.perform(get("/api/deals/import/reports/" + reportId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", containsString(reportId + ".csv")))
+                .andExpect(content().string(content));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an unknown import report")
+    void shouldReturn404ForUnknownImportReport() throws Exception {
+        when(importReportStore.find("missing"))
+                .thenThrow(new ImportReportNotFoundException("Import report not found: missing"));
+
+        mockMvc.perform(get("/api/deals/import/reports/missing"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should stream one JSON line per row followed by a summary line")
+    void shouldStreamRowOutcomesAsNdjson() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "deals.csv", "text/csv",
+                "dealId\nDEAL001\n".getBytes(StandardCharsets.UTF_8));
+        when(csvImporterService.importDeals(any(InputStream.class), eq("deals.csv"), eq(ImportMode.BATCH), any()))
+                .thenAnswer(invocation -> {
+                    ImportProgress progress = invocation.getArgument(3);
+                    progress.recordRow(3, "DEAL002", RowStatus.REJECTED, "AMOUNT_FORMAT");
+                    progress.recordRow(2, "DEAL001", RowStatus.SAVED, null);
+                    return ImportResultDTO.builder().totalRecords(2).successfulRecords(1).failedRecords(1).build();
+                });
+
+        MvcResult started = mockMvc.perform(multipart("/api/deals/import").file(file).param("report", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String[] lines = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString().split("\n");
+
+        assertEquals(3, lines.length);
+        assertEquals("{\"row\":3,\"dealId\":\"DEAL002\",\"status\":\"REJECTED\",\"errorCode\":\"AMOUNT_FORMAT\"}",
+                lines[0]);
+        assertEquals("{\"row\":2,\"dealId\":\"DEAL001\",\"status\":\"SAVED\"}", lines[1]);
+        assertTrue(lines[2].startsWith("{\"summary\":{\"totalRecords\":2,\"successfulRecords\":1,"));
+    }
+
+    @Test
+    @DisplayName("Should return 400 when an async import also asks for a row report")
+    void shouldReturn400ForAsyncImportWithRowReport() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "deals.csv", "text/csv",
+                "dealId\nDEAL001\n".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/api/deals/import")
+                        .file(file)
+                        .param("async", "true")
+                        .param("report", "ndjson"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("cannot be combined")));
+
+        mockMvc.perform(post("/api/deals/import")
+                        .contentType("text/csv")
+                        .param("async", "true")
+                        .param("report", "ndjson")
+                        .content("dealId\nDEAL001\n"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(csvImporterService, importJobService);
+    }
+
+    @Test
+    @DisplayName("Should import an allow-listed server-side file")
+    void shouldImportServerSideFile() throws Exception {
+        Path file = Path.of("/app/data/deals.csv");
+        ImportResultDTO result = ImportResultDTO.builder()
+                .totalRecords(2)
+                .successfulRecords(2)
+                .build();
+
+        when(serverFileResolver.resolve("deals.csv")).thenReturn(file);
+        when(csvImporterService.importFile(eq(file), eq(ImportMode.COPY), any())).thenReturn(result);
+
+        mockMvc.perform(post("/api/deals/import/server")
+                        .param("path", "deals.csv")
+                        .param("mode", "COPY"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.successfulRecords").value(2));
+    }
+
+    @Test
+    @DisplayName("Should queue a server-side file import when async")
+    void shouldQueueServerSideFileImport() throws Exception {
+        Path file = Path.of("/app/data/deals.csv");
+        ImportJobDTO job = ImportJobDTO.builder()
+                .jobId("job-2")
+                .status(ImportJobStatus.QUEUED)
+                .build();
+
+        when(serverFileResolver.resolve("deals.csv")).thenReturn(file);
+        when(importJobService.submitServerFile(file, ImportMode.BATCH)).thenReturn(job);
+
+        mockMvc.perform(post("/api/deals/import/server")
+                        .param("path", "deals.csv")
+                        .param("async", "true"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId").value("job-2"));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for a path outside the import directory")
+    void shouldReturn400ForPathOutsideImportDirectory() throws Exception {
+        when(serverFileResolver.resolve("../etc/passwd"))
+                .thenThrow(new ValidationException("File is outside the import directory: ../etc/passwd"));
+
+        mockMvc.perform(post("/api/deals/import/server")
+                        .param("path", "../etc/passwd"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(csvImporterService);
+    }
+
+    @Test
+    @DisplayName("Should stream a raw text/csv body into the importer")
+    void shouldStreamRawCsvBodyIntoImporter() throws Exception {
+        String csvContent = """
+                dealId,fromCurrency,toCurrency,dealTimestamp,dealAmount
+                DEAL001,USD,EUR,2025-01-15T10:30:00,1000.50
+                """;
+
+        when(csvImporterService.importDeals(any(InputStream.class), eq("deals.csv"), eq(ImportMode.COPY), any()))
+                .thenAnswer(invocation -> {
+                    InputStream in = invocation.getArgument(0);
+                    assertEquals(csvContent, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                    return ImportResultDTO.builder().totalRecords(1).successfulRecords(1).build();
+                });
+
+        mockMvc.perform(post("/api/deals/import")
+                        .contentType("text/csv")
+                        .param("mode", "COPY")
+                        .param("name", "deals.csv")
+                        .content(csvContent))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.successfulRecords").value(1));
+
+        verifyNoInteractions(importJobService);
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an empty raw body")
+    void shouldReturn400ForEmptyRawBody() throws Exception {
+        ImportResultDTO result = ImportResultDTO.builder()
+                .errors(List.of("Empty file"))
+                .build();
+
+        when(csvImporterService.importDeals(any(InputStream.class), any(), eq(ImportMode.BATCH), any()))
+                .thenReturn(result);
+
+        mockMvc.perform(post("/api/deals/import")
+                        .contentType("text/csv")
+                        .content(new byte[0]))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]").value("Empty file"));
+    }
+
+    @Test
+    @DisplayName("Should accept gzip and zstd compressed CSV uploads")
+    void shouldAcceptCompressedCsvUploads() throws Exception {
+        ImportResultDTO result = ImportResultDTO.builder()
+                .totalRecords(1)
+                .successfulRecords(1)
+                .build();
+
+        when(csvImporterService.importDeals(any(), eq(ImportMode.BATCH))).thenReturn(result);
+
+        for (String filename : List.of("deals.csv.gz", "deals.csv.zst")) {
+            MockMultipartFile file = new MockMultipartFile(
+                    "file",
+                    filename,
+                    "application/octet-stream",
+                    new byte[]{1, 2, 3}
+            );
+
+            mockMvc.perform(multipart("/api/deals/import")
+                            .file(file))
+                    .andExpect(status().isOk());
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.progressoft.fxdeals.csv;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ByteCsvRecordReader Tests")
+class ByteCsvRecordReaderTest {
+
+    @Test
+    @DisplayName("Should split simple records into fields")
+    void shouldSplitSimpleRecordsIntoFields() throws IOException {
+        List<List<String>> records = readAll("a,b,c\n1,2,3\n");
+
+        assertEquals(List.of(List.of("a", "b", "c"), List.of("1", "2", "3")), records);
+    }
+
+    @Test
+    @DisplayName("Should keep empty fields")
+    void shouldKeepEmptyFields() throws IOException {
+        List<List<String>> records = readAll(",,,,\n");
+
+        assertEquals(List.of(List.of("", "", "", "", "")), records);
+    }
+
+    @Test
+    @DisplayName("Should read last record without trailing newline")
+    void shouldReadLastRecordWithoutTrailingNewline() throws IOException {
+        List<List<String>> records = readAll("a,b\nc,d");
+
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "d")), records);
+    }
+
+    @Test
+    @DisplayName("Should return no records for empty input")
+    void shouldReturnNoRecordsForEmptyInput() throws IOException {
+        assertTrue(readAll("").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should handle CRLF and CR line endings")
+    void shouldHandleCrLfAndCrLineEndings() throws IOException {
+        try (ByteCsvRecordReader reader = reader("a,b\r\nc,d\re,f\r\n")) {
+            assertTrue(reader.next());
+            assertEquals("b", reader.field(1));
+            assertEquals(1, reader.rowNumber());
+            assertTrue(reader.next());
+            assertEquals("d", reader.field(1));
+            assertEquals(2, reader.rowNumber());
+            assertTrue(reader.next());
+            assertEquals("f", reader.field(1));
+            assertEquals(3, reader.rowNumber());
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    @DisplayName("Should unquote fields containing commas and escaped quotes")
+    void shouldUnquoteFieldsWithCommasAndEscapedQuotes() throws IOException {
+        List<List<String>> records = readAll("\"DEAL,001\",\"say \"\"hi\"\"\",\"\"\n");
+
+        assertEquals(List.of(List.of("DEAL,001", "say \"hi\"", "")), records);
+    }
+
+    @Test
+    @DisplayName("Should read quotes that do not open a field as literal text")
+    void shouldReadQuotesInsideFieldsAsLiteralText() throws IOException {
+        List<List<String>> records = readAll("ABC\"123,USD\n\"a\"b\"c,x\nnext,y\n");
+
+        assertEquals(List.of(List.of("ABC\"123", "USD"), List.of("ab\"c", "x"), List.of("next", "y")), records);
+    }
+
+    @Test
+    @DisplayName("Should keep line breaks inside quoted fields and track row numbers")
+    void shouldKeepLineBreaksInsideQuotedFields() throws IOException {
+        try (ByteCsvRecordReader reader = reader("h1,h2\n\"multi\nline\",x\nnext,y\n")) {
+            assertTrue(reader.next());
+            assertTrue(reader.next());
+            assertEquals(2, reader.rowNumber());
+            assertEquals("multi\nline", reader.field(0));
+            assertEquals("x", reader.field(1));
+            assertTrue(reader.next());
+            assertEquals(4, reader.rowNumber());
+            assertEquals("next", reader.field(0));
+        }
+    }
+
+    @Test
+    @DisplayName("Should report whitespace-only records as blank")
+    void shouldReportWhitespaceOnlyRecordsAsBlank() throws IOException {
+        try (ByteCsvRecordReader reader = reader("a\n  \t\n\"\"\n")) {
+            assertTrue(reader.next());
+            assertFalse(reader.isBlank());
+            assertTrue(reader.next());
+            assertTrue(reader.isBlank());
+            assertTrue(reader.next());
+            assertFalse(reader.isBlank());
+        }
+    }
+
+    @Test
+    @DisplayName("Should decode multi-byte UTF-8 characters")
+    void shouldDecodeMultiByteUtf8Characters() throws IOException {
+        List<List<String>> records = readAll("café,€100\n");
+
+        assertEquals(List.of(List.of("café", "€100")), records);
+    }
+
+    @Test
+    @DisplayName("Should handle records spanning buffer refills")
+    void shouldHandleRecordsSpanningBufferRefills() throws IOException {
+        String csv = "DEAL001,\"U,SD\",EUR\r\n\"a\"\"b\",c,d\r\nlonger-than-buffer-field,e,f\n";
+
+        for (int bufferSize = 1; bufferSize <= 16; bufferSize++) {
+            try (ByteCsvRecordReader reader = new ByteCsvRecordReader(
+                    new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), bufferSize)) {
+                assertEquals(List.of(
+                        List.of("DEAL001", "U,SD", "EUR"),
+                        List.of("a\"b", "c", "d"),
+                        List.of("longer-than-buffer-field", "e", "f")
+                ), readAll(reader), "buffer size " + bufferSize);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should match the split parser on unquoted input")
+    void shouldMatchSplitParserOnUnquotedInput() throws IOException {
+        String csv = "dealId,fromCurrency\nDEAL001,USD\n\n , \nDEAL002,EUR,EXTRA\r\nlast";
+
+        try (ByteCsvRecordReader bytes = reader(csv);
+             SplitCsvRecordReader split = new SplitCsvRecordReader(
+                     new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)))) {
+            while (split.next()) {
+                assertTrue(bytes.next());
+                assertEquals(split.rowNumber(), bytes.rowNumber());
+                assertEquals(split.isBlank(), bytes.isBlank());
+                assertEquals(split.fieldCount(), bytes.fieldCount());
+                for (int i = 0; i < split.fieldCount(); i++) {
+                    assertEquals(split.field(i), bytes.field(i));
+                }
+            }
+            assertFalse(bytes.next());
+        }
+    }
+
+    private static ByteCsvRecordReader reader(String csv) {
+        return new ByteCsvRecordReader(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        try (ByteCsvRecordReader reader = reader(csv)) {
+            return readAll(reader);
+        }
+    }
+
+    private static List<List<String>> readAll(CsvRecordReader reader) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        while (reader.next()) {
+            List<String> fields = new ArrayList<>();
+            for (int i = 0; i < reader.fieldCount(); i++) {
+                fields.add(reader.field(i));
+            }
+            records.add(fields);
+        }
+        return records;
+    }
+}
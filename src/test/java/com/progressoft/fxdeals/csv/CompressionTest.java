@@ -0,0 +1,89 @@
+package com.progressoft.fxdeals.csv;
+
+import io.airlift.compress.zstd.ZstdOutputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Compression Tests")
+class CompressionTest {
+
+    private static final String CSV = "dealId,fromCurrency,toCurrency,dealTimestamp,dealAmount\n"
+            + "DEAL001,USD,EUR,2025-01-15T10:30:00,1000.50\n".repeat(1000);
+
+    @Test
+    @DisplayName("Should pass plain CSV through unchanged")
+    void shouldPassPlainCsvThrough() throws IOException {
+        assertEquals(CSV, read(Compression.decompress(stream(CSV.getBytes(StandardCharsets.UTF_8)))));
+    }
+
+    @Test
+    @DisplayName("Should detect and decompress gzip input")
+    void shouldDecompressGzip() throws IOException {
+        byte[] compressed = gzip(CSV);
+
+        assertEquals(Compression.GZIP, Compression.detect(compressed, compressed.length));
+        assertEquals(CSV, read(Compression.decompress(stream(compressed))));
+    }
+
+    @Test
+    @DisplayName("Should detect and decompress zstd input")
+    void shouldDecompressZstd() throws IOException {
+        byte[] compressed = zstd(CSV);
+
+        assertEquals(Compression.ZSTD, Compression.detect(compressed, compressed.length));
+        assertEquals(CSV, read(Compression.decompress(stream(compressed))));
+    }
+
+    @Test
+    @DisplayName("Should handle inputs shorter than the magic number")
+    void shouldHandleShortInputs() throws IOException {
+        assertEquals("", read(Compression.decompress(stream(new byte[0]))));
+        assertEquals("a\n", read(Compression.decompress(stream("a\n".getBytes(StandardCharsets.UTF_8)))));
+        assertEquals(Compression.NONE, Compression.detect(new byte[]{0x28, (byte) 0xb5}, 2));
+    }
+
+    @Test
+    @DisplayName("Should detect the compression of a file from its content, not its name")
+    void shouldDetectFileCompressionFromContent(@TempDir Path dir) throws IOException {
+        assertEquals(Compression.GZIP, Compression.of(Files.write(dir.resolve("deals.csv"), gzip(CSV))));
+        assertEquals(Compression.ZSTD, Compression.of(Files.write(dir.resolve("deals.bin"), zstd(CSV))));
+        assertEquals(Compression.NONE, Compression.of(Files.writeString(dir.resolve("deals.csv.gz"), CSV)));
+    }
+
+    private static InputStream stream(byte[] bytes) {
+        return new ByteArrayInputStream(bytes);
+    }
+
+    private static String read(InputStream in) throws IOException {
+        return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] zstd(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new ZstdOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
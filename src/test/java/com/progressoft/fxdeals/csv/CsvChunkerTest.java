@@ -0,0 +1,167 @@
+package com.progressoft.fxdeals.csv;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CsvChunker Tests")
+class CsvChunkerTest {
+
+    @Test
+    @DisplayName("Should return no chunks for empty input")
+    void shouldReturnNoChunksForEmptyInput() throws IOException {
+        assertNull(chunker("", 16).next());
+    }
+
+    @Test
+    @DisplayName("Should cut chunks on line boundaries")
+    void shouldCutChunksOnLineBoundaries() throws IOException {
+        List<CsvChunk> chunks = readAll(chunker("aaaa\nbbbb\ncccc\ndddd\n", 12));
+
+        assertEquals(List.of("aaaa\nbbbb\n", "cccc\ndddd\n"), texts(chunks));
+        assertEquals(List.of(1, 3), chunks.stream().map(CsvChunk::firstLine).toList());
+    }
+
+    @Test
+    @DisplayName("Should keep the trailing record without newline")
+    void shouldKeepTrailingRecordWithoutNewline() throws IOException {
+        assertEquals(List.of("aaaa\n", "bb"), texts(readAll(chunker("aaaa\nbb", 6))));
+    }
+
+    @Test
+    @DisplayName("Should not cut inside quoted line breaks")
+    void shouldNotCutInsideQuotedLineBreaks() throws IOException {
+        List<CsvChunk> chunks = readAll(chunker("a\n\"x\ny\nz\"\nb\n", 8));
+
+        assertEquals(List.of("a\n", "\"x\ny\nz\"\n", "b\n"), texts(chunks));
+        assertEquals(List.of(1, 2, 5), chunks.stream().map(CsvChunk::firstLine).toList());
+    }
+
+    @Test
+    @DisplayName("Should cut after a line with a quote inside a field")
+    void shouldCutAfterStrayQuote() throws IOException {
+        List<CsvChunk> chunks = readAll(chunker("a\"b,c\nd,e\nf,g\n", 8));
+
+        assertEquals(List.of("a\"b,c\n", "d,e\nf,g\n"), texts(chunks));
+        assertEquals(List.of(1, 2), chunks.stream().map(CsvChunk::firstLine).toList());
+    }
+
+    @Test
+    @DisplayName("Should grow to fit records longer than the chunk size")
+    void shouldGrowToFitLongRecords() throws IOException {
+        String longRecord = "x".repeat(50) + "\n";
+
+        List<String> chunks = texts(readAll(chunker(longRecord + "y\n", 8)));
+
+        assertTrue(chunks.get(0).startsWith(longRecord));
+        assertEquals(longRecord + "y\n", String.join("", chunks));
+    }
+
+    @Test
+    @DisplayName("Should cut chunks on lone carriage returns")
+    void shouldCutChunksOnLoneCarriageReturns() throws IOException {
+        List<CsvChunk> chunks = readAll(chunker("aaaa\rbbbb\rcccc\rdddd\r", 12));
+
+        assertEquals(List.of("aaaa\rbbbb\r", "cccc\rdddd\r"), texts(chunks));
+        assertEquals(List.of(1, 3), chunks.stream().map(CsvChunk::firstLine).toList());
+    }
+
+    @Test
+    @DisplayName("Should not cut between the CR and LF of a CRLF")
+    void shouldNotSplitCrLf() throws IOException {
+        List<String> chunks = texts(readAll(chunker("aaa\r\nbbb\r\n", 4)));
+
+        assertEquals("aaa\r\nbbb\r\n", String.join("", chunks));
+        chunks.forEach(chunk -> assertFalse(chunk.startsWith("\n"), chunk));
+    }
+
+    @Test
+    @DisplayName("Should fail on a record longer than the limit instead of buffering the rest of the input")
+    void shouldFailOnRecordLongerThanLimit() {
+        CsvChunker chunker = new CsvChunker(new ByteArrayInputStream(
+                ("a\n\"unclosed" + "x\n".repeat(100)).getBytes(StandardCharsets.UTF_8)), 8, 32);
+
+        IOException error = assertThrows(IOException.class, () -> readAll(chunker));
+        assertEquals("CSV record starting at line 2 is longer than 32 bytes; check for an unclosed quote",
+                error.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should number lines like the record reader")
+    void shouldNumberLinesLikeRecordReader() throws IOException {
+        String csv = "h\r\na\rb\n\"q\nq\"\r\n\nc\n" + "d,e\n".repeat(20);
+
+        List<Integer> expected = new ArrayList<>();
+        try (ByteCsvRecordReader reader = new ByteCsvRecordReader(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)))) {
+            while (reader.next()) {
+                expected.add(reader.rowNumber());
+            }
+        }
+
+        for (int chunkSize = 1; chunkSize <= 24; chunkSize++) {
+            List<Integer> actual = new ArrayList<>();
+            for (CsvChunk chunk : readAll(chunker(csv, chunkSize))) {
+                try (CsvRecordReader reader = CsvParser.BYTE.open(chunk)) {
+                    while (reader.next()) {
+                        actual.add(reader.rowNumber());
+                    }
+                }
+            }
+            assertEquals(expected, actual, "chunk size " + chunkSize);
+        }
+    }
+
+    @Test
+    @DisplayName("Should number lines like the record reader around stray and escaped quotes")
+    void shouldNumberLinesLikeRecordReaderAroundQuotes() throws IOException {
+        String csv = "a\"b\nc\n\"x\"\"\ny\",z\n\"p\"q\"\nr\n\"\"\"\"\ns\n" + "d,e\n".repeat(10);
+
+        List<Integer> expected = new ArrayList<>();
+        try (ByteCsvRecordReader reader = new ByteCsvRecordReader(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)))) {
+            while (reader.next()) {
+                expected.add(reader.rowNumber());
+            }
+        }
+        assertEquals(List.of(1, 2, 3, 5, 6, 7, 8), expected.subList(0, 7));
+
+        for (int chunkSize = 1; chunkSize <= 24; chunkSize++) {
+            List<Integer> actual = new ArrayList<>();
+            for (CsvChunk chunk : readAll(chunker(csv, chunkSize))) {
+                try (CsvRecordReader reader = CsvParser.BYTE.open(chunk)) {
+                    while (reader.next()) {
+                        actual.add(reader.rowNumber());
+                    }
+                }
+            }
+            assertEquals(expected, actual, "chunk size " + chunkSize);
+        }
+    }
+
+    private static CsvChunker chunker(String csv, int chunkSize) {
+        return new CsvChunker(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), chunkSize);
+    }
+
+    private static List<CsvChunk> readAll(CsvChunker chunker) throws IOException {
+        List<CsvChunk> chunks = new ArrayList<>();
+        CsvChunk chunk;
+        while ((chunk = chunker.next()) != null) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private static List<String> texts(List<CsvChunk> chunks) {
+        return chunks.stream()
+                .map(chunk -> StandardCharsets.UTF_8.decode(chunk.data().duplicate()).toString())
+                .toList();
+    }
+}
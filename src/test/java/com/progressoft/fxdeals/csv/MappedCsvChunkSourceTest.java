@@ -0,0 +1,119 @@
+package com.progressoft.fxdeals.csv;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MappedCsvChunkSource Tests")
+class MappedCsvChunkSourceTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Should return no chunks for an empty file")
+    void shouldReturnNoChunksForEmptyFile() throws IOException {
+        try (MappedCsvChunkSource source = source("", 16, 16)) {
+            assertNull(source.next());
+        }
+    }
+
+    @Test
+    @DisplayName("Should cut chunks on line boundaries")
+    void shouldCutChunksOnLineBoundaries() throws IOException {
+        List<CsvChunk> chunks = readAll(source("aaaa\nbbbb\ncccc\ndddd\n", 12, 1024));
+
+        assertEquals(List.of("aaaa\nbbbb\n", "cccc\ndddd\n"), texts(chunks));
+        assertEquals(List.of(1, 3), chunks.stream().map(CsvChunk::firstLine).toList());
+    }
+
+    @Test
+    @DisplayName("Should hand out direct slices of the mapped file")
+    void shouldHandOutDirectSlices() throws IOException {
+        List<CsvChunk> chunks = readAll(source("aaaa\nbbbb\n", 8, 1024));
+
+        assertTrue(chunks.stream().allMatch(chunk -> chunk.data().isDirect()));
+    }
+
+    @Test
+    @DisplayName("Should not cut inside quoted line breaks")
+    void shouldNotCutInsideQuotedLineBreaks() throws IOException {
+        List<CsvChunk> chunks = readAll(source("a\n\"x\ny\nz\"\nb\n", 8, 1024));
+
+        assertEquals(List.of("a\n", "\"x\ny\nz\"\n", "b\n"), texts(chunks));
+        assertEquals(List.of(1, 2, 5), chunks.stream().map(CsvChunk::firstLine).toList());
+    }
+
+    @Test
+    @DisplayName("Should grow the chunk and remap the segment for long records")
+    void shouldGrowForLongRecords() throws IOException {
+        String longRecord = "x".repeat(50) + "\n";
+
+        List<String> chunks = texts(readAll(source("a\n" + longRecord + "y\n" + "z".repeat(70) + "\n", 8, 8)));
+
+        assertEquals("a\n", chunks.get(0));
+        assertTrue(chunks.get(1).startsWith(longRecord));
+        assertEquals("a\n" + longRecord + "y\n" + "z".repeat(70) + "\n", String.join("", chunks));
+    }
+
+    @Test
+    @DisplayName("Should produce the same chunks as the stream chunker across segments")
+    void shouldMatchStreamChunkerAcrossSegments() throws IOException {
+        Random random = new Random(42);
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            csv.append("DEAL").append(i).append(",USD,EUR,");
+            if (random.nextInt(10) == 0) {
+                csv.append("\"note\r\nwith break\"");
+            }
+            csv.append(",").append(random.nextInt(100_000)).append(random.nextBoolean() ? "\r\n" : "\n");
+        }
+        String content = csv.toString();
+
+        List<CsvChunk> mapped = readAll(source(content, 256, 1000));
+        List<CsvChunk> streamed = new ArrayList<>();
+        CsvChunker chunker = new CsvChunker(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), 256);
+        for (CsvChunk chunk = chunker.next(); chunk != null; chunk = chunker.next()) {
+            streamed.add(chunk);
+        }
+
+        assertEquals(content, String.join("", texts(mapped)));
+        assertEquals(streamed.stream().map(CsvChunk::firstLine).toList(),
+                mapped.stream().map(CsvChunk::firstLine).toList());
+        assertEquals(texts(streamed), texts(mapped));
+    }
+
+    private MappedCsvChunkSource source(String content, int chunkSize, long segmentSize) throws IOException {
+        Path file = Files.writeString(dir.resolve("deals.csv"), content);
+        return new MappedCsvChunkSource(file, chunkSize, segmentSize);
+    }
+
+    private static List<CsvChunk> readAll(MappedCsvChunkSource source) throws IOException {
+        List<CsvChunk> chunks = new ArrayList<>();
+        try (source) {
+            for (CsvChunk chunk = source.next(); chunk != null; chunk = source.next()) {
+                chunks.add(chunk);
+            }
+        }
+        return chunks;
+    }
+
+    private static List<String> texts(List<CsvChunk> chunks) {
+        return chunks.stream().map(chunk -> {
+            byte[] bytes = new byte[chunk.data().remaining()];
+            chunk.data().duplicate().get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }).toList();
+    }
+}
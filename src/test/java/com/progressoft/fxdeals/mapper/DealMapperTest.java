@@ -26,7 +26,7 @@ class DealMapperTest {
                 .dealTimestamp("2025-01-15T10:30:00")
                 .dealAmount("1000.50")
                 .parsedTimestamp(timestamp)
-                .parsedAmount(amount)
+                .parsedAmountUnscaled(10_005_000L)
                 .build();
 
         Deal deal = DealMapper.toEntity(dto);
@@ -36,7 +36,8 @@ class DealMapperTest {
         assertEquals("USD", deal.getFromCurrency());
         assertEquals("EUR", deal.getToCurrency());
         assertEquals(timestamp, deal.getDealTimestamp());
-        assertEquals(amount, deal.getDealAmount());
+        assertEquals(0, amount.compareTo(deal.getDealAmount()));
+        assertEquals(10_005_000L, deal.getDealAmountUnscaled());
     }
 
     @Test
@@ -47,7 +48,7 @@ class DealMapperTest {
                 .fromCurrency("USD")
                 .toCurrency("EUR")
                 .parsedTimestamp(LocalDateTime.now())
-                .parsedAmount(new BigDecimal("100"))
+                .parsedAmountUnscaled(1_000_000L)
                 .build();
 
         Deal deal = DealMapper.toEntity(dto);
@@ -76,9 +77,9 @@ class DealMapperTest {
         assertEquals("USD", dto.getFromCurrency());
         assertEquals("EUR", dto.getToCurrency());
         assertEquals(timestamp.toString(), dto.getDealTimestamp());
-        assertEquals(amount.toString(), dto.getDealAmount());
+        assertEquals("1000.5000", dto.getDealAmount());
         assertEquals(timestamp, dto.getParsedTimestamp());
-        assertEquals(amount, dto.getParsedAmount());
+        assertEquals(10_005_000L, dto.getParsedAmountUnscaled());
     }
 
     @Test
@@ -91,12 +92,20 @@ class DealMapperTest {
                 .fromCurrency("USD")
                 .toCurrency("EUR")
                 .parsedTimestamp(LocalDateTime.now())
-                .parsedAmount(preciseAmount)
+                .parsedAmountUnscaled(1_234_567_890L)
                 .build();
 
         Deal deal = DealMapper.toEntity(dto);
 
         assertEquals(preciseAmount, deal.getDealAmount());
-        assertEquals(0, preciseAmount.compareTo(deal.getDealAmount()));
+        assertEquals(1_234_567_890L, deal.getDealAmountUnscaled());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should reject entity amounts with more than four decimal places")
+    void shouldRejectEntityAmountsWithMoreThanFourDecimalPlaces() {
+        Deal.DealBuilder builder = Deal.builder();
+
+        assertThrows(ArithmeticException.class, () -> builder.dealAmount(new BigDecimal("1.00001")));
+    }
+}
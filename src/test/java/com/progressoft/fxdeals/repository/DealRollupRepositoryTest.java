@@ -0,0 +1,123 @@
+package com.progressoft.fxdeals.repository;
+
+import com.progressoft.fxdeals.model.Deal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the rollup SQL against PostgreSQL, whose ON CONFLICT upsert and table
+ * locks H2 does not support. Enabled by pointing
+ * {@code FXDEALS_TEST_DATABASE_URL} at a database the test may use, e.g.
+ * {@code jdbc:postgresql://localhost:5432/fxdeals?user=fxuser&password=fxpass}.
+ * The tables are created as temporary tables, which shadow any real ones for
+ * the test's connection only.
+ */
+@EnabledIfEnvironmentVariable(named = "FXDEALS_TEST_DATABASE_URL", matches = ".+")
+@DisplayName("DealRollupRepository Tests")
+class DealRollupRepositoryTest {
+
+    private static final LocalDateTime TEN = LocalDateTime.of(2025, 1, 15, 10, 0);
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private DealRollupRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource(System.getenv("FXDEALS_TEST_DATABASE_URL"), true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TEMPORARY TABLE deals (deal_id VARCHAR(64), from_currency VARCHAR(3), " +
+                "to_currency VARCHAR(3), deal_timestamp TIMESTAMP, deal_amount DECIMAL(19, 4))");
+        jdbcTemplate.execute("CREATE TEMPORARY TABLE deal_volume_hourly (from_currency VARCHAR(3) NOT NULL, " +
+                "to_currency VARCHAR(3) NOT NULL, bucket_start TIMESTAMP NOT NULL, deal_count BIGINT NOT NULL, " +
+                "amount_sum DECIMAL(38, 4) NOT NULL, amount_min DECIMAL(19, 4) NOT NULL, " +
+                "amount_max DECIMAL(19, 4) NOT NULL, PRIMARY KEY (from_currency, to_currency, bucket_start))");
+        repository = new DealRollupRepository(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Test
+    @DisplayName("Should merge upserts into existing hourly buckets")
+    void shouldMergeUpsertsIntoBuckets() {
+        repository.addDeals(List.of(
+                deal("USD", "EUR", TEN.plusMinutes(10), "100"),
+                deal("USD", "EUR", TEN.plusMinutes(50), "300"),
+                deal("GBP", "USD", TEN.plusMinutes(5), "7.5")));
+        repository.addDeals(List.of(
+                deal("USD", "EUR", TEN.plusMinutes(20), "50"),
+                deal("USD", "EUR", TEN.plusHours(1), "1000")));
+
+        Map<String, Object> bucket = jdbcTemplate.queryForMap(
+                "SELECT * FROM deal_volume_hourly WHERE from_currency = 'USD' AND bucket_start = ?", TEN);
+        assertEquals(3L, bucket.get("deal_count"));
+        assertEquals(new BigDecimal("450.0000"), bucket.get("amount_sum"));
+        assertEquals(new BigDecimal("50.0000"), bucket.get("amount_min"));
+        assertEquals(new BigDecimal("300.0000"), bucket.get("amount_max"));
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM deal_volume_hourly", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Should sum buckets per pair over a range and filter by currency")
+    void shouldSumBucketsPerPair() {
+        repository.addDeals(List.of(
+                deal("USD", "EUR", TEN.plusMinutes(10), "100"),
+                deal("USD", "EUR", TEN.plusHours(1), "20"),
+                deal("USD", "EUR", TEN.plusHours(2), "5000"),
+                deal("GBP", "USD", TEN, "7")));
+
+        List<DealVolume> volumes = repository.sumByPair(new DealFilter(null, null, TEN, TEN.plusHours(2)));
+
+        assertEquals(List.of(
+                new DealVolume("GBP", "USD", 1, new BigDecimal("7.0000"),
+                        new BigDecimal("7.0000"), new BigDecimal("7.0000")),
+                new DealVolume("USD", "EUR", 2, new BigDecimal("120.0000"),
+                        new BigDecimal("20.0000"), new BigDecimal("100.0000"))), volumes);
+        assertEquals(1, repository.sumByPair(new DealFilter("GBP", null, null, null)).size());
+    }
+
+    @Test
+    @DisplayName("Should rebuild the buckets of a range from the deals table")
+    void shouldRebuildRangeFromDeals() {
+        jdbcTemplate.update("INSERT INTO deals VALUES ('D1', 'USD', 'EUR', ?, 100), ('D2', 'USD', 'EUR', ?, 300), " +
+                "('D3', 'USD', 'EUR', ?, 50)", TEN.plusMinutes(10), TEN.plusMinutes(50), TEN.plusHours(5));
+        repository.addDeals(List.of(deal("USD", "EUR", TEN, "999"))); // stale bucket, replaced by the rebuild
+        repository.addDeals(List.of(deal("USD", "EUR", TEN.plusHours(5), "50"))); // outside the range, kept
+
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        Integer written = transaction.execute(status -> repository.rebuild(TEN, TEN.plusHours(1)));
+
+        assertEquals(1, written);
+        List<DealVolume> volumes = repository.sumByPair(new DealFilter(null, null, TEN, TEN.plusHours(1)));
+        assertEquals(2, volumes.get(0).dealCount());
+        assertEquals(new BigDecimal("400.0000"), volumes.get(0).totalAmount());
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM deal_volume_hourly", Integer.class));
+    }
+
+    private static Deal deal(String from, String to, LocalDateTime timestamp, String amount) {
+        return Deal.builder()
+                .dealId("D")
+                .fromCurrency(from)
+                .toCurrency(to)
+                .dealTimestamp(timestamp)
+                .dealAmount(new BigDecimal(amount))
+                .build();
+    }
+}
@@ -1,31 +1,75 @@
 package com.progressoft.fxdeals.service;
 
+import com.progressoft.fxdeals.config.ImportProperties;
+import com.progressoft.fxdeals.csv.CsvParser;
 import com.progressoft.fxdeals.dto.ImportResultDTO;
+import com.progressoft.fxdeals.exception.ImportQueueFullException;
+import com.progressoft.fxdeals.model.Deal;
+import io.airlift.compress.zstd.ZstdOutputStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
 
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("CSVImporterService Tests")
 class CSVImporterServiceImplTest {
 
+    private static final ForkJoinPool PARSE_POOL = new ForkJoinPool(2);
+
+    private static final ExecutorService WRITE_POOL = Executors.newCachedThreadPool();
+
     @Mock
     private DealService dealService;
 
-    @InjectMocks
+    @TempDir
+    Path reportDir;
+
     private CSVImporterServiceImpl csvImporterService;
 
+    @BeforeEach
+    void setUp() {
+        csvImporterService = newImporter(new ImportProperties());
+    }
+
     @Test
     @DisplayName("Should handle empty file")
     void shouldHandleEmptyFile() {
@@ -78,7 +122,7 @@ class CSVImporterServiceImplTest {
                 csvContent.getBytes(StandardCharsets.UTF_8)
         );
 
-        when(dealService.saveDeal(any())).thenReturn(true);
+        when(dealService.saveDeals(anyList())).thenAnswer(savingNewDealIds());
 
         ImportResultDTO result = csvImporterService.importDeals(file);
 
@@ -227,9 +271,7 @@ class CSVImporterServiceImplTest {
                 csvContent.getBytes(StandardCharsets.UTF_8)
         );
 
-        when(dealService.saveDeal(any()))
-                .thenReturn(true)  // First save succeeds
-                .thenReturn(false); // Second save fails (duplicate)
+        when(dealService.saveDeals(anyList())).thenAnswer(savingNewDealIds());
 
         ImportResultDTO result = csvImporterService.importDeals(file);
 
@@ -243,6 +285,100 @@ class CSVImporterServiceImplTest {
         assertTrue(result.getWarnings().get(0).contains("DEAL001"));
     }
 
+    @Test
+    @DisplayName("Should flag in-file repeats as duplicates before they reach the database")
+    void shouldFlagInFileRepeatsBeforeDatabase() {
+        String csvContent = """
+                dealId,fromCurrency,toCurrency,dealTimestamp,dealAmount
+                DEAL001,USD,EUR,2025-01-15T10:30:00,1000.50
+                DEAL002,GBP,USD,2025-01-15T11:00:00,2500.75
+                DEAL001,USD,EUR,2025-01-15T10:30:00,1000.50
+                DEAL001,USD,EUR,2025-01-15T10:30:00,1000.50
+                """;
+
+        Map<String, Integer> writes = new ConcurrentHashMap<>();
+        when(dealService.saveDeals(anyList())).thenAnswer(invocation -> {
+            List<Deal> deals = invocation.getArgument(0);
+            deals.forEach(deal -> writes.merge(deal.getDealId(), 1, Integer::sum));
+            return deals.stream().map(deal -> SaveOutcome.SAVED).toList();
+        });
+
+        ImportResultDTO result = csvImporterService.importDeals(
+                new MockMultipartFile("file", "test.csv", "text/csv", csvContent.getBytes(StandardCharsets.UTF_8)));
+
+        // Shards write concurrently, so write order is not deterministic, but each ID is written exactly once
+        assertEquals(Map.of("DEAL001", 1, "DEAL002", 1), writes);
+        assertEquals(2, result.getSuccessfulRecords());
+        assertEquals(2, result.getDuplicateRecords());
+        assertEquals(List.of("Row 4: Duplicate deal ID 'DEAL001'", "Row 5: Duplicate deal ID 'DEAL001'"),
+                result.getWarnings());
+    }
+
+    @Test
+    @DisplayName("Should save a repeat in place of a first occurrence that failed")
+    void shouldSaveRepeatWhenFirstOccurrenceFailed() {
+        String csvContent = """
+                dealId,fromCurrency,toCurrency,dealTimestamp,dealAmount
+                DEAL001,USD,EUR,2025-01-15T10:30:00,1000.50
+                DEAL002,GBP,USD,2025-01-15T11:00:00,2500.75
+                DEAL001,USD,EUR,2025-01-15T10:30:00,1000.50
+                DEAL001,USD,EUR,2025-01-15T10:30:00,1000.50
+                """;
+
+        for (int batchSize : new int[]{1, 100}) {
+            ImportProperties properties = new ImportProperties();
+            properties.setBatchSize(batchSize);
+            csvImporterService = newImporter(properties);
+
+            Map<String, Integer> writes = new ConcurrentHashMap<>();
+            when(dealService.saveDeals(anyList())).thenAnswer(invocation -> {
+                List<Deal> deals = invocation.getArgument(0);
+                return deals.stream()
+                        .map(deal -> writes.merge(deal.getDealId(), 1, Integer::sum) == 1
+                                && deal.getDealId().equals("DEAL001") ? SaveOutcome.FAILED : SaveOutcome.SAVED)
+                        .toList();
+            });
+
+            ImportResultDTO result = csvImporterService.importDeals(
+                    new MockMultipartFile("file", "test.csv", "text/csv", csvContent.getBytes(StandardCharsets.UTF_8)));
+
+            String context = "batch size " + batchSize;
+            assertEquals(Map.of("DEAL001", 2, "DEAL002", 1), writes, context);
+            assertEquals(2, result.getSuccessfulRecords(), context);
+            assertEquals(1, result.getFailedRecords(), context);
+            assertEquals(1, result.getDuplicateRecords(), context);
+            assertEquals(List.of("Row 2: Failed to save deal 'DEAL001'"), result.getErrors(), context);
+            assertEquals(List.of("Row 5: Duplicate deal ID 'DEAL001'"), result.getWarnings(), context);
+        }
+    }
+
+    @Test
+    @DisplayName("Should leave repeats to the database when the repeat filter is disabled")
+    void shouldLeaveRepeatsToDatabaseWhenFilterDisabled() {
+        ImportProperties properties = new ImportProperties();
+        properties.setRepeatFilterMaxIds(0);
+        csvImporterService = newImporter(properties);
+
+        String csvContent = """
+                dealId,fromCurrency,toCurrency,dealTimestamp,dealAmount
+                DEAL001,USD,EUR,2025-01-15T10:30:00,1000.50
+                DEAL001,USD,EUR,2025-01-15T10:30:00,1000.50
+                """;
+
+        List<Integer> batchSizes = new ArrayList<>();
+        Answer<List<SaveOutcome>> saving = savingNewDealIds();
+        when(dealService.saveDeals(anyList())).thenAnswer(invocation -> {
+            batchSizes.add(invocation.<List<Deal>>getArgument(0).size());
+            return saving.answer(invocation);
+        });
+
+        ImportResultDTO result = csvImporterService.importDeals(
+                new MockMultipartFile("file", "test.csv", "text/csv", csvContent.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(List.of(2), batchSizes);
+        assertEquals(1, result.getDuplicateRecords());
+    }
+
     @Test
     @DisplayName("Should handle unexpected number of columns")
     void shouldHandleUnexpectedNumberOfColumns() {
@@ -288,7 +424,7 @@ class CSVImporterServiceImplTest {
                 csvContent.getBytes(StandardCharsets.UTF_8)
         );
 
-        when(dealService.saveDeal(any())).thenReturn(true);
+        when(dealService.saveDeals(anyList())).thenAnswer(savingNewDealIds());
 
         ImportResultDTO result = csvImporterService.importDeals(file);
 
@@ -316,7 +452,7 @@ class CSVImporterServiceImplTest {
                 csvContent.getBytes(StandardCharsets.UTF_8)
         );
 
-        when(dealService.saveDeal(any())).thenReturn(true);
+        when(dealService.saveDeals(anyList())).thenAnswer(savingNewDealIds());
 
         ImportResultDTO result = csvImporterService.importDeals(file);
 
@@ -355,13 +491,7 @@ class CSVImporterServiceImplTest {
         );
 
         // Mock behavior: first 5 valid deals save successfully, 6th is duplicate
-        when(dealService.saveDeal(any()))
-                .thenReturn(true)   // DEAL100
-                .thenReturn(true)   // DEAL101
-                .thenReturn(true)   // DEAL104
-                .thenReturn(true)   // DEAL107
-                .thenReturn(true)   // DEAL109 (first)
-                .thenReturn(false); // DEAL109 (duplicate)
+        when(dealService.saveDeals(anyList())).thenAnswer(savingNewDealIds());
 
         ImportResultDTO result = csvImporterService.importDeals(file);
 
@@ -426,4 +556,555 @@ class CSVImporterServiceImplTest {
         assertTrue(result.getWarnings().get(0).contains("Duplicate deal ID 'DEAL109'"),
                 "Warning should mention duplicate DEAL109");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should write validated rows in batches of the configured size")
+    void shouldWriteValidatedRowsInConfiguredBatches() {
+        ImportProperties properties = new ImportProperties();
+        properties.setBatchSize(2);
+        properties.setWriters(1);
+        csvImporterService = newImporter(properties);
+
+        String csvContent = """
+                dealId,fromCurrency,toCurrency,dealTimestamp,dealAmount
+                DEAL001,USD,EUR,2025-01-15T10:30:00,1000.50
+                DEAL002,GBP,USD,2025-01-15T11:00:00,2500.75
+                DEAL003,EUR,JPY,2025-01-15T12:00:00,3000.00
+                """;
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "test.csv",
+                "text/csv",
+                csvContent.getBytes(StandardCharsets.UTF_8)
+        );
+
+        when(dealService.saveDeals(anyList())).thenAnswer(savingNewDealIds());
+
+        ImportResultDTO result = csvImporterService.importDeals(file);
+
+        assertEquals(3, result.getSuccessfulRecords());
+        verify(dealService, times(2)).saveDeals(anyList());
+        verify(dealService, never()).saveDeal(any());
+    }
+
+    @Test
+    @DisplayName("Should report rows the database failed to save")
+    void shouldReportRowsTheDatabaseFailedToSave() {
+        ImportProperties properties = new ImportProperties();
+        properties.setWriters(1);
+        csvImporterService = newImporter(properties);
+
+        String csvContent = """
+                dealId,fromCurrency,toCurrency,dealTimestamp,dealAmount
+                DEAL001,USD,EUR,2025-01-15T10:30:00,1000.50
+                DEAL002,GBP,USD,2025-01-15T11:00:00,2500.75
+                """;
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "test.csv",
+                "text/csv",
+                csvContent.getBytes(StandardCharsets.UTF_8)
+        );
+
+        when(dealService.saveDeals(anyList()))
+                .thenReturn(List.of(SaveOutcome.SAVED, SaveOutcome.FAILED));
+
+        ImportResultDTO result = csvImporterService.importDeals(file);
+
+        assertEquals(2, result.getTotalRecords());
+        assertEquals(1, result.getSuccessfulRecords());
+        assertEquals(1, result.getFailedRecords());
+        assertEquals(1, result.getErrors().size());
+        assertTrue(result.getErrors().get(0).contains("Row 3"));
+        assertTrue(result.getErrors().get(0).contains("DEAL002"));
+    }
+
+    @Test
+    @DisplayName("Should hold back parsing while the database is behind")
+    void shouldHoldBackParsingWhileDatabaseIsBehind() throws Exception {
+        ImportProperties properties = new ImportProperties();
+        properties.setBatchSize(1);
+        properties.setWriteQueueCapacity(1);
+        properties.setChunkSize(DataSize.ofBytes(64));
+        csvImporterService = newImporter(properties);
+
+        StringBuilder csv = new StringBuilder("dealId,fromCurrency,toCurrency,dealTimestamp,dealAmount\n");
+        for (int i = 1; i <= 200; i++) {
+            csv.append("DEAL").append(i).append(",USD,EUR,2025-01-15T10:30:00,100\n");
+        }
+
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Answer<List<SaveOutcome>> saving = savingNewDealIds();
+        when(dealService.saveDeals(anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return saving.answer(invocation);
+        });
+
+        ImportProgress progress = new ImportProgress();
+        Future<ImportResultDTO> running = WRITE_POOL.submit(() -> csvImporterService.importDeals(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)),
+                "test.csv", ImportMode.BATCH, progress));
+
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        Thread.sleep(200);
+        assertFalse(running.isDone());
+        assertTrue(progress.getRowsRead() < 200, "Rows read: " + progress.getRowsRead());
+
+        release.countDown();
+        ImportResultDTO result = running.get(10, TimeUnit.SECONDS);
+        assertEquals(200, result.getSuccessfulRecords());
+        assertEquals(200, progress.getSaved());
+    }
+
+    @Test
+    @DisplayName("Should shard rows across writers so each deal ID stays on one writer")
+    void shouldShardRowsAcrossWritersByDealId() {
+        ImportProperties properties = new ImportProperties();
+        properties.setWriters(3);
+        properties.setBatchSize(5);
+        properties.setRepeatFilterMaxIds(0);
+        csvImporterService = newImporter(properties);
+
+        StringBuilder csv = new StringBuilder("dealId,fromCurrency,toCurrency,dealTimestamp,dealAmount\n");
+        for (int i = 0; i < 300; i++) {
+            csv.append("DEAL").append(i % 100).append(",USD,EUR,2025-01-15T10:30:00,100\n");
+        }
+
+        Map<String, Set<String>> threadsById = new ConcurrentHashMap<>();
+        Answer<List<SaveOutcome>> saving = savingNewDealIds();
+        when(dealService.saveDeals(anyList())).thenAnswer(invocation -> {
+            List<Deal> deals = invocation.getArgument(0);
+            deals.forEach(deal -> threadsById.computeIfAbsent(deal.getDealId(), id -> ConcurrentHashMap.newKeySet())
+                    .add(Thread.currentThread().getName()));
+            return saving.answer(invocation);
+        });
+
+        ImportResultDTO result = csvImporterService.importDeals(
+                new MockMultipartFile("file", "test.csv", "text/csv", csv.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(3, result.getWriters());
+        assertEquals(100, result.getSuccessfulRecords());
+        assertEquals(200, result.getDuplicateRecords());
+        assertTrue(threadsById.values().stream().allMatch(threads -> threads.size() == 1));
+        assertEquals(3, threadsById.values().stream().flatMap(Set::stream).distinct().count());
+    }
+
+    @Test
+    @DisplayName("Should not write more batches at once than there are write permits")
+    void shouldCapConcurrentWritesAtPermits() {
+        ImportProperties properties = new ImportProperties();
+        properties.setWriters(4);
+        properties.setBatchSize(5);
+        properties.setMaxActiveWrites(2);
+        csvImporterService = newImporter(properties);
+
+        StringBuilder csv = new StringBuilder("dealId,fromCurrency,toCurrency,dealTimestamp,dealAmount\n");
+        for (int i = 0; i < 200; i++) {
+            csv.append("DEAL").append(i).append(",USD,EUR,2025-01-15T10:30:00,100\n");
+        }
+
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        when(dealService.saveDeals(anyList())).thenAnswer(invocation -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            Thread.sleep(2);
+            active.decrementAndGet();
+            return invocation.<List<Deal>>getArgument(0).stream().map(deal -> SaveOutcome.SAVED).toList();
+        });
+
+        ImportResultDTO result = csvImporterService.importDeals(
+                new MockMultipartFile("file", "test.csv", "text/csv", csv.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(200, result.getSuccessfulRecords());
+        assertTrue(maxActive.get() <= 2, "at most two batches written at once, was " + maxActive.get());
+    }
+
+    @Test
+    @DisplayName("Should fail the import when the writer throws")
+    void shouldFailImportWhenWriterThrows() {
+        String csvContent = """
+                dealId,fromCurrency,toCurrency,dealTimestamp,dealAmount
+                DEAL001,USD,EUR,2025-01-15T10:30:00,1000.50
+                """;
+
+        when(dealService.saveDeals(anyList())).thenThrow(new IllegalStateException("Connection pool closed"));
+
+        ImportResultDTO result = csvImporterService.importDeals(
+                new MockMultipartFile("file", "test.csv", "text/csv", csvContent.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(0, result.getSuccessfulRecords());
+        assertEquals(List.of("Failed to process file: Connection pool closed"), result.getErrors());
+    }
+
+    @Test
+    @DisplayName("Should fail the import instead of hanging when the writer throws an Error")
+    void shouldFailImportWhenWriterThrowsError() {
+        String csvContent = """
+                dealId,fromCurrency,toCurrency,dealTimestamp,dealAmount
+                DEAL001,USD,EUR,2025-01-15T10:30:00,1000.50
+                """;
+
+        when(dealService.saveDeals(anyList())).thenThrow(new NoClassDefFoundError("com/example/Missing"));
+
+        ImportResultDTO result = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> csvImporterService.importDeals(
+                new MockMultipartFile("file", "test.csv", "text/csv", csvContent.getBytes(StandardCharsets.UTF_8))));
+
+        assertEquals(0, result.getSuccessfulRecords());
+        assertEquals(List.of("Failed to process file: java.lang.NoClassDefFoundError: com/example/Missing"),
+                result.getErrors());
+    }
+
+    @Test
+    @DisplayName("Should reject an import when no writer threads are left and release the ones it took")
+    void shouldRejectImportWhenWriterThreadsAreExhausted() throws InterruptedException {
+        ImportProperties properties = new ImportProperties();
+        properties.setWriters(2);
+        properties.setReportDir(reportDir);
+        ThreadPoolExecutor writePool = new ThreadPoolExecutor(
+                0, 1, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), new ThreadPoolExecutor.AbortPolicy());
+        csvImporterService = new CSVImporterServiceImpl(dealService, properties, PARSE_POOL, writePool,
+                new ImportReportStore(properties), new Semaphore(properties.getMaxActiveWrites()));
+
+        String csvContent = """
+                dealId,fromCurrency,toCurrency,dealTimestamp,dealAmount
+                DEAL001,USD,EUR,2025-01-15T10:30:00,1000.50
+                """;
+
+        assertThrows(ImportQueueFullException.class, () -> csvImporterService.importDeals(
+                new MockMultipartFile("file", "test.csv", "text/csv", csvContent.getBytes(StandardCharsets.UTF_8))));
+
+        writePool.shutdown();
+        assertTrue(writePool.awaitTermination(5, TimeUnit.SECONDS), "the writer that did start is stopped");
+        verifyNoInteractions(dealService);
+    }
+
+    @Test
+    @DisplayName("Should route rows through the COPY path in COPY mode")
+    void shouldRouteRowsThroughCopyPathInCopyMode() {
+        String csvContent = """
+                dealId,fromCurrency,toCurrency,dealTimestamp,dealAmount
+                DEAL001,USD,EUR,2025-01-15T10:30:00,1000.50
+                DEAL001,USD,EUR,2025-01-15T10:30:00,1000.50
+                """;
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "test.csv",
+                "text/csv",
+                csvContent.getBytes(StandardCharsets.UTF_8)
+        );
+
+        when(dealService.saveDealsByCopy(anyList())).thenAnswer(savingNewDealIds());
+
+        ImportResultDTO result = csvImporterService.importDeals(file, ImportMode.COPY);
+
+        assertEquals(1, result.getSuccessfulRecords());
+        assertEquals(1, result.getDuplicateRecords());
+        assertTrue(result.getWarnings().get(0).contains("Row 3"));
+        verify(dealService, never()).saveDeals(anyList());
+    }
+
+    @Test
+    @DisplayName("Should import quoted fields containing commas")
+    void shouldImportQuotedFieldsContainingCommas() {
+        String csvContent = """
+                dealId,fromCurrency,toCurrency,dealTimestamp,dealAmount
+                "DEAL,001",USD,EUR,2025-01-15T10:30:00,"1000.50"
+                """;
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "test.csv",
+                "text/csv",
+                csvContent.getBytes(StandardCharsets.UTF_8)
+        );
+
+        List<String> savedIds = new ArrayList<>();
+        Answer<List<SaveOutcome>> saving = savingNewDealIds();
+        when(dealService.saveDeals(anyList())).thenAnswer(invocation -> {
+            List<Deal> deals = invocation.getArgument(0);
+            deals.forEach(deal -> savedIds.add(deal.getDealId()));
+            return saving.answer(invocation);
+        });
+
+        ImportResultDTO result = csvImporterService.importDeals(file);
+
+        assertEquals(1, result.getSuccessfulRecords());
+        assertEquals(List.of("DEAL,001"), savedIds);
+    }
+
+    @Test
+    @DisplayName("Should fail only the row with a stray quote and import the rows after it")
+    void shouldImportRowsAfterStrayQuote() {
+        ImportProperties properties = new ImportProperties();
+        properties.setChunkSize(DataSize.ofBytes(64));
+        csvImporterService = newImporter(properties);
+
+        String csvContent = """
+                dealId,fromCurrency,toCurrency,dealTimestamp,dealAmount
+                DEAL001,USD,EUR,2025-01-15T10:30:00,1000"50
+                DEAL002,USD,EUR,2025-01-15T10:30:00,1000.50
+                DEAL003,USD,EUR,2025-01-15T10:30:00,1000.50
+                """;
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "test.csv",
+                "text/csv",
+                csvContent.getBytes(StandardCharsets.UTF_8)
+        );
+
+        when(dealService.saveDeals(anyList())).thenAnswer(savingNewDealIds());
+
+        ImportResultDTO result = csvImporterService.importDeals(file);
+
+        assertEquals(3, result.getTotalRecords());
+        assertEquals(2, result.getSuccessfulRecords());
+        assertEquals(1, result.getFailedRecords());
+        assertTrue(result.getErrors().get(0).startsWith("Row 2:"), result.getErrors().get(0));
+    }
+
+    @Test
+    @DisplayName("Should support the legacy split parser")
+    void shouldSupportLegacySplitParser() {
+        ImportProperties properties = new ImportProperties();
+        properties.setParser(CsvParser.SPLIT);
+        csvImporterService = newImporter(properties);
+
+        String csvContent = """
+                dealId,fromCurrency,toCurrency,dealTimestamp,dealAmount
+                DEAL001,USD,EUR,2025-01-15T10:30:00,1000.50
+                "DEAL,002",USD,EUR,2025-01-15T10:30:00,1000.50
+                """;
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "test.csv",
+                "text/csv",
+                csvContent.getBytes(StandardCharsets.UTF_8)
+        );
+
+        when(dealService.saveDeals(anyList())).thenAnswer(savingNewDealIds());
+
+        ImportResultDTO result = csvImporterService.importDeals(file);
+
+        assertEquals(1, result.getSuccessfulRecords());
+        assertEquals(1, result.getFailedRecords());
+        assertTrue(result.getErrors().get(0).contains("Unexpected number of columns"));
+    }
+
+    @Test
+    @DisplayName("Should keep row numbers and first-occurrence duplicates across chunks")
+    void shouldKeepRowNumbersAndDuplicatesAcrossChunks() {
+        ImportProperties properties = new ImportProperties();
+        properties.setChunkSize(DataSize.ofBytes(64));
+        properties.setBatchSize(3);
+        csvImporterService = newImporter(properties);
+
+        StringBuilder csv = new StringBuilder("dealId,fromCurrency,toCurrency,dealTimestamp,dealAmount\n");
+        for (int i = 1; i <= 40; i++) {
+            String dealId = i == 40 ? "DEAL1" : "DEAL" + i;
+            String amount = i % 10 == 0 ? "-1" : "100.00";
+            csv.append(dealId).append(",USD,EUR,2025-01-15T10:30:00,").append(amount).append('\n');
+        }
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "test.csv",
+                "text/csv",
+                csv.toString().getBytes(StandardCharsets.UTF_8)
+        );
+
+        when(dealService.saveDeals(anyList())).thenAnswer(savingNewDealIds());
+
+        ImportResultDTO result = csvImporterService.importDeals(file);
+
+        assertEquals(40, result.getTotalRecords());
+        assertEquals(36, result.getSuccessfulRecords());
+        assertEquals(4, result.getFailedRecords());
+        assertEquals(0, result.getDuplicateRecords()); // row 41 (DEAL1 again) has a negative amount
+        assertEquals(List.of("Row 11", "Row 21", "Row 31", "Row 41"),
+                result.getErrors().stream().map(error -> error.substring(0, error.indexOf(':'))).toList());
+    }
+
+    @Test
+    @DisplayName("Should import a server-side file through mapped chunks and report progress")
+    void shouldImportServerSideFileAndReportProgress(@TempDir Path dir) throws IOException {
+        ImportProperties properties = new ImportProperties();
+        properties.setChunkSize(DataSize.ofBytes(64));
+        csvImporterService = newImporter(properties);
+
+        StringBuilder csv = new StringBuilder("dealId,fromCurrency,toCurrency,dealTimestamp,dealAmount\n");
+        for (int i = 1; i <= 20; i++) {
+            String amount = i == 10 ? "abc" : "100.00";
+            csv.append("DEAL").append(i % 19).append(",USD,EUR,2025-01-15T10:30:00,").append(amount).append('\n');
+        }
+        Path file = Files.writeString(dir.resolve("deals.csv"), csv);
+
+        when(dealService.saveDeals(anyList())).thenAnswer(savingNewDealIds());
+
+        ImportProgress progress = new ImportProgress();
+        ImportResultDTO result = csvImporterService.importFile(file, ImportMode.BATCH, progress);
+
+        assertEquals(20, result.getTotalRecords());
+        assertEquals(18, result.getSuccessfulRecords());
+        assertEquals(1, result.getDuplicateRecords());
+        assertEquals(1, result.getFailedRecords());
+        assertEquals(1, result.getErrors().size());
+        assertTrue(result.getErrors().get(0).startsWith("Row 11:"));
+        assertEquals(List.of("Row 21: Duplicate deal ID 'DEAL1'"), result.getWarnings());
+        assertEquals(20, progress.getRowsRead());
+        assertEquals(18, progress.getSaved());
+        assertEquals(1, progress.getDuplicates());
+        assertEquals(1, progress.getFailed());
+    }
+
+    @Test
+    @DisplayName("Should import gzip and zstd compressed files like plain CSV")
+    void shouldImportCompressedFiles(@TempDir Path dir) throws IOException {
+        String csv = """
+                dealId,fromCurrency,toCurrency,dealTimestamp,dealAmount
+                DEAL001,USD,EUR,2025-01-15T10:30:00,1000.50
+                DEAL002,GBP,JPY,2025-01-15T11:00:00,2500.00
+                DEAL001,USD,EUR,2025-01-15T10:30:00,1000.50
+                """;
+        byte[] plain = csv.getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(gzip)) {
+            out.write(plain);
+        }
+        ByteArrayOutputStream zstd = new ByteArrayOutputStream();
+        try (OutputStream out = new ZstdOutputStream(zstd)) {
+            out.write(plain);
+        }
+
+        when(dealService.saveDeals(anyList())).thenAnswer(savingNewDealIds());
+
+        MockMultipartFile upload = new MockMultipartFile("file", "deals.csv.gz", "application/gzip", gzip.toByteArray());
+        ImportResultDTO fromUpload = csvImporterService.importDeals(upload);
+
+        when(dealService.saveDeals(anyList())).thenAnswer(savingNewDealIds());
+        Path file = Files.write(dir.resolve("deals.csv.zst"), zstd.toByteArray());
+        ImportResultDTO fromFile = csvImporterService.importFile(file, ImportMode.BATCH, new ImportProgress());
+
+        for (ImportResultDTO result : List.of(fromUpload, fromFile)) {
+            assertEquals(3, result.getTotalRecords());
+            assertEquals(2, result.getSuccessfulRecords());
+            assertTrue(result.getErrors().isEmpty());
+            assertEquals(List.of("Row 4: Duplicate deal ID 'DEAL001'"), result.getWarnings());
+        }
+    }
+
+    @Test
+    @DisplayName("Should count issues per category and column and cap the sampled messages")
+    void shouldCapSampledMessagesAndWriteFullReport() throws IOException {
+        ImportProperties properties = new ImportProperties();
+        properties.setMaxReportedMessages(2);
+        csvImporterService = newImporter(properties);
+        when(dealService.saveDeals(anyList())).thenAnswer(savingNewDealIds());
+
+        String csvContent = """
+                dealId,fromCurrency,toCurrency,dealTimestamp,dealAmount
+                DEAL001,USD,EUR,2025-01-15T10:30:00,1000.50
+                DEAL002,XX,EUR,2025-01-15T10:30:00,1000.50
+                DEAL003,USD,EUR,2025-01-15T10:30:00,abc
+                DEAL004,USD,EUR,2025-01-15T10:30:00,-5
+                DEAL005,USD,EUR
+                DEAL001,USD,EUR,2025-01-15T10:30:00,1000.50
+                """;
+
+        ImportResultDTO result = csvImporterService.importDeals(
+                new MockMultipartFile("file", "test.csv", "text/csv", csvContent.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(4, result.getFailedRecords());
+        assertEquals(1, result.getDuplicateRecords());
+        assertEquals(List.of("Row 3: Invalid From Currency format: 'XX'. Must be 3 uppercase letters.",
+                "Row 4: Invalid amount format: 'abc'. Must be a valid decimal number."), result.getErrors());
+        assertEquals(List.of("Row 7: Duplicate deal ID 'DEAL001'"), result.getWarnings());
+        assertEquals(2, result.getOmittedMessages());
+        assertEquals(Map.of("FROM_CURRENCY_FORMAT", 1L, "AMOUNT_FORMAT", 1L, "AMOUNT_NOT_POSITIVE", 1L,
+                "UNEXPECTED_COLUMN_COUNT", 1L, "DUPLICATE_DEAL_ID", 1L), result.getIssuesByCategory());
+        assertEquals(Map.of("fromCurrency", 1L, "dealAmount", 2L), result.getErrorsByColumn());
+
+        List<String> report = Files.readAllLines(reportDir.resolve(result.getReportId() + ".csv"));
+        assertEquals(List.of(
+                "row,severity,category,column,message",
+                "3,ERROR,FROM_CURRENCY_FORMAT,fromCurrency,\"Invalid From Currency format: 'XX'. Must be 3 uppercase letters.\"",
+                "4,ERROR,AMOUNT_FORMAT,dealAmount,\"Invalid amount format: 'abc'. Must be a valid decimal number.\"",
+                "5,ERROR,AMOUNT_NOT_POSITIVE,dealAmount,\"Deal amount must be positive: '-5'\"",
+                "6,ERROR,UNEXPECTED_COLUMN_COUNT,,\"Unexpected number of columns\"",
+                "7,WARNING,DUPLICATE_DEAL_ID,,\"Duplicate deal ID 'DEAL001'\""), report);
+    }
+
+    @Test
+    @DisplayName("Should report the outcome of every row to the row listener")
+    void shouldReportEveryRowOutcome() {
+        ImportProperties properties = new ImportProperties();
+        properties.setWriters(1);
+        csvImporterService = newImporter(properties);
+        when(dealService.saveDeals(anyList())).thenAnswer(savingNewDealIds());
+        String csvContent = """
+                dealId,fromCurrency,toCurrency,dealTimestamp,dealAmount
+                DEAL001,USD,EUR,2025-01-15T10:30:00,1000.50
+                DEAL002,USD,EUR,2025-01-15T10:30:00,abc
+                DEAL001,USD,EUR,2025-01-15T10:30:00,1000.50
+                DEAL003,USD,EUR,2025-01-15T10:30:00,5
+                """;
+
+        List<String> rows = new ArrayList<>();
+        ImportProgress progress = new ImportProgress((rowNumber, dealId, status, errorCode) ->
+                rows.add(rowNumber + " " + dealId + " " + status + " " + errorCode));
+        csvImporterService.importDeals(new ByteArrayInputStream(csvContent.getBytes(StandardCharsets.UTF_8)),
+                "test.csv", ImportMode.BATCH, progress);
+
+        assertEquals(List.of(
+                "3 DEAL002 REJECTED AMOUNT_FORMAT",
+                "2 DEAL001 SAVED null",
+                "4 DEAL001 DUPLICATE DUPLICATE_DEAL_ID",
+                "5 DEAL003 SAVED null"), rows);
+    }
+
+    @Test
+    @DisplayName("Should not create a report for an import without row-level issues")
+    void shouldNotCreateReportForCleanImport() throws IOException {
+        when(dealService.saveDeals(anyList())).thenAnswer(savingNewDealIds());
+        String csvContent = """
+                dealId,fromCurrency,toCurrency,dealTimestamp,dealAmount
+                DEAL001,USD,EUR,2025-01-15T10:30:00,1000.50
+                """;
+
+        ImportResultDTO result = csvImporterService.importDeals(
+                new MockMultipartFile("file", "test.csv", "text/csv", csvContent.getBytes(StandardCharsets.UTF_8)));
+
+        assertNull(result.getReportId());
+        assertEquals(0, result.getOmittedMessages());
+        try (Stream<Path> files = Files.list(reportDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private CSVImporterServiceImpl newImporter(ImportProperties properties) {
+        properties.setReportDir(reportDir);
+        return new CSVImporterServiceImpl(dealService, properties, PARSE_POOL, WRITE_POOL,
+                new ImportReportStore(properties), new Semaphore(properties.getMaxActiveWrites()));
+    }
+
+    /**
+     * Simulates the database: a deal ID is saved the first time it is seen
+     * and reported as a duplicate on every later occurrence.
+     */
+    private static Answer<List<SaveOutcome>> savingNewDealIds() {
+        Set<String> persisted = ConcurrentHashMap.newKeySet();
+        return invocation -> {
+            List<Deal> deals = invocation.getArgument(0);
+            return deals.stream()
+                    .map(deal -> persisted.add(deal.getDealId()) ? SaveOutcome.SAVED : SaveOutcome.DUPLICATE)
+                    .toList();
+        };
+    }
+}
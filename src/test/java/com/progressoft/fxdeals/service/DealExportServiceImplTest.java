@@ -0,0 +1,111 @@
+package com.progressoft.fxdeals.service;
+
+import com.progressoft.fxdeals.config.QueryProperties;
+import com.progressoft.fxdeals.exception.ValidationException;
+import com.progressoft.fxdeals.model.Deal;
+import com.progressoft.fxdeals.repository.DealFilter;
+import com.progressoft.fxdeals.repository.DealQueryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DealExportService Tests")
+class DealExportServiceImplTest {
+
+    private static final DealFilter NO_FILTER = new DealFilter(null, null, null, null);
+
+    @Mock
+    private DealQueryRepository dealQueryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DealExportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        QueryProperties properties = new QueryProperties();
+        properties.setExportFetchSize(500);
+        service = new DealExportServiceImpl(dealQueryRepository, properties, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should write deals in the import file layout")
+    void shouldWriteDealsInImportLayout() throws IOException {
+        streamDeals(List.of(
+                deal("DEAL001", LocalDateTime.of(2025, 1, 15, 10, 30), "1000.5"),
+                deal("DEAL,\"2\"", LocalDateTime.of(2025, 1, 15, 11, 0, 5), "0.0001")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.export(NO_FILTER, false).writeTo(out);
+
+        assertEquals("""
+                dealId,fromCurrency,toCurrency,dealTimestamp,dealAmount
+                DEAL001,USD,EUR,2025-01-15T10:30:00,1000.5000
+                "DEAL,""2\"\"",USD,EUR,2025-01-15T11:00:05,0.0001
+                """, out.toString(StandardCharsets.UTF_8));
+        verify(dealQueryRepository).streamDeals(eq(NO_FILTER), eq(500), any());
+    }
+
+    @Test
+    @DisplayName("Should gzip the export when asked")
+    void shouldGzipExport() throws IOException {
+        streamDeals(List.of(deal("DEAL001", LocalDateTime.of(2025, 1, 15, 10, 30), "1")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.export(NO_FILTER, true).writeTo(out);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(DealExportServiceImpl.HEADER + "\nDEAL001,USD,EUR,2025-01-15T10:30:00,1.0000\n",
+                    new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("Should validate the filter before anything is streamed")
+    void shouldValidateFilterEagerly() {
+        assertThrows(ValidationException.class,
+                () -> service.export(new DealFilter("ABC", null, null, null), false));
+        verifyNoInteractions(dealQueryRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streamDeals(List<Deal> deals) {
+        doAnswer(invocation -> {
+            Consumer<Deal> consumer = invocation.getArgument(2);
+            deals.forEach(consumer);
+            return null;
+        }).when(dealQueryRepository).streamDeals(any(), anyInt(), any(Consumer.class));
+    }
+
+    private static Deal deal(String dealId, LocalDateTime timestamp, String amount) {
+        return Deal.builder()
+                .dealId(dealId)
+                .fromCurrency("USD")
+                .toCurrency("EUR")
+                .dealTimestamp(timestamp)
+                .dealAmount(new BigDecimal(amount))
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package com.progressoft.fxdeals.service;
+
+import com.progressoft.fxdeals.config.DealIdFilterProperties;
+import com.progressoft.fxdeals.repository.DealJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DealIdFilter Tests")
+class DealIdFilterTest {
+
+    @Mock
+    private DealJdbcRepository dealJdbcRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DealIdFilterProperties properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private DealIdFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DealIdFilterProperties();
+        properties.setExpectedDeals(1_000);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new DealIdFilter(dealJdbcRepository, new TransactionTemplate(transactionManager), properties,
+                meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should treat every ID as possibly existing until loaded")
+    void shouldTreatEveryIdAsPossiblyExistingUntilLoaded() {
+        assertFalse(filter.isReady());
+        assertTrue(filter.mightExist("DEAL001"));
+        assertEquals(0, meterRegistry.get("fxdeals.deal.filter.lookups").tag("result", "possible")
+                .counter().count());
+    }
+
+    @Test
+    @DisplayName("Should load persisted IDs with the configured fetch size")
+    void shouldLoadPersistedIds() {
+        properties.setFetchSize(500);
+        streamIds("DEAL001", "DEAL002");
+
+        filter.load();
+
+        assertTrue(filter.isReady());
+        verify(dealJdbcRepository).streamAllIds(eq(500), any());
+        assertTrue(filter.mightExist("DEAL001"));
+        assertTrue(filter.mightExist("DEAL002"));
+        assertFalse(filter.mightExist("DEAL003"));
+        assertEquals(2, meterRegistry.get("fxdeals.deal.filter.entries").gauge().value());
+        assertTrue(meterRegistry.get("fxdeals.deal.filter.memory").gauge().value() > 0);
+        assertNotNull(meterRegistry.get("fxdeals.deal.filter.load.time").timeGauge());
+    }
+
+    @Test
+    @DisplayName("Should record inserted IDs and report the hit ratio")
+    void shouldRecordInsertedIdsAndReportHitRatio() {
+        streamIds();
+        filter.load();
+
+        assertFalse(filter.mightExist("DEAL001"));
+        filter.recordInserted("DEAL001");
+        assertTrue(filter.mightExist("DEAL001"));
+
+        assertEquals(0.5, meterRegistry.get("fxdeals.deal.filter.hit.ratio").gauge().value());
+        filter.recordFalsePositives(3);
+        assertEquals(3, meterRegistry.get("fxdeals.deal.filter.false.positives").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should stay unloaded when the IDs cannot be read")
+    void shouldStayUnloadedWhenLoadFails() {
+        doThrow(new DataAccessResourceFailureException("Connection refused"))
+                .when(dealJdbcRepository).streamAllIds(anyInt(), any());
+
+        filter.load();
+        filter.recordInserted("DEAL001");
+
+        assertFalse(filter.isReady());
+        assertTrue(filter.mightExist("DEAL002"));
+        assertEquals(0, meterRegistry.get("fxdeals.deal.filter.memory").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should not load when disabled")
+    void shouldNotLoadWhenDisabled() {
+        properties.setEnabled(false);
+
+        filter.load();
+
+        assertFalse(filter.isReady());
+        verifyNoInteractions(dealJdbcRepository);
+    }
+
+    private void streamIds(String... dealIds) {
+        doAnswer(invocation -> {
+            Consumer<String> consumer = invocation.getArgument(1);
+            List.of(dealIds).forEach(consumer);
+            return null;
+        }).when(dealJdbcRepository).streamAllIds(anyInt(), any());
+    }
+}
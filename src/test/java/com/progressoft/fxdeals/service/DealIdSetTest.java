@@ -0,0 +1,80 @@
+package com.progressoft.fxdeals.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DealIdSet Tests")
+class DealIdSetTest {
+
+    @Test
+    @DisplayName("Should report only later occurrences as repeats")
+    void shouldReportOnlyLaterOccurrencesAsRepeats() {
+        DealIdSet ids = new DealIdSet(100);
+
+        assertFalse(ids.isRepeat("DEAL001"));
+        assertFalse(ids.isRepeat("DEAL002"));
+        assertTrue(ids.isRepeat("DEAL001"));
+        assertTrue(ids.isRepeat("DEAL002"));
+        assertFalse(ids.isRepeat("deal001"));
+        assertFalse(ids.isRepeat("DEAL0010"));
+        assertEquals(4, ids.size());
+    }
+
+    @Test
+    @DisplayName("Should match a reference set across table growth")
+    void shouldMatchReferenceSetAcrossGrowth() {
+        DealIdSet ids = new DealIdSet(1_000_000);
+        Set<String> reference = new HashSet<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 200_000; i++) {
+            String dealId = "DEAL" + random.nextInt(100_000);
+            assertEquals(!reference.add(dealId), ids.isRepeat(dealId), dealId);
+        }
+        assertEquals(reference.size(), ids.size());
+    }
+
+    @Test
+    @DisplayName("Should stop recording new IDs at the configured limit")
+    void shouldStopRecordingAtLimit() {
+        DealIdSet ids = new DealIdSet(2);
+
+        assertFalse(ids.isRepeat("A"));
+        assertFalse(ids.isRepeat("B"));
+        assertFalse(ids.isRepeat("C"));
+        assertFalse(ids.isRepeat("C"));
+        assertTrue(ids.isRepeat("A"));
+        assertEquals(2, ids.size());
+    }
+
+    @Test
+    @DisplayName("Should not record IDs the arena cannot hold")
+    void shouldNotRecordUnstorableIds() {
+        DealIdSet ids = new DealIdSet(100);
+        String longId = "X".repeat(256);
+
+        assertFalse(ids.isRepeat(longId));
+        assertFalse(ids.isRepeat(longId));
+        assertFalse(ids.isRepeat("DEAL€1"));
+        assertFalse(ids.isRepeat("DEAL€1"));
+        assertFalse(ids.isRepeat("DÉAL1"));
+        assertTrue(ids.isRepeat("DÉAL1"));
+        assertEquals(1, ids.size());
+    }
+
+    @Test
+    @DisplayName("Should never report repeats when disabled")
+    void shouldNeverReportRepeatsWhenDisabled() {
+        DealIdSet ids = new DealIdSet(0);
+
+        assertFalse(ids.isRepeat("DEAL001"));
+        assertFalse(ids.isRepeat("DEAL001"));
+        assertEquals(0, ids.size());
+    }
+}
@@ -0,0 +1,118 @@
+package com.progressoft.fxdeals.service;
+
+import com.progressoft.fxdeals.config.QueryProperties;
+import com.progressoft.fxdeals.dto.DealResponseDTO;
+import com.progressoft.fxdeals.model.Deal;
+import com.progressoft.fxdeals.repository.DealQueryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DealLookupCache Tests")
+class DealLookupCacheTest {
+
+    @Mock
+    private DealQueryRepository dealQueryRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private DealLookupCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new DealLookupCache(dealQueryRepository, new QueryProperties(), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should load a deal once and serve repeated lookups from memory")
+    void shouldServeRepeatedLookupsFromMemory() {
+        when(dealQueryRepository.findById("DEAL001")).thenReturn(Optional.of(deal("DEAL001")));
+
+        Optional<DealResponseDTO> first = cache.find("DEAL001");
+        Optional<DealResponseDTO> second = cache.find("DEAL001");
+
+        assertEquals("DEAL001", first.orElseThrow().getDealId());
+        assertEquals(first.get(), second.orElseThrow());
+        verify(dealQueryRepository, times(1)).findById("DEAL001");
+        assertEquals(1, hits());
+    }
+
+    @Test
+    @DisplayName("Should not let a caller change the cached deal")
+    void shouldReturnACopyOfTheCachedDeal() {
+        when(dealQueryRepository.findById("DEAL001")).thenReturn(Optional.of(deal("DEAL001")));
+
+        DealResponseDTO first = cache.find("DEAL001").orElseThrow();
+        first.setDealAmount(BigDecimal.ZERO);
+        DealResponseDTO second = cache.find("DEAL001").orElseThrow();
+
+        assertNotSame(first, second);
+        assertEquals(new BigDecimal("100.0000"), second.getDealAmount());
+    }
+
+    @Test
+    @DisplayName("Should cache misses")
+    void shouldCacheMisses() {
+        when(dealQueryRepository.findById("MISSING")).thenReturn(Optional.empty());
+
+        assertTrue(cache.find("MISSING").isEmpty());
+        assertTrue(cache.find("MISSING").isEmpty());
+
+        verify(dealQueryRepository, times(1)).findById("MISSING");
+    }
+
+    @Test
+    @DisplayName("Should turn a cached miss into a hit once the deal is imported")
+    void shouldReplaceCachedMissOnInsert() {
+        when(dealQueryRepository.findById("DEAL001")).thenReturn(Optional.empty());
+        cache.find("DEAL001");
+
+        cache.dealsInserted(List.of(deal("DEAL001")));
+
+        assertEquals("DEAL001", cache.find("DEAL001").orElseThrow().getDealId());
+        verify(dealQueryRepository, times(1)).findById("DEAL001");
+    }
+
+    @Test
+    @DisplayName("Should not cache imported deals that were never looked up")
+    void shouldNotCacheImportedDealsNotLookedUp() {
+        cache.dealsInserted(List.of(deal("DEAL001")));
+        when(dealQueryRepository.findById("DEAL001")).thenReturn(Optional.of(deal("DEAL001")));
+
+        cache.find("DEAL001");
+
+        verify(dealQueryRepository, times(1)).findById("DEAL001");
+    }
+
+    private double hits() {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", DealLookupCache.CACHE_NAME)
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+    }
+
+    private static Deal deal(String dealId) {
+        return Deal.builder()
+                .dealId(dealId)
+                .fromCurrency("USD")
+                .toCurrency("EUR")
+                .dealTimestamp(LocalDateTime.of(2025, 1, 15, 10, 30))
+                .dealAmount(new BigDecimal("100"))
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.progressoft.fxdeals.service;
+
+import com.progressoft.fxdeals.config.PartitionProperties;
+import com.progressoft.fxdeals.repository.DealPartitionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DealPartitionMaintainer Tests")
+class DealPartitionMaintainerTest {
+
+    @Mock
+    private DealPartitionRepository dealPartitionRepository;
+
+    private PartitionProperties properties;
+
+    private DealPartitionMaintainer maintainer;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PartitionProperties();
+        maintainer = new DealPartitionMaintainer(dealPartitionRepository, properties);
+    }
+
+    @Test
+    @DisplayName("Should create partitions from the current month through the configured months ahead")
+    void shouldCreatePartitionsAhead() {
+        properties.setMonthsAhead(3);
+
+        maintainer.maintain(LocalDate.of(2026, 10, 17));
+
+        verify(dealPartitionRepository).createPartitions(LocalDate.of(2026, 10, 1), LocalDate.of(2027, 1, 1));
+        verify(dealPartitionRepository, never()).dropPartitionsBefore(any());
+    }
+
+    @Test
+    @DisplayName("Should drop partitions older than the retention period")
+    void shouldDropPartitionsOutsideRetention() {
+        properties.setRetentionMonths(24);
+
+        maintainer.maintain(LocalDate.of(2026, 10, 17));
+
+        verify(dealPartitionRepository).dropPartitionsBefore(LocalDate.of(2024, 10, 1));
+    }
+
+    @Test
+    @DisplayName("Should not propagate database failures")
+    void shouldSwallowDatabaseFailures() {
+        properties.setRetentionMonths(12);
+        when(dealPartitionRepository.createPartitions(any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        assertDoesNotThrow(() -> maintainer.maintain(LocalDate.of(2026, 10, 17)));
+        verify(dealPartitionRepository, never()).dropPartitionsBefore(any());
+    }
+}
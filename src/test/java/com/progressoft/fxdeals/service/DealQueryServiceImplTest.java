@@ -0,0 +1,132 @@
+package com.progressoft.fxdeals.service;
+
+import com.progressoft.fxdeals.config.QueryProperties;
+import com.progressoft.fxdeals.dto.DealPageDTO;
+import com.progressoft.fxdeals.dto.DealResponseDTO;
+import com.progressoft.fxdeals.exception.DealNotFoundException;
+import com.progressoft.fxdeals.exception.ValidationException;
+import com.progressoft.fxdeals.model.Deal;
+import com.progressoft.fxdeals.repository.DealFilter;
+import com.progressoft.fxdeals.repository.DealQueryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DealQueryService Tests")
+class DealQueryServiceImplTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 15, 10, 0);
+
+    private static final DealFilter NO_FILTER = new DealFilter(null, null, null, null);
+
+    @Mock
+    private DealQueryRepository dealQueryRepository;
+
+    @Mock
+    private DealLookupCache dealLookupCache;
+
+    private QueryProperties properties;
+
+    private DealQueryServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new QueryProperties();
+        properties.setDefaultPageSize(2);
+        service = new DealQueryServiceImpl(dealQueryRepository, properties, dealLookupCache);
+    }
+
+    @Test
+    @DisplayName("Should return a cursor pointing after the last deal when more deals follow")
+    void shouldReturnCursorWhenMoreDealsFollow() {
+        when(dealQueryRepository.findPage(NO_FILTER, null, null, 3)).thenReturn(deals(3));
+
+        DealPageDTO page = service.findDeals(NO_FILTER, null, null);
+
+        assertEquals(List.of("DEAL0", "DEAL1"), page.getDeals().stream().map(d -> d.getDealId()).toList());
+        DealCursor cursor = DealCursor.decode(page.getNextCursor());
+        assertEquals(BASE.plusMinutes(1), cursor.dealTimestamp());
+        assertEquals("DEAL1", cursor.dealId());
+    }
+
+    @Test
+    @DisplayName("Should seek past the cursor and end without a cursor on the last page")
+    void shouldSeekPastCursor() {
+        String cursor = new DealCursor(BASE.plusMinutes(1), "DEAL1").encode();
+        when(dealQueryRepository.findPage(NO_FILTER, BASE.plusMinutes(1), "DEAL1", 3)).thenReturn(deals(1));
+
+        DealPageDTO page = service.findDeals(NO_FILTER, cursor, null);
+
+        assertEquals(1, page.getDeals().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should upper-case currency filters before querying")
+    void shouldNormalizeCurrencies() {
+        when(dealQueryRepository.findPage(any(), isNull(), isNull(), anyInt())).thenReturn(List.of());
+
+        service.findDeals(new DealFilter(" usd", "eur", null, null), null, 10);
+
+        verify(dealQueryRepository).findPage(eq(new DealFilter("USD", "EUR", null, null)), isNull(), isNull(), eq(11));
+    }
+
+    @Test
+    @DisplayName("Should return a deal found by ID")
+    void shouldReturnDealFoundById() {
+        DealResponseDTO deal = DealResponseDTO.builder().dealId("DEAL001").build();
+        when(dealLookupCache.find("DEAL001")).thenReturn(Optional.of(deal));
+
+        assertSame(deal, service.findDeal("DEAL001"));
+    }
+
+    @Test
+    @DisplayName("Should throw when no deal has the ID")
+    void shouldThrowWhenDealNotFound() {
+        when(dealLookupCache.find("MISSING")).thenReturn(Optional.empty());
+
+        assertThrows(DealNotFoundException.class, () -> service.findDeal("MISSING"));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid currencies, ranges, limits and cursors")
+    void shouldRejectInvalidQueries() {
+        assertThrows(ValidationException.class,
+                () -> service.findDeals(new DealFilter("XXX", null, null, null), null, null));
+        assertThrows(ValidationException.class,
+                () -> service.findDeals(new DealFilter(null, null, BASE, BASE), null, null));
+        assertThrows(ValidationException.class, () -> service.findDeals(NO_FILTER, null, 1001));
+        assertThrows(ValidationException.class, () -> service.findDeals(NO_FILTER, null, 0));
+        assertThrows(ValidationException.class, () -> service.findDeals(NO_FILTER, "not-a-cursor", null));
+        verifyNoInteractions(dealQueryRepository);
+    }
+
+    private static List<Deal> deals(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> Deal.builder()
+                        .dealId("DEAL" + i)
+                        .fromCurrency("USD")
+                        .toCurrency("EUR")
+                        .dealTimestamp(BASE.plusMinutes(i))
+                        .dealAmount(new BigDecimal("100.50"))
+                        .build())
+                .toList();
+    }
+}
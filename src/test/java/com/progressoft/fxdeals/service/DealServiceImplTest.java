@@ -1,21 +1,40 @@
 package com.progressoft.fxdeals.service;
 
+import com.progressoft.fxdeals.config.DealIdFilterProperties;
+import com.progressoft.fxdeals.config.ImportProperties;
 import com.progressoft.fxdeals.model.Deal;
+import com.progressoft.fxdeals.repository.DealCopyRepository;
+import com.progressoft.fxdeals.repository.DealJdbcRepository;
 import com.progressoft.fxdeals.repository.DealRepository;
+import com.progressoft.fxdeals.repository.DealRollupRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,13 +44,38 @@ class DealServiceImplTest {
     @Mock
     private DealRepository dealRepository;
 
-    @InjectMocks
+    @Mock
+    private DealJdbcRepository dealJdbcRepository;
+
+    @Mock
+    private DealCopyRepository dealCopyRepository;
+
+    @Mock
+    private DealRollupRepository dealRollupRepository;
+
+    @Mock
+    private DealInsertListener insertListener;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ImportProperties importProperties;
+
+    private DealIdFilter dealIdFilter;
+
     private DealServiceImpl dealService;
 
     private Deal validDeal;
 
     @BeforeEach
     void setUp() {
+        importProperties = new ImportProperties();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        dealIdFilter = new DealIdFilter(dealJdbcRepository, transactionTemplate, new DealIdFilterProperties(),
+                new SimpleMeterRegistry());
+        dealService = new DealServiceImpl(dealRepository, dealJdbcRepository, dealCopyRepository,
+                dealRollupRepository, transactionTemplate, importProperties, dealIdFilter, List.of(dealIdFilter, insertListener));
+
         validDeal = Deal.builder()
                 .dealId("DEAL001")
                 .fromCurrency("USD")
@@ -45,13 +89,14 @@ class DealServiceImplTest {
     @DisplayName("Should save valid deal successfully")
     void shouldSaveValidDealSuccessfully() {
         when(dealRepository.existsById("DEAL001")).thenReturn(false);
-        when(dealRepository.save(any(Deal.class))).thenReturn(validDeal);
+        when(dealRepository.saveAndFlush(any(Deal.class))).thenReturn(validDeal);
 
         boolean result = dealService.saveDeal(validDeal);
 
         assertTrue(result);
         verify(dealRepository, times(1)).existsById("DEAL001");
-        verify(dealRepository, times(1)).save(validDeal);
+        verify(dealRepository, times(1)).saveAndFlush(validDeal);
+        verify(dealRollupRepository).addDeals(List.of(validDeal));
     }
 
     @Test
@@ -63,21 +108,36 @@ class DealServiceImplTest {
 
         assertFalse(result);
         verify(dealRepository, times(1)).existsById("DEAL001");
-        verify(dealRepository, never()).save(any(Deal.class));
+        verify(dealRepository, never()).saveAndFlush(any(Deal.class));
     }
 
     @Test
     @DisplayName("Should handle DataIntegrityViolationException gracefully")
     void shouldHandleDataIntegrityViolationExceptionGracefully() {
         when(dealRepository.existsById("DEAL001")).thenReturn(false);
-        when(dealRepository.save(any(Deal.class)))
+        when(dealRepository.saveAndFlush(any(Deal.class)))
                 .thenThrow(new DataIntegrityViolationException("Duplicate key"));
 
         boolean result = dealService.saveDeal(validDeal);
 
         assertFalse(result);
         verify(dealRepository, times(1)).existsById("DEAL001");
-        verify(dealRepository, times(1)).save(validDeal);
+        verify(dealRepository, times(1)).saveAndFlush(validDeal);
+    }
+
+    @Test
+    @DisplayName("Should roll back and return false when the insert hits the unique key after the existence check")
+    void shouldRollBackWhenInsertHitsUniqueKeyAfterExistenceCheck() {
+        when(dealRepository.existsById("DEAL001")).thenReturn(false);
+        when(dealRepository.saveAndFlush(any(Deal.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"));
+
+        assertFalse(dealService.saveDeal(validDeal));
+
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        verify(dealRollupRepository, never()).addDeals(anyList());
+        verify(insertListener, never()).dealsInserted(anyList());
     }
 
     @Test
@@ -101,12 +161,12 @@ class DealServiceImplTest {
 
         when(dealRepository.existsById("DEAL001")).thenReturn(false);
         when(dealRepository.existsById("DEAL002")).thenReturn(false);
-        when(dealRepository.save(any(Deal.class))).thenReturn(deal1, deal2);
+        when(dealRepository.saveAndFlush(any(Deal.class))).thenReturn(deal1, deal2);
 
         assertTrue(dealService.saveDeal(deal1));
         assertTrue(dealService.saveDeal(deal2));
 
-        verify(dealRepository, times(2)).save(any(Deal.class));
+        verify(dealRepository, times(2)).saveAndFlush(any(Deal.class));
     }
 
     @Test
@@ -120,6 +180,226 @@ class DealServiceImplTest {
         assertFalse(firstResult);
         assertFalse(secondResult);
         verify(dealRepository, times(2)).existsById("DEAL001");
-        verify(dealRepository, never()).save(any(Deal.class));
+        verify(dealRepository, never()).saveAndFlush(any(Deal.class));
+    }
+
+    @Test
+    @DisplayName("Should save deals in batches of the configured size")
+    void shouldSaveDealsInConfiguredBatches() {
+        importProperties.setBatchSize(2);
+        List<Deal> deals = List.of(deal("DEAL001"), deal("DEAL002"), deal("DEAL003"));
+
+        List<SaveOutcome> outcomes = dealService.saveDeals(deals);
+
+        assertEquals(List.of(SaveOutcome.SAVED, SaveOutcome.SAVED, SaveOutcome.SAVED), outcomes);
+        verify(dealJdbcRepository).insertAll(deals.subList(0, 2));
+        verify(dealJdbcRepository).insertAll(deals.subList(2, 3));
+        verify(transactionManager, times(2)).commit(any());
+        verify(dealRepository, never()).existsById(any());
+    }
+
+    @Test
+    @DisplayName("Should resolve duplicates for a whole batch with one lookup")
+    void shouldResolveDuplicatesForWholeBatchWithOneLookup() {
+        Deal existing = deal("DEAL001");
+        Deal fresh = deal("DEAL002");
+        Deal repeated = deal("DEAL002");
+        List<Deal> deals = List.of(existing, fresh, repeated);
+
+        when(dealJdbcRepository.findExistingIds(Set.of("DEAL001", "DEAL002")))
+                .thenReturn(new HashSet<>(Set.of("DEAL001")));
+
+        List<SaveOutcome> outcomes = dealService.saveDeals(deals);
+
+        assertEquals(List.of(SaveOutcome.DUPLICATE, SaveOutcome.SAVED, SaveOutcome.DUPLICATE), outcomes);
+        verify(dealJdbcRepository, times(1)).findExistingIds(any());
+        verify(dealJdbcRepository).insertAll(List.of(fresh));
+        verify(dealRollupRepository).addDeals(List.of(fresh));
+        verify(insertListener).dealsInserted(List.of(fresh));
+        verify(dealRepository, never()).existsById(any());
+    }
+
+    @Test
+    @DisplayName("Should skip the insert when every deal in the batch already exists")
+    void shouldSkipInsertWhenEveryDealAlreadyExists() {
+        when(dealJdbcRepository.findExistingIds(Set.of("DEAL001")))
+                .thenReturn(new HashSet<>(Set.of("DEAL001")));
+
+        List<SaveOutcome> outcomes = dealService.saveDeals(List.of(deal("DEAL001")));
+
+        assertEquals(List.of(SaveOutcome.DUPLICATE), outcomes);
+        verify(dealJdbcRepository, never()).insertAll(anyList());
+        verify(dealRollupRepository, never()).addDeals(any());
+        verify(insertListener, never()).dealsInserted(any());
+    }
+
+    @Test
+    @DisplayName("Should only look up IDs the loaded filter might contain")
+    void shouldOnlyLookUpIdsTheFilterMightContain() {
+        loadFilter("DEAL001");
+        Deal existing = deal("DEAL001");
+        Deal fresh = deal("DEAL002");
+        when(dealJdbcRepository.findExistingIds(Set.of("DEAL001")))
+                .thenReturn(new HashSet<>(Set.of("DEAL001")));
+
+        List<SaveOutcome> outcomes = dealService.saveDeals(List.of(existing, fresh));
+
+        assertEquals(List.of(SaveOutcome.DUPLICATE, SaveOutcome.SAVED), outcomes);
+        verify(dealJdbcRepository).insertAll(List.of(fresh));
+        assertTrue(dealIdFilter.mightExist("DEAL002"));
+    }
+
+    @Test
+    @DisplayName("Should skip the existence query when the filter rules out the whole batch")
+    void shouldSkipExistenceQueryWhenFilterRulesOutBatch() {
+        loadFilter("DEAL001");
+        List<Deal> deals = List.of(deal("DEAL002"), deal("DEAL003"));
+
+        List<SaveOutcome> outcomes = dealService.saveDeals(deals);
+
+        assertEquals(List.of(SaveOutcome.SAVED, SaveOutcome.SAVED), outcomes);
+        verify(dealJdbcRepository, never()).findExistingIds(any());
+        verify(dealJdbcRepository).insertAll(deals);
+    }
+
+    @Test
+    @DisplayName("Should skip existsById for a single deal the filter rules out")
+    void shouldSkipExistsByIdWhenFilterRulesOutDeal() {
+        loadFilter("DEAL002");
+
+        assertTrue(dealService.saveDeal(validDeal));
+
+        verify(dealRepository, never()).existsById(any());
+        verify(dealRepository).saveAndFlush(validDeal);
+    }
+
+    @Test
+    @DisplayName("Should fall back to row-by-row inserts when a batch is rejected")
+    void shouldFallBackToRowByRowWhenBatchIsRejected() {
+        Deal first = deal("DEAL001");
+        Deal duplicate = deal("DEAL002");
+        Deal broken = deal("DEAL003");
+        List<Deal> deals = List.of(first, duplicate, broken);
+
+        doAnswer(invocation -> {
+            List<Deal> batch = invocation.getArgument(0);
+            if (batch.size() > 1 || batch.contains(duplicate)) {
+                throw new DuplicateKeyException("Duplicate key");
+            }
+            if (batch.contains(broken)) {
+                throw new DataIntegrityViolationException("Value too long");
+            }
+            return null;
+        }).when(dealJdbcRepository).insertAll(anyList());
+
+        List<SaveOutcome> outcomes = dealService.saveDeals(deals);
+
+        assertEquals(List.of(SaveOutcome.SAVED, SaveOutcome.DUPLICATE, SaveOutcome.FAILED), outcomes);
+        verify(dealJdbcRepository).insertAll(List.of(first));
+        verify(dealRollupRepository, times(1)).addDeals(any());
+        verify(dealRollupRepository).addDeals(List.of(first));
+    }
+
+    @Test
+    @DisplayName("Should fail the batch instead of replaying it when no connection can be obtained")
+    void shouldNotReplayBatchWhenConnectionIsUnavailable() {
+        List<Deal> deals = List.of(deal("DEAL001"), deal("DEAL002"));
+        doThrow(new CannotGetJdbcConnectionException("Connection is not available, request timed out"))
+                .when(dealJdbcRepository).insertAll(anyList());
+
+        assertThrows(CannotGetJdbcConnectionException.class, () -> dealService.saveDeals(deals));
+        verify(dealJdbcRepository, times(1)).insertAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should record a saved deal in the ID filter only once its transaction commits")
+    void shouldRecordSavedDealAfterCommit() {
+        loadFilter();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            dealService.saveDeal(validDeal);
+
+            assertFalse(dealIdFilter.mightExist("DEAL001"));
+            verify(insertListener, never()).dealsInserted(any());
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(dealIdFilter.mightExist("DEAL001"));
+        verify(insertListener).dealsInserted(List.of(validDeal));
+    }
+
+    @Test
+    @DisplayName("Should not record the deals of a batch whose transaction rolls back")
+    void shouldNotRecordDealsOfRolledBackBatch() {
+        loadFilter();
+        // The batch joins an outer transaction that is then rolled back
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            dealService.saveDeals(List.of(deal("DEAL001"), deal("DEAL002")));
+
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertFalse(dealIdFilter.mightExist("DEAL001"));
+        assertFalse(dealIdFilter.mightExist("DEAL002"));
+        verify(insertListener, never()).dealsInserted(any());
+    }
+
+    @Test
+    @DisplayName("Should return no outcomes for an empty list")
+    void shouldReturnNoOutcomesForEmptyList() {
+        assertTrue(dealService.saveDeals(List.of()).isEmpty());
+        verify(dealJdbcRepository, never()).insertAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should map COPY merge results to per-row outcomes")
+    void shouldMapCopyMergeResultsToOutcomes() {
+        List<Deal> deals = List.of(deal("DEAL001"), deal("DEAL002"), deal("DEAL001"));
+        when(dealCopyRepository.copyAndMerge(deals)).thenReturn(new HashSet<>(Set.of("DEAL001")));
+
+        List<SaveOutcome> outcomes = dealService.saveDealsByCopy(deals);
+
+        assertEquals(List.of(SaveOutcome.SAVED, SaveOutcome.DUPLICATE, SaveOutcome.DUPLICATE), outcomes);
+        verify(dealJdbcRepository, never()).insertAll(anyList());
+        verify(dealRollupRepository).addDeals(List.of(deals.get(0)));
+        verify(insertListener).dealsInserted(List.of(deals.get(0)));
+    }
+
+    @Test
+    @DisplayName("Should fall back to batched inserts when the COPY load fails")
+    void shouldFallBackToBatchedInsertsWhenCopyFails() {
+        List<Deal> deals = List.of(deal("DEAL001"), deal("DEAL002"));
+        when(dealCopyRepository.copyAndMerge(deals))
+                .thenThrow(new DataAccessResourceFailureException("COPY not supported"));
+
+        List<SaveOutcome> outcomes = dealService.saveDealsByCopy(deals);
+
+        assertEquals(List.of(SaveOutcome.SAVED, SaveOutcome.SAVED), outcomes);
+        verify(dealJdbcRepository).insertAll(deals);
+    }
+
+    private static Deal deal(String dealId) {
+        return Deal.builder()
+                .dealId(dealId)
+                .fromCurrency("USD")
+                .toCurrency("EUR")
+                .dealTimestamp(LocalDateTime.of(2025, 1, 15, 10, 30))
+                .dealAmount(new BigDecimal("100"))
+                .build();
+    }
+
+    private void loadFilter(String... persistedIds) {
+        doAnswer(invocation -> {
+            Consumer<String> consumer = invocation.getArgument(1);
+            List.of(persistedIds).forEach(consumer);
+            return null;
+        }).when(dealJdbcRepository).streamAllIds(anyInt(), any());
+        dealIdFilter.load();
     }
-}
\ No newline at end of file
+}
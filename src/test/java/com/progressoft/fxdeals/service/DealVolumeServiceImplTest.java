@@ -0,0 +1,204 @@
+package com.progressoft.fxdeals.service;
+
+import com.progressoft.fxdeals.config.QueryProperties;
+import com.progressoft.fxdeals.dto.DealVolumeDTO;
+import com.progressoft.fxdeals.dto.RollupRebuildDTO;
+import com.progressoft.fxdeals.exception.RollupRebuildNotFoundException;
+import com.progressoft.fxdeals.exception.RollupRebuildQueueFullException;
+import com.progressoft.fxdeals.exception.ValidationException;
+import com.progressoft.fxdeals.model.ImportJobStatus;
+import com.progressoft.fxdeals.repository.DealFilter;
+import com.progressoft.fxdeals.repository.DealQueryRepository;
+import com.progressoft.fxdeals.repository.DealRollupRepository;
+import com.progressoft.fxdeals.repository.DealVolume;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DealVolumeService Tests")
+class DealVolumeServiceImplTest {
+
+    @Mock
+    private DealRollupRepository dealRollupRepository;
+
+    @Mock
+    private DealQueryRepository dealQueryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private QueryProperties queryProperties;
+
+    private DealVolumeServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        queryProperties = new QueryProperties();
+        // Rebuilds run on the calling thread so their outcome can be asserted directly
+        service = new DealVolumeServiceImpl(dealRollupRepository, dealQueryRepository,
+                new TransactionTemplate(transactionManager), queryProperties, Runnable::run);
+    }
+
+    private RollupRebuildDTO rebuild(LocalDateTime from, LocalDateTime to) {
+        return service.getRebuild(service.startRebuild(from, to).getRebuildId());
+    }
+
+    @Test
+    @DisplayName("Should return the rollup totals per pair for a normalized filter")
+    void shouldReturnTotalsPerPair() {
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 1, 2, 0, 0);
+        when(dealRollupRepository.sumByPair(new DealFilter("USD", null, from, to))).thenReturn(List.of(
+                new DealVolume("USD", "EUR", 3, new BigDecimal("300.0000"),
+                        new BigDecimal("50.0000"), new BigDecimal("150.0000"))));
+
+        List<DealVolumeDTO> volumes = service.findVolumes(new DealFilter("usd", null, from, to));
+
+        assertEquals(1, volumes.size());
+        assertEquals("EUR", volumes.get(0).getToCurrency());
+        assertEquals(3, volumes.get(0).getDealCount());
+        assertEquals(new BigDecimal("300.0000"), volumes.get(0).getTotalAmount());
+        assertEquals(new BigDecimal("150.0000"), volumes.get(0).getMaxAmount());
+    }
+
+    @Test
+    @DisplayName("Should reject range bounds that are not whole hours")
+    void shouldRejectBoundsOffTheHour() {
+        DealFilter filter = new DealFilter(null, null, LocalDateTime.of(2025, 1, 1, 10, 30), null);
+
+        assertThrows(ValidationException.class, () -> service.findVolumes(filter));
+        verifyNoInteractions(dealRollupRepository);
+    }
+
+    @Test
+    @DisplayName("Should rebuild a range widened to whole hours one chunk per transaction")
+    void shouldRebuildRangeInChunks() {
+        queryProperties.setRollupRebuildChunk(Duration.ofDays(1));
+        when(dealRollupRepository.rebuild(any(), any())).thenReturn(10);
+
+        RollupRebuildDTO result = rebuild(
+                LocalDateTime.of(2025, 1, 1, 10, 15), LocalDateTime.of(2025, 1, 3, 5, 1));
+
+        assertEquals(ImportJobStatus.COMPLETED, result.getStatus());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 10, 0), result.getFrom());
+        assertEquals(LocalDateTime.of(2025, 1, 3, 6, 0), result.getTo());
+        assertEquals(LocalDateTime.of(2025, 1, 3, 6, 0), result.getRebuiltUntil());
+        assertEquals(20, result.getBuckets());
+        assertNotNull(result.getFinishedAt());
+        verify(dealRollupRepository).rebuild(LocalDateTime.of(2025, 1, 1, 10, 0), LocalDateTime.of(2025, 1, 2, 10, 0));
+        verify(dealRollupRepository).rebuild(LocalDateTime.of(2025, 1, 2, 10, 0), LocalDateTime.of(2025, 1, 3, 6, 0));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should rebuild one hour per transaction by default")
+    void shouldRebuildHourlyByDefault() {
+        when(dealRollupRepository.rebuild(any(), any())).thenReturn(1);
+
+        RollupRebuildDTO result = rebuild(LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 1, 1, 3, 0));
+
+        assertEquals(3, result.getBuckets());
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should default the rebuild range to the stored deals")
+    void shouldDefaultRebuildRangeToStoredDeals() {
+        when(dealQueryRepository.findMinTimestamp()).thenReturn(LocalDateTime.of(2025, 1, 1, 8, 20));
+        when(dealQueryRepository.findMaxTimestamp()).thenReturn(LocalDateTime.of(2025, 1, 1, 9, 0));
+        when(dealRollupRepository.rebuild(any(), any())).thenReturn(1);
+
+        RollupRebuildDTO result = rebuild(null, null);
+
+        // The latest deal sits exactly on the hour, so its bucket must still be included
+        verify(dealRollupRepository).rebuild(LocalDateTime.of(2025, 1, 1, 8, 0), LocalDateTime.of(2025, 1, 1, 9, 0));
+        verify(dealRollupRepository).rebuild(LocalDateTime.of(2025, 1, 1, 9, 0), LocalDateTime.of(2025, 1, 1, 10, 0));
+        assertEquals(2, result.getBuckets());
+    }
+
+    @Test
+    @DisplayName("Should rebuild nothing when there are no deals")
+    void shouldRebuildNothingWithoutDeals() {
+        RollupRebuildDTO result = rebuild(null, null);
+
+        assertEquals(ImportJobStatus.COMPLETED, result.getStatus());
+        assertNull(result.getFrom());
+        assertEquals(0, result.getBuckets());
+        verify(dealRollupRepository, never()).rebuild(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject a rebuild range that is empty")
+    void shouldRejectEmptyRebuildRange() {
+        LocalDateTime at = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        assertThrows(ValidationException.class, () -> service.startRebuild(at, at));
+    }
+
+    @Test
+    @DisplayName("Should report a failed rebuild with the chunks done before the failure")
+    void shouldReportFailedRebuild() {
+        when(dealRollupRepository.rebuild(any(), any()))
+                .thenReturn(4)
+                .thenThrow(new QueryTimeoutException("canceling statement due to statement timeout"));
+
+        RollupRebuildDTO result = rebuild(LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 1, 1, 3, 0));
+
+        assertEquals(ImportJobStatus.FAILED, result.getStatus());
+        assertEquals("canceling statement due to statement timeout", result.getError());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 1, 0), result.getRebuiltUntil());
+        assertEquals(4, result.getBuckets());
+    }
+
+    @Test
+    @DisplayName("Should leave a rebuild queued until the executor runs it")
+    void shouldQueueRebuild() {
+        List<Runnable> queued = new ArrayList<>();
+        service = new DealVolumeServiceImpl(dealRollupRepository, dealQueryRepository,
+                new TransactionTemplate(transactionManager), queryProperties, queued::add);
+
+        RollupRebuildDTO started = service.startRebuild(null, null);
+
+        assertEquals(ImportJobStatus.QUEUED, service.getRebuild(started.getRebuildId()).getStatus());
+        verifyNoInteractions(dealQueryRepository, dealRollupRepository);
+
+        queued.get(0).run();
+
+        assertEquals(ImportJobStatus.COMPLETED, service.getRebuild(started.getRebuildId()).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should reject a rebuild when the queue is full")
+    void shouldRejectRebuildWhenQueueIsFull() {
+        service = new DealVolumeServiceImpl(dealRollupRepository, dealQueryRepository,
+                new TransactionTemplate(transactionManager), queryProperties, task -> {
+                    throw new RejectedExecutionException("full");
+                });
+
+        assertThrows(RollupRebuildQueueFullException.class, () -> service.startRebuild(null, null));
+    }
+
+    @Test
+    @DisplayName("Should throw for an unknown rebuild")
+    void shouldThrowForUnknownRebuild() {
+        assertThrows(RollupRebuildNotFoundException.class, () -> service.getRebuild("missing"));
+    }
+}
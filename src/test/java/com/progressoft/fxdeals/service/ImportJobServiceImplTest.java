@@ -0,0 +1,225 @@
+package com.progressoft.fxdeals.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progressoft.fxdeals.config.JobProperties;
+import com.progressoft.fxdeals.dto.ImportJobDTO;
+import com.progressoft.fxdeals.dto.ImportResultDTO;
+import com.progressoft.fxdeals.exception.ImportJobNotFoundException;
+import com.progressoft.fxdeals.exception.ImportQueueFullException;
+import com.progressoft.fxdeals.model.ImportJob;
+import com.progressoft.fxdeals.model.ImportJobStatus;
+import com.progressoft.fxdeals.repository.ImportJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ImportJobService Tests")
+class ImportJobServiceImplTest {
+
+    @Mock
+    private ImportJobRepository importJobRepository;
+
+    @Mock
+    private CSVImporterService csvImporterService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @TempDir
+    Path spoolDir;
+
+    private final Map<String, ImportJob> jobs = new HashMap<>();
+    private final List<Runnable> queued = new ArrayList<>();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private JobProperties jobProperties;
+
+    @BeforeEach
+    void setUp() {
+        jobProperties = new JobProperties();
+        jobProperties.setSpoolDir(spoolDir);
+
+        lenient().when(importJobRepository.save(any(ImportJob.class))).thenAnswer(invocation -> {
+            ImportJob job = invocation.getArgument(0);
+            jobs.put(job.getJobId(), job);
+            return job;
+        });
+        lenient().when(importJobRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(jobs.get(invocation.<String>getArgument(0))));
+    }
+
+    private ImportJobServiceImpl newService(Executor executor) {
+        return new ImportJobServiceImpl(importJobRepository, csvImporterService, jobProperties, executor, objectMapper,
+                eventPublisher);
+    }
+
+    private static MockMultipartFile csvFile() {
+        return new MockMultipartFile("file", "deals.csv", "text/csv",
+                "dealId,fromCurrency,toCurrency,dealTimestamp,dealAmount\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should spool the file and queue the job without running it")
+    void shouldSpoolFileAndQueueJob() {
+        ImportJobServiceImpl service = newService(queued::add);
+
+        ImportJobDTO job = service.submit(csvFile(), ImportMode.COPY);
+
+        assertEquals(ImportJobStatus.QUEUED, job.getStatus());
+        assertEquals(ImportMode.COPY, job.getMode());
+        assertEquals(1, queued.size());
+        assertTrue(Files.exists(Path.of(jobs.get(job.getJobId()).getSpoolPath())));
+        verifyNoInteractions(csvImporterService);
+    }
+
+    @Test
+    @DisplayName("Should run a queued job and store its final result")
+    void shouldRunJobAndStoreResult() throws Exception {
+        ImportResultDTO result = ImportResultDTO.builder()
+                .totalRecords(3)
+                .successfulRecords(2)
+                .duplicateRecords(1)
+                .build();
+        when(csvImporterService.importFile(any(Path.class), eq(ImportMode.BATCH), any()))
+                .thenAnswer(invocation -> {
+                    ImportProgress progress = invocation.getArgument(2);
+                    progress.addRowsRead(3);
+                    progress.incrementSaved();
+                    progress.incrementSaved();
+                    progress.incrementDuplicates();
+                    return result;
+                });
+        ImportJobServiceImpl service = newService(queued::add);
+
+        String jobId = service.submit(csvFile(), ImportMode.BATCH).getJobId();
+        Path spoolFile = Path.of(jobs.get(jobId).getSpoolPath());
+        queued.forEach(Runnable::run);
+
+        ImportJobDTO job = service.getJob(jobId);
+        assertEquals(ImportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(3, job.getRowsRead());
+        assertEquals(2, job.getSavedRecords());
+        assertEquals(1, job.getDuplicateRecords());
+        assertEquals(2, job.getResult().getSuccessfulRecords());
+        assertNotNull(job.getFinishedAt());
+        assertFalse(Files.exists(spoolFile));
+
+        ArgumentCaptor<ImportJobFinishedEvent> event = ArgumentCaptor.forClass(ImportJobFinishedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(ImportJobStatus.COMPLETED, event.getValue().job().getStatus());
+        assertEquals(2, event.getValue().job().getSavedRecords());
+    }
+
+    @Test
+    @DisplayName("Should mark the job failed when the import throws")
+    void shouldMarkJobFailedWhenImportThrows() {
+        when(csvImporterService.importFile(any(Path.class), any(), any()))
+                .thenThrow(new IllegalStateException("boom"));
+        ImportJobServiceImpl service = newService(Runnable::run);
+
+        ImportJobDTO job = service.getJob(service.submit(csvFile(), ImportMode.BATCH).getJobId());
+
+        assertEquals(ImportJobStatus.FAILED, job.getStatus());
+        assertEquals("boom", job.getError());
+        assertNull(job.getResult());
+    }
+
+    @Test
+    @DisplayName("Should truncate an error message longer than the column")
+    void shouldTruncateLongErrorMessage() {
+        when(csvImporterService.importFile(any(Path.class), any(), any()))
+                .thenThrow(new IllegalStateException("x".repeat(5000)));
+        ImportJobServiceImpl service = newService(Runnable::run);
+
+        ImportJobDTO job = service.getJob(service.submit(csvFile(), ImportMode.BATCH).getJobId());
+
+        assertEquals(ImportJobStatus.FAILED, job.getStatus());
+        assertEquals(ImportJob.MAX_ERROR_MESSAGE_LENGTH, job.getError().length());
+        assertTrue(job.getError().endsWith("..."));
+    }
+
+    @Test
+    @DisplayName("Should import a server-side file in place and leave it untouched")
+    void shouldImportServerFileInPlace(@TempDir Path serverDir) throws Exception {
+        Path serverFile = Files.writeString(serverDir.resolve("big.csv"), "dealId\n");
+        when(csvImporterService.importFile(eq(serverFile), eq(ImportMode.COPY), any()))
+                .thenReturn(ImportResultDTO.builder().build());
+        ImportJobServiceImpl service = newService(Runnable::run);
+
+        ImportJobDTO job = service.getJob(service.submitServerFile(serverFile, ImportMode.COPY).getJobId());
+
+        assertEquals(ImportJobStatus.COMPLETED, job.getStatus());
+        assertEquals("big.csv", job.getFileName());
+        assertTrue(Files.exists(serverFile));
+    }
+
+    @Test
+    @DisplayName("Should reject the job and remove its spool file when the queue is full")
+    void shouldRejectJobWhenQueueIsFull() throws Exception {
+        ImportJobServiceImpl service = newService(task -> {
+            throw new RejectedExecutionException("full");
+        });
+
+        assertThrows(ImportQueueFullException.class, () -> service.submit(csvFile(), ImportMode.BATCH));
+
+        verify(importJobRepository).deleteById(anyString());
+        try (var files = Files.list(spoolDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Should throw when the job does not exist")
+    void shouldThrowWhenJobDoesNotExist() {
+        ImportJobServiceImpl service = newService(Runnable::run);
+
+        assertThrows(ImportJobNotFoundException.class, () -> service.getJob("missing"));
+    }
+
+    @Test
+    @DisplayName("Should fail interrupted jobs and resubmit queued jobs on startup")
+    void shouldRecoverJobsOnStartup() throws Exception {
+        Path queuedFile = Files.writeString(spoolDir.resolve("queued.csv"), "dealId\n");
+        ImportJob interrupted = ImportJob.builder()
+                .jobId("running").mode(ImportMode.BATCH).status(ImportJobStatus.RUNNING)
+                .spoolPath(spoolDir.resolve("running.csv").toString()).build();
+        ImportJob waiting = ImportJob.builder()
+                .jobId("queued").mode(ImportMode.BATCH).status(ImportJobStatus.QUEUED)
+                .spoolPath(queuedFile.toString()).build();
+        when(importJobRepository.findByStatusOrderByCreatedAt(ImportJobStatus.RUNNING)).thenReturn(List.of(interrupted));
+        when(importJobRepository.findByStatusOrderByCreatedAt(ImportJobStatus.QUEUED)).thenReturn(List.of(waiting));
+        ImportJobServiceImpl service = newService(queued::add);
+
+        service.recoverJobs();
+
+        assertEquals(ImportJobStatus.FAILED, interrupted.getStatus());
+        assertEquals("Interrupted by application restart", interrupted.getErrorMessage());
+        assertEquals(ImportJobStatus.QUEUED, waiting.getStatus());
+        assertEquals(1, queued.size());
+    }
+}
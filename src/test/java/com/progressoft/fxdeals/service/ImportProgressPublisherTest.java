@@ -0,0 +1,142 @@
+package com.progressoft.fxdeals.service;
+
+import com.progressoft.fxdeals.config.ImportProperties;
+import com.progressoft.fxdeals.dto.ImportJobDTO;
+import com.progressoft.fxdeals.dto.ImportProgressDTO;
+import com.progressoft.fxdeals.exception.ImportJobNotFoundException;
+import com.progressoft.fxdeals.model.ImportJobStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ImportProgressPublisher Tests")
+class ImportProgressPublisherTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Mock
+    private ImportJobService importJobService;
+
+    private final List<Runnable> sends = new ArrayList<>();
+
+    private ImportProgressPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new ImportProgressPublisher(importJobService, new ImportProperties(), sends::add);
+    }
+
+    @Test
+    @DisplayName("Should compute rates over the interval since the previous event and estimate the time left")
+    void shouldComputeRatesAndEta() {
+        ImportProgress progress = new ImportProgress();
+        progress.setTotalBytes(10_000);
+        progress.addRowsRead(200);
+        progress.addBytesRead(2_000);
+        progress.incrementSaved();
+        ImportProgressPublisher.Subscriber subscriber = new ImportProgressPublisher.Subscriber("job", new SseEmitter());
+
+        ImportProgressDTO first = subscriber.sample(progress, progress.getStartedAt() + 2 * SECOND);
+
+        assertEquals(200, first.getRowsRead());
+        assertEquals(1, first.getSavedRecords());
+        assertEquals(100.0, first.getRowsPerSecond(), 0.001);
+        assertEquals(2, first.getElapsedSeconds());
+        assertEquals(8, first.getEtaSeconds());
+
+        progress.addRowsRead(400);
+        progress.addBytesRead(4_000);
+        ImportProgressDTO second = subscriber.sample(progress, progress.getStartedAt() + 3 * SECOND);
+
+        assertEquals(400.0, second.getRowsPerSecond(), 0.001);
+        assertEquals(1, second.getEtaSeconds());
+    }
+
+    @Test
+    @DisplayName("Should leave the estimate out when the input size is unknown")
+    void shouldOmitEtaForUnknownSize() {
+        ImportProgress progress = new ImportProgress();
+        progress.addRowsRead(10);
+        progress.addBytesRead(100);
+        ImportProgressPublisher.Subscriber subscriber = new ImportProgressPublisher.Subscriber("job", new SseEmitter());
+
+        ImportProgressDTO event = subscriber.sample(progress, progress.getStartedAt() + SECOND);
+
+        assertNull(event.getTotalBytes());
+        assertNull(event.getEtaSeconds());
+    }
+
+    @Test
+    @DisplayName("Should stop sampling a job once it has finished without querying the job again")
+    void shouldStopSamplingFinishedJob() {
+        when(importJobService.getJob("job")).thenReturn(job(ImportJobStatus.RUNNING));
+        when(importJobService.getProgress("job")).thenReturn(new ImportProgress());
+
+        publisher.subscribe("job");
+        publisher.publish();
+        runSends();
+        publisher.onJobFinished(new ImportJobFinishedEvent(job(ImportJobStatus.COMPLETED)));
+        publisher.publish();
+
+        verify(importJobService, times(1)).getProgress("job");
+        verify(importJobService, times(1)).getJob("job");
+        assertEquals(1, sends.size(), "only the final event is left to send");
+    }
+
+    @Test
+    @DisplayName("Should write events off the scheduler thread and skip a client still taking its last event")
+    void shouldSkipClientWithEventInFlight() {
+        when(importJobService.getJob("job")).thenReturn(job(ImportJobStatus.RUNNING));
+        when(importJobService.getProgress("job")).thenReturn(new ImportProgress());
+
+        publisher.subscribe("job");
+        publisher.publish();
+        publisher.publish();
+
+        assertEquals(1, sends.size());
+        runSends();
+        publisher.publish();
+        assertEquals(1, sends.size());
+    }
+
+    @Test
+    @DisplayName("Should send the final event at once to a subscriber of a finished job")
+    void shouldFinishSubscriberOfFinishedJob() {
+        when(importJobService.getJob("job")).thenReturn(job(ImportJobStatus.FAILED));
+
+        publisher.subscribe("job");
+        publisher.publish();
+
+        assertEquals(1, sends.size());
+        verify(importJobService, never()).getProgress("job");
+    }
+
+    @Test
+    @DisplayName("Should propagate unknown job IDs")
+    void shouldRejectUnknownJob() {
+        when(importJobService.getJob("missing")).thenThrow(new ImportJobNotFoundException("Import job not found"));
+
+        assertThrows(ImportJobNotFoundException.class, () -> publisher.subscribe("missing"));
+    }
+
+    private static ImportJobDTO job(ImportJobStatus status) {
+        return ImportJobDTO.builder().jobId("job").status(status).build();
+    }
+
+    private void runSends() {
+        List<Runnable> pending = new ArrayList<>(sends);
+        sends.clear();
+        pending.forEach(Runnable::run);
+    }
+}
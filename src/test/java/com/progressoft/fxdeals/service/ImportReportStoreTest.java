@@ -0,0 +1,74 @@
+package com.progressoft.fxdeals.service;
+
+import com.progressoft.fxdeals.config.ImportProperties;
+import com.progressoft.fxdeals.dto.ImportResultDTO;
+import com.progressoft.fxdeals.exception.ImportReportNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ImportReportStore Tests")
+class ImportReportStoreTest {
+
+    @TempDir
+    Path reportDir;
+
+    private ImportProperties properties;
+
+    private ImportReportStore store;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ImportProperties();
+        properties.setReportDir(reportDir);
+        store = new ImportReportStore(properties);
+    }
+
+    @Test
+    @DisplayName("Should find a written report by its ID")
+    void shouldFindWrittenReport() throws IOException {
+        ImportResultDTO result = ImportResultDTO.builder().build();
+        try (ImportReport report = store.open(result)) {
+            report.error(2, "AMOUNT_FORMAT", "dealAmount", "Invalid amount format: '\"1,5\"'");
+        }
+
+        Path file = store.find(result.getReportId());
+
+        assertEquals(List.of("row,severity,category,column,message",
+                        "2,ERROR,AMOUNT_FORMAT,dealAmount,\"Invalid amount format: '\"\"1,5\"\"'\""),
+                Files.readAllLines(file));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown and malformed report IDs")
+    void shouldRejectUnknownReportIds() {
+        assertThrows(ImportReportNotFoundException.class,
+                () -> store.find("3f2c0d4e-1b6a-4c1e-9a57-0d2f7e8b9c10"));
+        assertThrows(ImportReportNotFoundException.class, () -> store.find("../application"));
+    }
+
+    @Test
+    @DisplayName("Should delete reports older than the retention period")
+    void shouldDeleteExpiredReports() throws IOException {
+        properties.setReportRetention(Duration.ofHours(1));
+        Path expired = Files.writeString(reportDir.resolve("expired.csv"), "row");
+        Path recent = Files.writeString(reportDir.resolve("recent.csv"), "row");
+        Files.setLastModifiedTime(expired, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+
+        store.deleteExpired();
+
+        assertFalse(Files.exists(expired));
+        assertTrue(Files.exists(recent));
+    }
+}
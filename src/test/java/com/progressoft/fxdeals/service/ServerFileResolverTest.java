@@ -0,0 +1,105 @@
+package com.progressoft.fxdeals.service;
+
+import com.progressoft.fxdeals.config.ImportProperties;
+import com.progressoft.fxdeals.config.JobProperties;
+import com.progressoft.fxdeals.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ServerFileResolver Tests")
+class ServerFileResolverTest {
+
+    @TempDir
+    Path root;
+
+    private Path serverDir;
+    private ServerFileResolver resolver;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverDir = Files.createDirectories(root.resolve("data"));
+        ImportProperties importProperties = new ImportProperties();
+        importProperties.setServerDir(serverDir);
+        JobProperties jobProperties = new JobProperties();
+        jobProperties.setSpoolDir(serverDir.resolve("spool"));
+        resolver = new ServerFileResolver(importProperties, jobProperties);
+    }
+
+    @Test
+    @DisplayName("Should resolve a file inside the server directory")
+    void shouldResolveFileInsideServerDirectory() throws IOException {
+        Path file = Files.writeString(Files.createDirectories(serverDir.resolve("in")).resolve("deals.csv"), "x");
+
+        assertEquals(file.toRealPath(), resolver.resolve("in/deals.csv"));
+    }
+
+    @Test
+    @DisplayName("Should reject paths that escape the server directory")
+    void shouldRejectPathTraversal() throws IOException {
+        Files.writeString(root.resolve("secret.csv"), "x");
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> resolver.resolve("../secret.csv"));
+        assertTrue(exception.getMessage().contains("outside the import directory"));
+        assertThrows(ValidationException.class, () -> resolver.resolve(root.resolve("secret.csv").toString()));
+    }
+
+    @Test
+    @DisplayName("Should reject symbolic links pointing outside the server directory")
+    void shouldRejectSymlinkEscape() throws IOException {
+        Path secret = Files.writeString(root.resolve("secret.csv"), "x");
+        Files.createSymbolicLink(serverDir.resolve("link.csv"), secret);
+
+        assertThrows(ValidationException.class, () -> resolver.resolve("link.csv"));
+    }
+
+    @Test
+    @DisplayName("Should reject files in the job spool directory")
+    void shouldRejectSpooledFiles() throws IOException {
+        Files.writeString(Files.createDirectories(serverDir.resolve("spool")).resolve("job.csv"), "x");
+
+        assertThrows(ValidationException.class, () -> resolver.resolve("spool/job.csv"));
+    }
+
+    @Test
+    @DisplayName("Should reject spooled files when the spool directory is configured through a symbolic link")
+    void shouldRejectSpooledFilesBehindLinkedSpoolDirectory() throws IOException {
+        Path spool = Files.createDirectories(serverDir.resolve("spool"));
+        Files.writeString(spool.resolve("job.csv"), "x");
+        ImportProperties importProperties = new ImportProperties();
+        importProperties.setServerDir(serverDir);
+        JobProperties jobProperties = new JobProperties();
+        jobProperties.setSpoolDir(Files.createSymbolicLink(root.resolve("spool-link"), spool));
+        resolver = new ServerFileResolver(importProperties, jobProperties);
+
+        assertThrows(ValidationException.class, () -> resolver.resolve("spool/job.csv"));
+    }
+
+    @Test
+    @DisplayName("Should reject links to directories outside the server directory")
+    void shouldRejectLinkedDirectoryEscape() throws IOException {
+        Path outside = Files.createDirectories(root.resolve("outside"));
+        Files.writeString(outside.resolve("secret.csv"), "x");
+        Files.createSymbolicLink(serverDir.resolve("linked"), outside);
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> resolver.resolve("linked/secret.csv"));
+        assertTrue(exception.getMessage().contains("outside the import directory"));
+    }
+
+    @Test
+    @DisplayName("Should reject missing files and blank paths")
+    void shouldRejectMissingFilesAndBlankPaths() {
+        assertThrows(ValidationException.class, () -> resolver.resolve("missing.csv"));
+        assertThrows(ValidationException.class, () -> resolver.resolve("in"));
+        assertThrows(ValidationException.class, () -> resolver.resolve(" "));
+    }
+}
@@ -0,0 +1,57 @@
+package com.progressoft.fxdeals.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BloomFilter Tests")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Should never report an added value as absent")
+    void shouldNeverReportAddedValueAsAbsent() {
+        BloomFilter filter = BloomFilter.create(50_000, 0.01);
+        for (int i = 0; i < 50_000; i++) {
+            filter.put("DEAL" + i);
+        }
+
+        for (int i = 0; i < 50_000; i++) {
+            assertTrue(filter.mightContain("DEAL" + i), "DEAL" + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Should stay close to the configured false-positive rate")
+    void shouldStayCloseToConfiguredFalsePositiveRate() {
+        BloomFilter filter = BloomFilter.create(50_000, 0.01);
+        for (int i = 0; i < 50_000; i++) {
+            filter.put("DEAL" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("OTHER" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "False positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("Should size bits and hash functions for the expected entries")
+    void shouldSizeForExpectedEntries() {
+        BloomFilter filter = BloomFilter.create(1_000_000, 0.01);
+
+        assertEquals(7, filter.hashCount());
+        assertEquals(9_585_088, filter.bitCount());
+        assertEquals(filter.bitCount() / 8, filter.sizeInBytes());
+    }
+
+    @Test
+    @DisplayName("Should reject a false-positive rate outside (0, 1)")
+    void shouldRejectInvalidFalsePositiveRate() {
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(10, 1));
+    }
+}
@@ -0,0 +1,64 @@
+package com.progressoft.fxdeals.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CurrencyCodes Tests")
+class CurrencyCodesTest {
+
+    @Test
+    @DisplayName("Should accept exactly the JDK currencies minus the blacklist")
+    void shouldMatchJdkCurrenciesMinusBlacklist() {
+        for (char a = 'A'; a <= 'Z'; a++) {
+            for (char b = 'A'; b <= 'Z'; b++) {
+                for (char c = 'A'; c <= 'Z'; c++) {
+                    String code = new String(new char[]{a, b, c});
+                    int index = CurrencyCodes.indexOf(code);
+
+                    assertEquals(isJdkCurrency(code) && !CurrencyCodes.BLACKLISTED_CURRENCIES.contains(code),
+                            CurrencyCodes.isAccepted(index), code);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should ignore case and surrounding whitespace")
+    void shouldIgnoreCaseAndWhitespace() {
+        int index = CurrencyCodes.indexOf("USD");
+
+        assertEquals(index, CurrencyCodes.indexOf("usd"));
+        assertEquals(index, CurrencyCodes.indexOf(" uSd\t"));
+        assertSame(CurrencyCodes.code(index), CurrencyCodes.code(CurrencyCodes.indexOf(" usd ")));
+        assertEquals("USD", CurrencyCodes.code(index));
+    }
+
+    @Test
+    @DisplayName("Should reject values that are not three ASCII letters")
+    void shouldRejectInvalidFormats() {
+        for (String value : new String[]{"", "  ", "US", "USDX", "U D", "US1", "U$D", "US@", "US[", "ÜSD", "US`"}) {
+            assertEquals(CurrencyCodes.INVALID_FORMAT, CurrencyCodes.indexOf(value), value);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject blacklisted codes")
+    void shouldRejectBlacklistedCodes() {
+        for (String code : CurrencyCodes.BLACKLISTED_CURRENCIES) {
+            assertFalse(CurrencyCodes.isAccepted(CurrencyCodes.indexOf(code)), code);
+        }
+    }
+
+    private static boolean isJdkCurrency(String code) {
+        try {
+            Currency.getInstance(code);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.progressoft.fxdeals.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ScaledAmount Tests")
+class ScaledAmountTest {
+
+    @Test
+    @DisplayName("Should parse plain decimals to unscaled values")
+    void shouldParsePlainDecimals() {
+        assertEquals(10_000L, ScaledAmount.parse("1"));
+        assertEquals(10_005_000L, ScaledAmount.parse("1000.50"));
+        assertEquals(12_345_678_901L, ScaledAmount.parse("1234567.8901"));
+        assertEquals(5_000L, ScaledAmount.parse(".5"));
+        assertEquals(50_000L, ScaledAmount.parse("5."));
+        assertEquals(15_000L, ScaledAmount.parse(" +1.5 "));
+        assertEquals(1L, ScaledAmount.parse("0.0001"));
+    }
+
+    @Test
+    @DisplayName("Should ignore trailing zeros past the fourth decimal place")
+    void shouldIgnoreTrailingZerosPastScale() {
+        assertEquals(12_500L, ScaledAmount.parse("1.25000000"));
+        assertEquals(ScaledAmount.TOO_MANY_DECIMALS, ScaledAmount.parse("1.00001"));
+        assertEquals(ScaledAmount.TOO_MANY_DECIMALS, ScaledAmount.parse("0.00000000001"));
+    }
+
+    @Test
+    @DisplayName("Should return error codes for invalid amounts")
+    void shouldReturnErrorCodesForInvalidAmounts() {
+        assertEquals(ScaledAmount.INVALID_FORMAT, ScaledAmount.parse(""));
+        assertEquals(ScaledAmount.INVALID_FORMAT, ScaledAmount.parse("."));
+        assertEquals(ScaledAmount.INVALID_FORMAT, ScaledAmount.parse("-"));
+        assertEquals(ScaledAmount.INVALID_FORMAT, ScaledAmount.parse("1.2.3"));
+        assertEquals(ScaledAmount.INVALID_FORMAT, ScaledAmount.parse("12abc"));
+        assertEquals(ScaledAmount.INVALID_FORMAT, ScaledAmount.parse("1e"));
+        assertEquals(ScaledAmount.INVALID_FORMAT, ScaledAmount.parse("1 000"));
+        assertEquals(ScaledAmount.NOT_POSITIVE, ScaledAmount.parse("0"));
+        assertEquals(ScaledAmount.NOT_POSITIVE, ScaledAmount.parse("0.00000"));
+        assertEquals(ScaledAmount.NOT_POSITIVE, ScaledAmount.parse("-0.5"));
+        assertEquals(ScaledAmount.NOT_POSITIVE, ScaledAmount.parse("-1.00001"));
+    }
+
+    @Test
+    @DisplayName("Should reject amounts that do not fit a long at scale four")
+    void shouldRejectAmountsOutOfRange() {
+        assertEquals(Long.MAX_VALUE, ScaledAmount.parse("922337203685477.5807"));
+        assertEquals(ScaledAmount.OUT_OF_RANGE, ScaledAmount.parse("922337203685477.5808"));
+        assertEquals(ScaledAmount.OUT_OF_RANGE, ScaledAmount.parse("1000000000000000"));
+        assertEquals(ScaledAmount.OUT_OF_RANGE, ScaledAmount.parse("99999999999999999999999999"));
+        assertEquals(ScaledAmount.OUT_OF_RANGE, ScaledAmount.parse("1E+999999"));
+    }
+
+    @Test
+    @DisplayName("Should fall back to BigDecimal for exponents and non-ASCII digits")
+    void shouldFallBackForExponentsAndNonAsciiDigits() {
+        assertEquals(1_500_000L, ScaledAmount.parse("1.5E2"));
+        assertEquals(1L, ScaledAmount.parse("1e-4"));
+        assertEquals(ScaledAmount.TOO_MANY_DECIMALS, ScaledAmount.parse("1e-5"));
+        assertEquals(ScaledAmount.INVALID_FORMAT, ScaledAmount.parse("1E+99999999999"));
+        assertEquals(120_000L, ScaledAmount.parse("١٢"));
+    }
+
+    @Test
+    @DisplayName("Should agree with BigDecimal on random amounts")
+    void shouldAgreeWithBigDecimalOnRandomAmounts() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            StringBuilder text = new StringBuilder();
+            if (random.nextInt(10) == 0) {
+                text.append(random.nextBoolean() ? '-' : '+');
+            }
+            int integerDigits = random.nextInt(18);
+            for (int d = 0; d < integerDigits; d++) {
+                text.append((char) ('0' + random.nextInt(10)));
+            }
+            int fractionDigits = random.nextInt(8);
+            if (fractionDigits > 0 || integerDigits == 0) {
+                text.append('.');
+                for (int d = 0; d < fractionDigits; d++) {
+                    text.append((char) ('0' + (random.nextInt(3) == 0 ? 0 : random.nextInt(10))));
+                }
+            }
+
+            String amount = text.toString();
+            assertEquals(reference(amount), ScaledAmount.parse(amount), amount);
+        }
+    }
+
+    @Test
+    @DisplayName("Should convert between unscaled values and BigDecimal")
+    void shouldConvertBetweenUnscaledAndBigDecimal() {
+        assertEquals(new BigDecimal("1000.5000"), ScaledAmount.toBigDecimal(10_005_000L));
+        assertEquals(10_005_000L, ScaledAmount.toUnscaled(new BigDecimal("1000.5")));
+        assertThrows(ArithmeticException.class, () -> ScaledAmount.toUnscaled(new BigDecimal("0.00001")));
+        assertThrows(ArithmeticException.class, () -> ScaledAmount.toUnscaled(new BigDecimal("1E+15")));
+    }
+
+    @Test
+    @DisplayName("Should append amounts in plain notation with four decimals")
+    void shouldAppendPlainNotation() {
+        assertEquals("1000.5000", ScaledAmount.append(new StringBuilder(), 10_005_000L).toString());
+        assertEquals("0.0001", ScaledAmount.append(new StringBuilder(), 1L).toString());
+        assertEquals("0.0120", ScaledAmount.append(new StringBuilder(), 120L).toString());
+        assertEquals("-0.0120", ScaledAmount.append(new StringBuilder(), -120L).toString());
+        assertEquals("922337203685477.5807", ScaledAmount.append(new StringBuilder(), Long.MAX_VALUE).toString());
+    }
+
+    private static long reference(String text) {
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(text);
+        } catch (NumberFormatException e) {
+            return ScaledAmount.INVALID_FORMAT;
+        }
+        if (amount.signum() <= 0) {
+            return ScaledAmount.NOT_POSITIVE;
+        }
+        if (amount.stripTrailingZeros().scale() > ScaledAmount.SCALE) {
+            return ScaledAmount.TOO_MANY_DECIMALS;
+        }
+        var unscaled = amount.setScale(ScaledAmount.SCALE, RoundingMode.UNNECESSARY).unscaledValue();
+        return unscaled.bitLength() > 63 ? ScaledAmount.OUT_OF_RANGE : unscaled.longValue();
+    }
+}
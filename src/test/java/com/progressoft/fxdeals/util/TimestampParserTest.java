@@ -0,0 +1,127 @@
+package com.progressoft.fxdeals.util;
+
+import com.progressoft.fxdeals.dto.DealDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TimestampParser Tests")
+class TimestampParserTest {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    @Test
+    @DisplayName("Should parse the fixed layout like the formatter")
+    void shouldParseFixedLayoutLikeFormatter() {
+        assertEquals(LocalDateTime.of(2025, 1, 15, 10, 30, 0), TimestampParser.parse("2025-01-15T10:30:00"));
+        assertEquals(LocalDateTime.of(2024, 2, 29, 23, 59, 59), TimestampParser.parse("2024-02-29T23:59:59"));
+        assertEquals(LocalDateTime.of(1, 1, 1, 0, 0, 0), TimestampParser.parse("0001-01-01T00:00:00"));
+    }
+
+    @Test
+    @DisplayName("Should leave values it cannot resolve exactly to the formatter")
+    void shouldLeaveEdgeCasesToFormatter() {
+        for (String text : new String[]{
+                "2025-01-15T24:00:00", // SMART: next-day midnight
+                "2023-02-29T10:00:00", // SMART: clamped to the 28th
+                "2025-04-31T10:00:00",
+                "0000-01-15T10:00:00",
+                "2025-13-15T10:00:00",
+                "2025-01-32T10:00:00",
+                "2025-01-15T10:60:00",
+                "2025-01-15 10:30:00",
+                "2025-1-15T10:30:00",
+                "12025-01-15T10:30:00",
+                "2025-01-15T10:30:0x"}) {
+            assertNull(TimestampParser.parse(text), text);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reuse the resolved date when the date part repeats")
+    void shouldReuseResolvedDate() {
+        LocalDateTime first = TimestampParser.parse("2025-06-01T08:00:00");
+        LocalDateTime second = TimestampParser.parse("2025-06-01T17:45:12");
+
+        assertSame(first.toLocalDate(), second.toLocalDate());
+    }
+
+    @Test
+    @DisplayName("Should match the formatter on every day of leap and common years")
+    void shouldMatchFormatterOnEveryDay() {
+        for (int year : new int[]{1900, 2000, 2023, 2024}) {
+            for (int month = 1; month <= 12; month++) {
+                for (int day = 1; day <= 31; day++) {
+                    assertMatchesFormatter(String.format("%04d-%02d-%02dT12:34:56", year, month, day));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should match the formatter on random near-valid inputs")
+    void shouldMatchFormatterOnRandomInputs() {
+        Random random = new Random(20251017L);
+        String alphabet = "0123456789-T: x+";
+
+        for (int i = 0; i < 50_000; i++) {
+            char[] text = String.format("%04d-%02d-%02dT%02d:%02d:%02d",
+                    random.nextInt(10_000), random.nextInt(14), random.nextInt(33),
+                    random.nextInt(26), random.nextInt(62), random.nextInt(62)).toCharArray();
+
+            // Corrupt a few positions in a fraction of the samples
+            if (random.nextInt(4) == 0) {
+                int corruptions = 1 + random.nextInt(2);
+                for (int c = 0; c < corruptions; c++) {
+                    text[random.nextInt(text.length)] = alphabet.charAt(random.nextInt(alphabet.length()));
+                }
+            }
+
+            String value = new String(text);
+            if (random.nextInt(10) == 0) {
+                value = random.nextBoolean() ? value.substring(1) : random.nextInt(10) + value;
+            }
+            assertMatchesFormatter(value);
+        }
+    }
+
+    /**
+     * The fast path plus its fallback, as used by validation, must accept
+     * exactly what the formatter accepts and produce the same value.
+     */
+    private static void assertMatchesFormatter(String text) {
+        LocalDateTime expected;
+        try {
+            expected = LocalDateTime.parse(text, FORMATTER);
+        } catch (DateTimeParseException e) {
+            expected = null;
+        }
+
+        DealDTO dto = DealDTO.builder()
+                .dealId("DEAL001")
+                .fromCurrency("USD")
+                .toCurrency("EUR")
+                .dealTimestamp(text)
+                .dealAmount("1")
+                .build();
+        ValidationError error = ValidationUtil.validate(dto);
+
+        if (expected == null) {
+            assertEquals(ValidationError.TIMESTAMP_FORMAT, error, text);
+        } else {
+            assertNull(error, text);
+            assertEquals(expected, dto.getParsedTimestamp(), text);
+        }
+
+        LocalDateTime fast = TimestampParser.parse(text);
+        if (fast != null) {
+            assertEquals(expected, fast, text);
+        }
+    }
+}
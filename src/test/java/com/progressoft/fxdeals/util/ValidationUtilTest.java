@@ -25,7 +25,7 @@ class ValidationUtilTest {
         assertEquals("USD", dto.getFromCurrency());
         assertEquals("EUR", dto.getToCurrency());
         assertNotNull(dto.getParsedTimestamp());
-        assertNotNull(dto.getParsedAmount());
+        assertEquals(10_005_000L, dto.getParsedAmountUnscaled());
     }
 
     @Test
@@ -189,6 +189,22 @@ class ValidationUtilTest {
         assertTrue(exception.getMessage().contains("not a valid ISO 4217 currency"));
     }
 
+    @Test
+    @DisplayName("Should report the normalized value of an invalid currency code")
+    void shouldReportNormalizedInvalidCurrencyCode() {
+        DealDTO dto = DealDTO.builder()
+                .dealId("DEAL001")
+                .fromCurrency("USD")
+                .toCurrency(" xau ")
+                .dealTimestamp("2025-01-15T10:30:00")
+                .dealAmount("1000.50")
+                .build();
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> ValidationUtil.validateDeal(dto));
+        assertEquals("Invalid To Currency code: 'XAU' is not a valid ISO 4217 currency.", exception.getMessage());
+    }
+
     @Test
     @DisplayName("Should normalize currency codes to uppercase")
     void shouldNormalizeCurrencyCodesToUppercase() {
@@ -300,7 +316,84 @@ class ValidationUtilTest {
                 .build();
 
         assertDoesNotThrow(() -> ValidationUtil.validateDeal(dto));
-        assertNotNull(dto.getParsedAmount());
-        assertEquals("1234567.8901", dto.getParsedAmount().toString());
+        assertEquals(12_345_678_901L, dto.getParsedAmountUnscaled());
+    }
+
+    @Test
+    @DisplayName("Should return null from validate for a valid deal")
+    void shouldReturnNullForValidDeal() {
+        DealDTO dto = DealDTO.builder()
+                .dealId("DEAL001")
+                .fromCurrency("usd")
+                .toCurrency("EUR")
+                .dealTimestamp("2025-01-15T10:30:00")
+                .dealAmount("1000.50")
+                .build();
+
+        assertNull(ValidationUtil.validate(dto));
+        assertEquals("USD", dto.getFromCurrency());
+        assertNotNull(dto.getParsedTimestamp());
+        assertEquals(10_005_000L, dto.getParsedAmountUnscaled());
+    }
+
+    @Test
+    @DisplayName("Should return an error code and field index instead of throwing")
+    void shouldReturnErrorCodeAndFieldIndex() {
+        DealDTO dto = DealDTO.builder()
+                .dealId("DEAL001")
+                .fromCurrency("USD")
+                .toCurrency("EUR")
+                .dealTimestamp("15/01/2025 10:30")
+                .dealAmount("1000.50")
+                .build();
+
+        ValidationError error = ValidationUtil.validate(dto);
+
+        assertEquals(ValidationError.TIMESTAMP_FORMAT, error);
+        assertEquals(3, error.field());
+        assertEquals("15/01/2025 10:30", error.value(dto));
+        assertEquals("Invalid timestamp format: '15/01/2025 10:30'. Expected format: yyyy-MM-dd'T'HH:mm:ss",
+                error.message(dto));
+    }
+
+    @Test
+    @DisplayName("Should map each kind of bad value to its error code")
+    void shouldMapBadValuesToErrorCodes() {
+        String ts = "2025-01-15T10:30:00";
+
+        assertEquals(ValidationError.DEAL_ID_REQUIRED,
+                ValidationUtil.validate(deal(" ", "USD", "EUR", ts, "1")));
+        assertEquals(ValidationError.TO_CURRENCY_FORMAT,
+                ValidationUtil.validate(deal("D", "USD", "EU", ts, "1")));
+        assertEquals(ValidationError.FROM_CURRENCY_CODE,
+                ValidationUtil.validate(deal("D", "XTS", "EUR", ts, "1")));
+        assertEquals(ValidationError.TIMESTAMP_FORMAT,
+                ValidationUtil.validate(deal("D", "USD", "EUR", "2025-13-15T10:30:00", "1")));
+        assertEquals(ValidationError.TIMESTAMP_FORMAT,
+                ValidationUtil.validate(deal("D", "USD", "EUR", "2025-01-15T10:30:00Z", "1")));
+        assertEquals(ValidationError.AMOUNT_FORMAT,
+                ValidationUtil.validate(deal("D", "USD", "EUR", ts, "1.2.3")));
+        assertEquals(ValidationError.AMOUNT_FORMAT,
+                ValidationUtil.validate(deal("D", "USD", "EUR", ts, "1e")));
+        assertEquals(ValidationError.AMOUNT_FORMAT,
+                ValidationUtil.validate(deal("D", "USD", "EUR", ts, ".")));
+        assertEquals(ValidationError.AMOUNT_NOT_POSITIVE,
+                ValidationUtil.validate(deal("D", "USD", "EUR", ts, "-0.5")));
+        assertNull(ValidationUtil.validate(deal("D", "USD", "EUR", ts, "+1.5E2")));
+        assertNull(ValidationUtil.validate(deal("D", "USD", "EUR", ts, ".5")));
+        assertEquals(ValidationError.AMOUNT_TOO_MANY_DECIMALS,
+                ValidationUtil.validate(deal("D", "USD", "EUR", ts, "1.00001")));
+        assertEquals(ValidationError.AMOUNT_OUT_OF_RANGE,
+                ValidationUtil.validate(deal("D", "USD", "EUR", ts, "1000000000000000")));
+    }
+
+    private static DealDTO deal(String dealId, String from, String to, String timestamp, String amount) {
+        return DealDTO.builder()
+                .dealId(dealId)
+                .fromCurrency(from)
+                .toCurrency(to)
+                .dealTimestamp(timestamp)
+                .dealAmount(amount)
+                .build();
     }
-}
\ No newline at end of file
+}